@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.5.7"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.amit"
@@ -19,13 +20,16 @@ repositories {
 
 dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-webflux")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
 	implementation("org.springframework.boot:spring-boot-starter-data-r2dbc")
 	implementation("org.springframework.boot:spring-boot-starter-thymeleaf")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
 	implementation("org.springframework.boot:spring-boot-starter-jdbc")
+	implementation("org.springframework.session:spring-session-core")
 	implementation("org.liquibase:liquibase-core")
 	implementation("io.minio:minio:8.6.0")
 	implementation("org.apache.tika:tika-core:3.2.3")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 	runtimeOnly("org.postgresql:r2dbc-postgresql")
 	runtimeOnly("org.postgresql:postgresql")
 
@@ -35,6 +39,7 @@ dependencies {
 	testImplementation("org.testcontainers:junit-jupiter")
 	testImplementation("org.testcontainers:r2dbc")
 	testImplementation("org.testcontainers:postgresql")
+	testImplementation("org.testcontainers:minio")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
 }
@@ -42,3 +47,34 @@ dependencies {
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("load")
+	}
+}
+
+tasks.register<Test>("loadTest") {
+	description = "Runs the end-to-end load test against Testcontainers Postgres and MinIO."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("load")
+	}
+	systemProperties(System.getProperties()
+		.filterKeys { it.toString().startsWith("load.") }
+		.mapKeys { it.key.toString() })
+	maxHeapSize = "2g"
+	testLogging.showStandardStreams = true
+	outputs.upToDateWhen { false }
+}
+
+jmh {
+	jmhVersion = "1.37"
+	warmupIterations = 3
+	iterations = 5
+	fork = 1
+	profilers = listOf("gc")
+	resultFormat = "JSON"
+}
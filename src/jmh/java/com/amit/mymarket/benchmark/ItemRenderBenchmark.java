@@ -0,0 +1,85 @@
+package com.amit.mymarket.benchmark;
+
+import com.amit.mymarket.common.configuration.MinioStorageProperties;
+import com.amit.mymarket.common.service.minio.MinioMediaUrlResolver;
+import com.amit.mymarket.common.service.type.MediaStorageClientMode;
+import com.amit.mymarket.item.api.dto.ItemInfoView;
+import com.amit.mymarket.item.api.mapper.DefaultItemMapper;
+import com.amit.mymarket.item.entity.Item;
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-item part of rendering a catalog or item page: mapping a row to its view,
+ * including the price and the public image URL. Run with the gc profiler to see bytes per item.
+ */
+@State(value = Scope.Thread)
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(value = TimeUnit.NANOSECONDS)
+public class ItemRenderBenchmark {
+
+    private MinioMediaUrlResolver mediaUrlResolver;
+
+    private DefaultItemMapper itemMapper;
+
+    private ItemWithQuantity itemWithQuantity;
+
+    private Item item;
+
+    private String imageKey;
+
+    @Setup
+    public void setUp() {
+        this.mediaUrlResolver = new MinioMediaUrlResolver(new MinioStorageProperties(
+                "http://localhost:9000/",
+                "minio",
+                "minio123",
+                "images",
+                false,
+                false,
+                5_000,
+                60_000,
+                60_000,
+                10 * 1024 * 1024,
+                List.of("image/png", "image/jpeg", "image/webp"),
+                MediaStorageClientMode.BLOCKING,
+                "us-east-1"
+        ));
+        this.itemMapper = new DefaultItemMapper(this.mediaUrlResolver);
+        this.imageKey = "items/42/550e8400-e29b-41d4-a716-446655440000/original.jpg";
+        String imageVariants = "thumb=items/42/thumb.jpg,card=items/42/card.jpg";
+
+        this.itemWithQuantity = new ItemWithQuantity(
+                42L, "Green apple", "Crisp green apple", this.imageKey, imageVariants, 12_999L, 2);
+
+        this.item = new Item("Green apple", "Crisp green apple", 12_999L);
+        this.item.setId(42L);
+        this.item.setImagePath(this.imageKey);
+        this.item.setImageVariants(imageVariants);
+    }
+
+    @Benchmark
+    public ItemInfoView toItemInfoViewFromRow() {
+        return this.itemMapper.toItemInfoView(this.itemWithQuantity);
+    }
+
+    @Benchmark
+    public ItemInfoView toItemInfoViewFromItem() {
+        return this.itemMapper.toItemInfoView(this.item, 2);
+    }
+
+    @Benchmark
+    public String buildPublicUrl() {
+        return this.mediaUrlResolver.buildPublicUrl(this.imageKey);
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.amit.mymarket.benchmark;
+
+import com.amit.mymarket.common.service.strategy.KeyNamingStrategyEnum;
+import com.amit.mymarket.common.service.util.PathSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(value = Scope.Thread)
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(value = TimeUnit.NANOSECONDS)
+public class KeyNamingStrategyBenchmark {
+
+    @Param(value = {"DEFAULT_STRATEGY", "FLAT_STRATEGY", "CONTENT_HASH_STRATEGY"})
+    private KeyNamingStrategyEnum strategy;
+
+    private PathSpecification pathSpecification;
+
+    private String contentHash;
+
+    @Setup
+    public void setUp() {
+        this.pathSpecification = PathSpecification.of("items", "42", "original");
+        this.contentHash = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    }
+
+    @Benchmark
+    public String buildKey() {
+        return this.strategy.buildKey(this.pathSpecification, "image/jpeg");
+    }
+
+    @Benchmark
+    public String buildKeyWithContentHash() {
+        return this.strategy.buildKey(this.pathSpecification, "image/jpeg", this.contentHash);
+    }
+
+}
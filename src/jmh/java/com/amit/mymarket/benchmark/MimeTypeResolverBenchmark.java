@@ -0,0 +1,76 @@
+package com.amit.mymarket.benchmark;
+
+import com.amit.mymarket.common.service.util.MimeTypeResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detection over upload-sized payloads. JPEG and PNG are real encoded images; ImageIO has no WebP
+ * writer, so the WebP payload is a RIFF/WEBP header followed by filler, which is all detection reads.
+ */
+@State(value = Scope.Thread)
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(value = TimeUnit.MICROSECONDS)
+public class MimeTypeResolverBenchmark {
+
+    private static final int IMAGE_SIZE = 800;
+
+    @Param(value = {"jpeg", "png", "webp"})
+    private String format;
+
+    private String filename;
+
+    private byte[] content;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.filename = "upload." + this.format;
+        this.content = switch (this.format) {
+            case "jpeg", "png" -> encode(this.format);
+            case "webp" -> webp(256 * 1024);
+            default -> throw new IllegalArgumentException("Unknown format: " + this.format);
+        };
+    }
+
+    @Benchmark
+    public String resolve() {
+        return MimeTypeResolver.resolve(this.filename, this.content);
+    }
+
+    private static byte[] encode(String format) throws IOException {
+        BufferedImage image = new BufferedImage(IMAGE_SIZE, IMAGE_SIZE, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < IMAGE_SIZE; y++) {
+            for (int x = 0; x < IMAGE_SIZE; x++) {
+                image.setRGB(x, y, (x * 31 + y * 17) & 0xFFFFFF);
+            }
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, format, output);
+        return output.toByteArray();
+    }
+
+    private static byte[] webp(int size) {
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put("RIFF".getBytes(StandardCharsets.US_ASCII));
+        buffer.putInt(size - 8);
+        buffer.put("WEBPVP8 ".getBytes(StandardCharsets.US_ASCII));
+        buffer.putInt(size - 20);
+        return buffer.array();
+    }
+
+}
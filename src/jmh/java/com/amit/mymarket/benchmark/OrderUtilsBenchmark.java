@@ -0,0 +1,59 @@
+package com.amit.mymarket.benchmark;
+
+import com.amit.mymarket.cart.repository.projection.CartItemRow;
+import com.amit.mymarket.order.service.util.OrderItemBatch;
+import com.amit.mymarket.order.service.util.OrderUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The checkout path over a cart of cartSize lines: the order total and the column-wise batch
+ * that replaced building one OrderItem per line.
+ */
+@State(value = Scope.Thread)
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(value = TimeUnit.NANOSECONDS)
+public class OrderUtilsBenchmark {
+
+    @Param(value = {"1", "10", "100"})
+    private int cartSize;
+
+    private List<CartItemRow> cartItemRows;
+
+    @Setup
+    public void setUp() {
+        this.cartItemRows = new ArrayList<>(this.cartSize);
+        for (int index = 0; index < this.cartSize; index++) {
+            this.cartItemRows.add(new CartItemRow(
+                    (long) index + 1,
+                    "Item " + index,
+                    "Description of item " + index,
+                    "items/" + index + "/original.jpg",
+                    null,
+                    1_000L + index,
+                    index % 5 + 1
+            ));
+        }
+    }
+
+    @Benchmark
+    public long calculateTotalMinor() {
+        return OrderUtils.calculateTotalMinor(this.cartItemRows);
+    }
+
+    @Benchmark
+    public OrderItemBatch buildOrderItemBatch() {
+        return OrderItemBatch.of(this.cartItemRows);
+    }
+
+}
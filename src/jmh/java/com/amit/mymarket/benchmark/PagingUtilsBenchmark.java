@@ -0,0 +1,43 @@
+package com.amit.mymarket.benchmark;
+
+import com.amit.mymarket.item.usecase.util.PagingUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(value = Scope.Thread)
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(value = TimeUnit.NANOSECONDS)
+public class PagingUtilsBenchmark {
+
+    @Param(value = {"5", "50", "500"})
+    private int listSize;
+
+    @Param(value = {"3"})
+    private int chunkSize;
+
+    private List<Integer> items;
+
+    @Setup
+    public void setUp() {
+        this.items = new ArrayList<>(this.listSize);
+        for (int index = 0; index < this.listSize; index++) {
+            this.items.add(index);
+        }
+    }
+
+    @Benchmark
+    public List<List<Integer>> chunk() {
+        return PagingUtils.chunk(this.items, this.chunkSize);
+    }
+
+}
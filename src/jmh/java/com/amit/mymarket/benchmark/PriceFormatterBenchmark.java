@@ -0,0 +1,35 @@
+package com.amit.mymarket.benchmark;
+
+import com.amit.mymarket.common.util.PriceFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * formatPrice runs once per rendered item, convertToPriceMinor once per submitted item form.
+ */
+@State(value = Scope.Thread)
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(value = TimeUnit.NANOSECONDS)
+public class PriceFormatterBenchmark {
+
+    private long priceMinor = 1_234_599L;
+
+    private String price = "12345.99";
+
+    @Benchmark
+    public String formatPrice() {
+        return PriceFormatter.formatPrice(this.priceMinor);
+    }
+
+    @Benchmark
+    public long convertToPriceMinor() {
+        return PriceFormatter.convertToPriceMinor(this.price);
+    }
+
+}
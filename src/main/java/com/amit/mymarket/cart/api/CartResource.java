@@ -1,43 +1,50 @@
 package com.amit.mymarket.cart.api;
 
 import com.amit.mymarket.cart.api.dto.MutateCartItemForm;
+import com.amit.mymarket.cart.api.identity.CartIdentityResolver;
 import com.amit.mymarket.cart.api.type.CartAction;
 import com.amit.mymarket.cart.usecase.CartUseCase;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.result.view.Rendering;
-import org.springframework.web.server.WebSession;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.UUID;
+
 @Controller
 @RequestMapping(path = "/cart/items")
 public class CartResource {
 
     private final CartUseCase cartUseCase;
 
+    private final CartIdentityResolver cartIdentityResolver;
+
     @Autowired
-    public CartResource(CartUseCase cartUseCase) {
+    public CartResource(CartUseCase cartUseCase, CartIdentityResolver cartIdentityResolver) {
         this.cartUseCase = cartUseCase;
+        this.cartIdentityResolver = cartIdentityResolver;
     }
 
     @GetMapping
-    public Mono<Rendering> getCart(WebSession webSession) {
-        webSession.getAttributes().put("init", true);
-        return this.cartUseCase.getCart(webSession.getId())
+    public Mono<Rendering> getCart(ServerWebExchange exchange) {
+        return this.cartIdentityResolver.resolve(exchange)
+                .flatMap(cartIdentity -> this.cartUseCase.getCart(cartIdentity.key()))
                 .map(cart ->
                         Rendering.view("cart/cart-view")
                                 .modelAttribute("items", cart.items())
                                 .modelAttribute("total", cart.totalFormatted())
+                                .modelAttribute("checkoutToken", UUID.randomUUID().toString())
                                 .build()
                 );
     }
 
     @PostMapping
     public Mono<Rendering> mutateCartItem(@ModelAttribute MutateCartItemForm form,
-                                          WebSession webSession) {
-        webSession.getAttributes().put("init", true);
-        return this.cartUseCase.mutateCartItem(webSession.getId(), form.id(), form.action())
+                                          ServerWebExchange exchange) {
+        return this.cartIdentityResolver.establish(exchange)
+                .flatMap(cartIdentity -> this.cartUseCase.mutateCartItem(cartIdentity.key(), form.id(), form.action()))
                 .thenReturn(Rendering.redirectTo("/cart/items").build());
     }
 
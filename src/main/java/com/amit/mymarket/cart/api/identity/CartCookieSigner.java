@@ -0,0 +1,71 @@
+package com.amit.mymarket.cart.api.identity;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.OptionalLong;
+
+/**
+ * Signs cart owner ids as {@code <id>.<base64url HMAC-SHA256 of id>}. Every node configured with
+ * the same secret accepts the cookies of every other node.
+ */
+public class CartCookieSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec secretKey;
+
+    public CartCookieSigner(byte[] secret) {
+        this.secretKey = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    public String sign(long ownerId) {
+        return ownerId + "." + ENCODER.encodeToString(this.mac(Long.toString(ownerId)));
+    }
+
+    /**
+     * Returns the owner id of a correctly signed value, empty for a malformed or forged one.
+     */
+    public OptionalLong verify(String value) {
+        if (value == null) {
+            return OptionalLong.empty();
+        }
+        int separator = value.indexOf('.');
+        if (separator <= 0 || separator == value.length() - 1) {
+            return OptionalLong.empty();
+        }
+
+        String ownerId = value.substring(0, separator);
+        try {
+            long parsedOwnerId = Long.parseLong(ownerId);
+            byte[] signature = DECODER.decode(value.substring(separator + 1));
+            if (parsedOwnerId <= 0 || !MessageDigest.isEqual(signature, this.mac(ownerId))) {
+                return OptionalLong.empty();
+            }
+            return OptionalLong.of(parsedOwnerId);
+        } catch (IllegalArgumentException exception) {
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Mac instances are not thread-safe, so one is created per call; the provider lookup behind it is cached.
+     */
+    private byte[] mac(String ownerId) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(this.secretKey);
+            return mac.doFinal(ownerId.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("HmacSHA256 is not available", exception);
+        }
+    }
+
+}
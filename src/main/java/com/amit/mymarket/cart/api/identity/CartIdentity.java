@@ -0,0 +1,23 @@
+package com.amit.mymarket.cart.api.identity;
+
+/**
+ * Key the carts and orders of the current visitor are stored under: the web session id, or the decimal
+ * owner id from the signed cart cookie. Owner ids start at 1, so the anonymous key never owns a cart.
+ */
+public record CartIdentity(String key) {
+
+    private static final CartIdentity ANONYMOUS = new CartIdentity("0");
+
+    public static CartIdentity anonymous() {
+        return ANONYMOUS;
+    }
+
+    public static CartIdentity ofOwnerId(long ownerId) {
+        return new CartIdentity(Long.toString(ownerId));
+    }
+
+    public boolean isAnonymous() {
+        return ANONYMOUS.equals(this);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.amit.mymarket.cart.api.identity;
+
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+public interface CartIdentityResolver {
+
+    /**
+     * Returns the identity of the current visitor without creating anything for a visitor who has none yet.
+     */
+    Mono<CartIdentity> resolve(ServerWebExchange exchange);
+
+    /**
+     * Returns the identity of the current visitor, creating and handing out a new one when needed;
+     * used by requests that write to the cart.
+     */
+    Mono<CartIdentity> establish(ServerWebExchange exchange);
+
+}
@@ -0,0 +1,27 @@
+package com.amit.mymarket.cart.api.identity;
+
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Uses the web session id as the cart key. A session that is never started is not saved, so reads
+ * by a visitor without a session only see a fresh id that owns no cart.
+ */
+public class SessionCartIdentityResolver implements CartIdentityResolver {
+
+    @Override
+    public Mono<CartIdentity> resolve(ServerWebExchange exchange) {
+        return exchange.getSession()
+                .map(webSession -> new CartIdentity(webSession.getId()));
+    }
+
+    @Override
+    public Mono<CartIdentity> establish(ServerWebExchange exchange) {
+        return exchange.getSession()
+                .map(webSession -> {
+                    webSession.start();
+                    return new CartIdentity(webSession.getId());
+                });
+    }
+
+}
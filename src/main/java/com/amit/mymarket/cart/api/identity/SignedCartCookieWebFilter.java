@@ -0,0 +1,42 @@
+package com.amit.mymarket.cart.api.identity;
+
+import org.springframework.http.HttpCookie;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies the signed cart cookie once per request and exposes the owner id as an exchange attribute.
+ * Verification is a single HMAC over a few bytes, so no store is consulted on the request path.
+ * A missing or forged cookie leaves the attribute unset and the visitor anonymous.
+ */
+public class SignedCartCookieWebFilter implements WebFilter {
+
+    public static final String CART_OWNER_ID_ATTRIBUTE = SignedCartCookieWebFilter.class.getName() + ".cartOwnerId";
+
+    private final CartCookieSigner cartCookieSigner;
+
+    private final boolean enabled;
+
+    private final String cookieName;
+
+    public SignedCartCookieWebFilter(CartCookieSigner cartCookieSigner, boolean enabled, String cookieName) {
+        this.cartCookieSigner = cartCookieSigner;
+        this.enabled = enabled;
+        this.cookieName = cookieName;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (this.enabled) {
+            HttpCookie cookie = exchange.getRequest().getCookies().getFirst(this.cookieName);
+            if (cookie != null) {
+                this.cartCookieSigner.verify(cookie.getValue())
+                        .ifPresent(ownerId -> exchange.getAttributes().put(CART_OWNER_ID_ATTRIBUTE, ownerId));
+            }
+        }
+        return chain.filter(exchange);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.amit.mymarket.cart.api.identity;
+
+import com.amit.mymarket.cart.repository.CartRepository;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Reads the owner id verified by SignedCartCookieWebFilter. An owner id is allocated from a database
+ * sequence and sent as a signed cookie only on the first cart write, so anonymous browsing stays stateless.
+ */
+public class SignedCookieCartIdentityResolver implements CartIdentityResolver {
+
+    private final CartRepository cartRepository;
+
+    private final CartCookieSigner cartCookieSigner;
+
+    private final String cookieName;
+
+    private final Duration cookieMaxAge;
+
+    private final boolean cookieSecure;
+
+    public SignedCookieCartIdentityResolver(CartRepository cartRepository,
+                                            CartCookieSigner cartCookieSigner,
+                                            String cookieName,
+                                            Duration cookieMaxAge,
+                                            boolean cookieSecure) {
+        this.cartRepository = cartRepository;
+        this.cartCookieSigner = cartCookieSigner;
+        this.cookieName = cookieName;
+        this.cookieMaxAge = cookieMaxAge;
+        this.cookieSecure = cookieSecure;
+    }
+
+    @Override
+    public Mono<CartIdentity> resolve(ServerWebExchange exchange) {
+        Long ownerId = exchange.getAttribute(SignedCartCookieWebFilter.CART_OWNER_ID_ATTRIBUTE);
+        return Mono.just(ownerId != null ? CartIdentity.ofOwnerId(ownerId) : CartIdentity.anonymous());
+    }
+
+    @Override
+    public Mono<CartIdentity> establish(ServerWebExchange exchange) {
+        Long ownerId = exchange.getAttribute(SignedCartCookieWebFilter.CART_OWNER_ID_ATTRIBUTE);
+        if (ownerId != null) {
+            return Mono.just(CartIdentity.ofOwnerId(ownerId));
+        }
+        return this.cartRepository.nextCartOwnerId()
+                .map(newOwnerId -> {
+                    exchange.getAttributes().put(SignedCartCookieWebFilter.CART_OWNER_ID_ATTRIBUTE, newOwnerId);
+                    exchange.getResponse().addCookie(
+                            ResponseCookie.from(this.cookieName, this.cartCookieSigner.sign(newOwnerId))
+                                    .path("/")
+                                    .httpOnly(true)
+                                    .secure(this.cookieSecure)
+                                    .sameSite("Lax")
+                                    .maxAge(this.cookieMaxAge)
+                                    .build()
+                    );
+                    return CartIdentity.ofOwnerId(newOwnerId);
+                });
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.amit.mymarket.cart.configuration;
+
+import com.amit.mymarket.cart.api.identity.CartCookieSigner;
+import com.amit.mymarket.cart.api.identity.CartIdentityResolver;
+import com.amit.mymarket.cart.api.identity.SessionCartIdentityResolver;
+import com.amit.mymarket.cart.api.identity.SignedCartCookieWebFilter;
+import com.amit.mymarket.cart.api.identity.SignedCookieCartIdentityResolver;
+import com.amit.mymarket.cart.repository.CartRepository;
+import com.amit.mymarket.cart.service.type.CartIdentityMode;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+
+@Configuration
+@EnableConfigurationProperties(value = CartIdentityProperties.class)
+public class CartIdentityConfiguration {
+
+    private static final int MIN_SECRET_BYTES = 32;
+
+    /**
+     * The secret must be shared by all nodes in signed cookie mode. In session mode the signer is unused,
+     * so a random key is enough there.
+     */
+    @Bean
+    public CartCookieSigner cartCookieSigner(CartIdentityProperties cartIdentityProperties) {
+        String cookieSecret = cartIdentityProperties.cookieSecret();
+        if (cartIdentityProperties.mode() == CartIdentityMode.SIGNED_COOKIE) {
+            if (!StringUtils.hasText(cookieSecret) || cookieSecret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("cart.identity.cookie-secret must be at least " + MIN_SECRET_BYTES + " bytes long");
+            }
+            return new CartCookieSigner(cookieSecret.getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] randomSecret = new byte[MIN_SECRET_BYTES];
+        new SecureRandom().nextBytes(randomSecret);
+        return new CartCookieSigner(randomSecret);
+    }
+
+    @Bean
+    public SignedCartCookieWebFilter signedCartCookieWebFilter(CartCookieSigner cartCookieSigner,
+                                                               CartIdentityProperties cartIdentityProperties) {
+        return new SignedCartCookieWebFilter(
+                cartCookieSigner,
+                cartIdentityProperties.mode() == CartIdentityMode.SIGNED_COOKIE,
+                cartIdentityProperties.cookieName()
+        );
+    }
+
+    @Bean
+    public CartIdentityResolver cartIdentityResolver(CartRepository cartRepository,
+                                                     CartCookieSigner cartCookieSigner,
+                                                     CartIdentityProperties cartIdentityProperties) {
+        if (cartIdentityProperties.mode() == CartIdentityMode.SIGNED_COOKIE) {
+            return new SignedCookieCartIdentityResolver(
+                    cartRepository,
+                    cartCookieSigner,
+                    cartIdentityProperties.cookieName(),
+                    cartIdentityProperties.cookieMaxAge(),
+                    cartIdentityProperties.cookieSecure()
+            );
+        }
+        return new SessionCartIdentityResolver();
+    }
+
+}
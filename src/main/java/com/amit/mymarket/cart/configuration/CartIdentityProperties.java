@@ -0,0 +1,26 @@
+package com.amit.mymarket.cart.configuration;
+
+import com.amit.mymarket.cart.service.type.CartIdentityMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(value = "cart.identity")
+public record CartIdentityProperties(
+
+        @Value(value = "mode")
+        CartIdentityMode mode,
+
+        @Value(value = "cookie-name")
+        String cookieName,
+
+        @Value(value = "cookie-secret")
+        String cookieSecret,
+
+        @Value(value = "cookie-max-age")
+        Duration cookieMaxAge,
+
+        @Value(value = "cookie-secure")
+        boolean cookieSecure) {
+}
@@ -1,11 +1,14 @@
 package com.amit.mymarket.cart.repository;
 
+import com.amit.mymarket.cart.repository.projection.CartItemQuantityRow;
 import com.amit.mymarket.cart.repository.projection.CartItemRow;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+@Timed(value = "market.repository", histogram = true)
 public interface CartItemRepository extends ReactiveCrudRepository<com.amit.mymarket.cart.domain.entity.CartItem, Long> {
 
     @Query(value = """
@@ -13,6 +16,7 @@ public interface CartItemRepository extends ReactiveCrudRepository<com.amit.myma
                    items.title as title,
                    items.description as description,
                    items.img_path as image_path,
+                   items.img_variants as image_variants,
                    items.price_minor as price_minor,
                    carts_items.quantity as quantity
             from shop.carts
@@ -23,6 +27,16 @@ public interface CartItemRepository extends ReactiveCrudRepository<com.amit.myma
             """)
     Flux<CartItemRow> findCartItems(String sessionId);
 
+    @Query(value = """
+            select carts_items.item_id as item_id,
+                   carts_items.quantity as quantity
+            from shop.carts
+            join shop.carts_items on carts_items.cart_id = carts.id
+            where carts.session_id = :sessionId and carts.status = 'ACTIVE'
+              and carts_items.item_id = any(:itemIds)
+            """)
+    Flux<CartItemQuantityRow> findItemQuantities(String sessionId, Long[] itemIds);
+
     @Query(value = """
             select coalesce(sum(carts_items.quantity * items.price_minor), 0)
             from shop.carts
@@ -41,22 +55,43 @@ public interface CartItemRepository extends ReactiveCrudRepository<com.amit.myma
             """)
     Mono<Integer> incrementItemQuantity(long cartId, long itemId);
 
+    /**
+     * Decrements the item of the session's active cart or deletes it when the last unit is removed,
+     * returning the remaining quantity (0 when deleted, empty when the item is not in the cart).
+     * The row is locked first and both branches test the locked, latest quantity, so concurrent
+     * clicks are applied one after another instead of being lost.
+     */
     @Query(value = """
-            delete from shop.carts_items
-            where cart_id = :cartId
-              and item_id = :itemId
-              and quantity = 1
-            """)
-    Mono<Integer> deleteWhenItemQuantityIsOne(long cartId, long itemId);
-
-    @Query(value = """
-            update shop.carts_items
-               set quantity = quantity - 1
-             where cart_id = :cartId
-               and item_id = :itemId
-               and quantity > 1
+            with target as (
+                select carts_items.cart_id, carts_items.item_id, carts_items.quantity
+                from shop.carts
+                join shop.carts_items on carts_items.cart_id = carts.id
+                where carts.session_id = :sessionId and carts.status = 'ACTIVE'
+                  and carts_items.item_id = :itemId
+                for update of carts_items
+            ),
+            decremented as (
+                update shop.carts_items
+                   set quantity = carts_items.quantity - 1
+                  from target
+                 where carts_items.cart_id = target.cart_id
+                   and carts_items.item_id = target.item_id
+                   and target.quantity > 1
+                returning carts_items.quantity
+            ),
+            deleted as (
+                delete from shop.carts_items
+                 using target
+                 where carts_items.cart_id = target.cart_id
+                   and carts_items.item_id = target.item_id
+                   and target.quantity = 1
+                returning 0 as quantity
+            )
+            select quantity from decremented
+            union all
+            select quantity from deleted
             """)
-    Mono<Integer> decrementWhenItemQuantityGreaterThanOne(long cartId, long itemId);
+    Mono<Integer> decrementItemQuantityOrDelete(String sessionId, long itemId);
 
     @Query(value = """
             delete from shop.carts_items
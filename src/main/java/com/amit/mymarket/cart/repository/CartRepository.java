@@ -2,6 +2,7 @@ package com.amit.mymarket.cart.repository;
 
 import com.amit.mymarket.cart.domain.entity.Cart;
 import com.amit.mymarket.cart.domain.type.CartStatus;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Mono;
 
@@ -9,4 +10,33 @@ public interface CartRepository extends ReactiveCrudRepository<Cart, Long> {
 
     Mono<Cart> findBySessionIdAndStatus(String sessionId, CartStatus status);
 
+    /**
+     * Returns the session's active cart, inserting it when absent; uq_carts_active_session_id
+     * guarantees a single active cart per session. Empty only when a concurrent transaction
+     * inserted the cart after this statement's snapshot was taken - repeating the call then finds it.
+     */
+    @Query(value = """
+            with inserted as (
+                insert into shop.carts (session_id, status)
+                values (:sessionId, 'ACTIVE')
+                on conflict (session_id) where status = 'ACTIVE' do nothing
+                returning id, session_id, status
+            )
+            select id, session_id, status from inserted
+            union all
+            select id, session_id, status
+            from shop.carts
+            where session_id = :sessionId and status = 'ACTIVE'
+            limit 1
+            """)
+    Mono<Cart> getOrCreateActiveCart(String sessionId);
+
+    /**
+     * Allocates the owner id handed out in the signed cart cookie; ids start at 1.
+     */
+    @Query(value = """
+            select nextval('shop.cart_owner_ids')
+            """)
+    Mono<Long> nextCartOwnerId();
+
 }
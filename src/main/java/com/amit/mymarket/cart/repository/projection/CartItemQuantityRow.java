@@ -0,0 +1,6 @@
+package com.amit.mymarket.cart.repository.projection;
+
+public record CartItemQuantityRow(
+    Long itemId,
+    Integer quantity) {
+}
@@ -5,6 +5,7 @@ public record CartItemRow(
     String title,
     String description,
     String imagePath,
+    String imageVariants,
     Long priceMinor,
     Integer quantity) {
 }
@@ -6,6 +6,7 @@ import com.amit.mymarket.cart.repository.CartItemRepository;
 import com.amit.mymarket.cart.repository.CartRepository;
 import com.amit.mymarket.cart.service.CartCommandService;
 import com.amit.mymarket.common.exception.ResourceNotFoundException;
+import com.amit.mymarket.common.exception.ServiceException;
 import com.amit.mymarket.common.util.SessionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -35,17 +36,8 @@ public class DefaultCartCommandService implements CartCommandService {
     @Override
     public Mono<Void> decrementCartItemQuantityOrDelete(String sessionId, long itemId) {
         return SessionUtils.ensureSessionId(sessionId)
-                .flatMap(this::getRequiredActiveCart)
-                .flatMap(cart ->
-                        this.cartItemRepository.deleteWhenItemQuantityIsOne(cart.getId(), itemId)
-                                .defaultIfEmpty(0)
-                                .flatMap(deletedRowsCount -> {
-                                    if (deletedRowsCount == 0) {
-                                        return this.cartItemRepository.decrementWhenItemQuantityGreaterThanOne(cart.getId(), itemId);
-                                    }
-                                    return Mono.just(deletedRowsCount);
-                                })
-                )
+                .flatMap(validSessionId -> this.cartItemRepository.decrementItemQuantityOrDelete(validSessionId, itemId)
+                        .switchIfEmpty(Mono.defer(() -> this.getRequiredActiveCart(validSessionId).then(Mono.empty()))))
                 .then();
     }
 
@@ -70,17 +62,10 @@ public class DefaultCartCommandService implements CartCommandService {
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Active cart not found for sessionId=" + sessionId)));
     }
 
-
     private Mono<Cart> getOrCreateActiveCart(String sessionId) {
-        return this.cartRepository.findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE)
-                .switchIfEmpty(
-                        Mono.defer(() -> {
-                            Cart cart = new Cart();
-                            cart.setSessionId(sessionId);
-                            cart.setStatus(CartStatus.ACTIVE);
-                            return this.cartRepository.save(cart);
-                        })
-                );
+        return this.cartRepository.getOrCreateActiveCart(sessionId)
+                .switchIfEmpty(Mono.defer(() -> this.cartRepository.getOrCreateActiveCart(sessionId)))
+                .switchIfEmpty(Mono.error(new ServiceException("Active cart could not be created for sessionId=" + sessionId)));
     }
 
 }
@@ -0,0 +1,17 @@
+package com.amit.mymarket.cart.service.type;
+
+public enum CartIdentityMode {
+
+    /**
+     * Carts and orders are keyed by the web session id; every request carrying a session cookie
+     * loads the session from the session store.
+     */
+    SESSION,
+
+    /**
+     * Carts and orders are keyed by a numeric owner id carried in an HMAC-signed cookie, which is
+     * verified in memory without any store lookup.
+     */
+    SIGNED_COOKIE
+
+}
@@ -2,8 +2,10 @@ package com.amit.mymarket.cart.usecase;
 
 import com.amit.mymarket.cart.api.dto.CartViewDto;
 import com.amit.mymarket.cart.api.type.CartAction;
+import io.micrometer.core.annotation.Timed;
 import reactor.core.publisher.Mono;
 
+@Timed(value = "market.usecase", histogram = true)
 public interface CartUseCase {
 
     Mono<CartViewDto> getCart(String sessionId);
@@ -0,0 +1,44 @@
+package com.amit.mymarket.common.configuration;
+
+import com.amit.mymarket.common.service.MediaStorageService;
+import com.amit.mymarket.common.service.MediaUrlResolver;
+import com.amit.mymarket.common.service.cache.MediaCacheUrlResolver;
+import com.amit.mymarket.common.service.cache.MediaFileCache;
+import com.amit.mymarket.common.service.minio.MinioMediaUrlResolver;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(value = MediaCacheProperties.class)
+public class MediaCacheConfiguration {
+
+    @Bean
+    public MediaFileCache mediaFileCache(MediaStorageService mediaStorageService,
+                                         MediaCacheProperties mediaCacheProperties) {
+        MediaFileCache mediaFileCache = new MediaFileCache(
+                mediaStorageService,
+                mediaCacheProperties.enabled(),
+                Path.of(mediaCacheProperties.directory()),
+                mediaCacheProperties.maxSizeBytes(),
+                mediaCacheProperties.missingTtl(),
+                mediaCacheProperties.missingMaxEntries()
+        );
+        if (mediaFileCache.isEnabled()) {
+            mediaFileCache.clear();
+        }
+        return mediaFileCache;
+    }
+
+    @Bean
+    public MediaUrlResolver mediaUrlResolver(MinioStorageProperties minioStorageProperties,
+                                             MediaCacheProperties mediaCacheProperties) {
+        if (mediaCacheProperties.enabled()) {
+            return new MediaCacheUrlResolver();
+        }
+        return new MinioMediaUrlResolver(minioStorageProperties);
+    }
+
+}
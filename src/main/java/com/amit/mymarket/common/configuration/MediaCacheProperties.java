@@ -0,0 +1,28 @@
+package com.amit.mymarket.common.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(value = "storage.media-cache")
+public record MediaCacheProperties(
+
+        @Value(value = "enabled")
+        boolean enabled,
+
+        @Value(value = "directory")
+        String directory,
+
+        @Value(value = "max-size-bytes")
+        long maxSizeBytes,
+
+        @Value(value = "max-age")
+        Duration maxAge,
+
+        @Value(value = "missing-ttl")
+        Duration missingTtl,
+
+        @Value(value = "missing-max-entries")
+        int missingMaxEntries) {
+}
@@ -0,0 +1,28 @@
+package com.amit.mymarket.common.configuration;
+
+import com.amit.mymarket.common.service.metrics.ReactiveTimedBeanPostProcessor;
+import com.amit.mymarket.common.service.metrics.SchedulerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * R2DBC pool gauges (r2dbc.pool.*) and HTTP server timers come from the actuator auto-configuration;
+ * this adds the @Timed interfaces and the shared bounded elastic scheduler.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public static ReactiveTimedBeanPostProcessor reactiveTimedBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        return new ReactiveTimedBeanPostProcessor(meterRegistryProvider);
+    }
+
+    @Bean
+    public SchedulerMetrics boundedElasticSchedulerMetrics() {
+        return new SchedulerMetrics("boundedElastic", Schedulers.boundedElastic());
+    }
+
+}
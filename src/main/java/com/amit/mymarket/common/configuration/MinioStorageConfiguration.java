@@ -1,17 +1,27 @@
 package com.amit.mymarket.common.configuration;
 
+import com.amit.mymarket.common.service.MediaStorageService;
+import com.amit.mymarket.common.service.minio.MinioMediaStorageService;
+import com.amit.mymarket.common.service.minio.ReactiveMinioMediaStorageService;
+import com.amit.mymarket.common.service.minio.S3RequestSigner;
 import com.amit.mymarket.common.service.strategy.KeyNamingStrategy;
 import com.amit.mymarket.common.service.strategy.KeyNamingStrategyEnum;
+import com.amit.mymarket.common.service.type.MediaStorageClientMode;
 import io.minio.BucketExistsArgs;
 import io.minio.MakeBucketArgs;
 import io.minio.MinioClient;
+import io.netty.channel.ChannelOption;
 import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
@@ -24,6 +34,9 @@ public class MinioStorageConfiguration {
     @Value("${storage.minio.public-read-enabled}")
     private boolean publicReadEnabled;
 
+    @Value("${storage.minio.key-naming-strategy:default_strategy}")
+    private KeyNamingStrategyEnum keyNamingStrategy;
+
     @Bean
     public MinioClient minioClient(MinioStorageProperties minioStorageProperties) {
         OkHttpClient okHttpClient = new OkHttpClient.Builder()
@@ -40,9 +53,33 @@ public class MinioStorageConfiguration {
         return minioClient;
     }
 
+    @Bean
+    public MediaStorageService mediaStorageService(MinioClient minioClient,
+                                                   MinioStorageProperties minioStorageProperties,
+                                                   KeyNamingStrategy keyNamingStrategy) {
+        if (minioStorageProperties.clientMode() == MediaStorageClientMode.REACTIVE) {
+            return new ReactiveMinioMediaStorageService(
+                    this.buildWebClient(minioStorageProperties),
+                    new S3RequestSigner(minioStorageProperties.accessKey(), minioStorageProperties.secretKey(), minioStorageProperties.region()),
+                    minioStorageProperties,
+                    keyNamingStrategy
+            );
+        }
+        return new MinioMediaStorageService(minioClient, minioStorageProperties, keyNamingStrategy);
+    }
+
     @Bean
     public KeyNamingStrategy keyNamingStrategy() {
-        return KeyNamingStrategyEnum.DEFAULT_STRATEGY;
+        return this.keyNamingStrategy;
+    }
+
+    private WebClient buildWebClient(MinioStorageProperties minioStorageProperties) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, minioStorageProperties.connectTimeoutMs())
+                .responseTimeout(Duration.ofMillis(minioStorageProperties.readTimeoutMs()));
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
 
     private void ensureBucketAndPolicy(MinioClient minioClient, MinioStorageProperties minioStorageProperties) {
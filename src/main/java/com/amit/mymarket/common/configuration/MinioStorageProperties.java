@@ -1,5 +1,6 @@
 package com.amit.mymarket.common.configuration;
 
+import com.amit.mymarket.common.service.type.MediaStorageClientMode;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -39,5 +40,11 @@ public record MinioStorageProperties(
         long maxFileSizeBytes,
 
         @Value(value = "allowed-mime-types")
-        List<String> allowedMimeTypes) {
+        List<String> allowedMimeTypes,
+
+        @Value(value = "client-mode")
+        MediaStorageClientMode clientMode,
+
+        @Value(value = "region")
+        String region) {
 }
@@ -0,0 +1,41 @@
+package com.amit.mymarket.common.configuration;
+
+import com.amit.mymarket.common.repository.WebSessionRecordRepository;
+import com.amit.mymarket.common.service.session.PostgresReactiveSessionRepository;
+import com.amit.mymarket.common.service.type.SessionStoreMode;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.ReactiveMapSessionRepository;
+import org.springframework.session.ReactiveSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.config.annotation.web.server.EnableSpringWebSession;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Configuration
+@EnableSpringWebSession
+@EnableConfigurationProperties(value = WebSessionProperties.class)
+public class WebSessionConfiguration {
+
+    @Bean
+    public ReactiveSessionRepository<? extends Session> reactiveSessionRepository(WebSessionRecordRepository webSessionRecordRepository,
+                                                                                  WebSessionProperties webSessionProperties) {
+        if (webSessionProperties.store() == SessionStoreMode.MEMORY) {
+            ReactiveMapSessionRepository reactiveMapSessionRepository = new ReactiveMapSessionRepository(new ConcurrentHashMap<>());
+            reactiveMapSessionRepository.setDefaultMaxInactiveInterval(webSessionProperties.timeout());
+            return reactiveMapSessionRepository;
+        }
+
+        PostgresReactiveSessionRepository postgresReactiveSessionRepository = new PostgresReactiveSessionRepository(
+                webSessionRecordRepository,
+                webSessionProperties.timeout(),
+                webSessionProperties.touchInterval(),
+                Clock.systemUTC()
+        );
+        postgresReactiveSessionRepository.startCleanup(webSessionProperties.cleanupInterval());
+        return postgresReactiveSessionRepository;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.amit.mymarket.common.configuration;
+
+import com.amit.mymarket.common.service.type.SessionStoreMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(value = "session")
+public record WebSessionProperties(
+
+        @Value(value = "store")
+        SessionStoreMode store,
+
+        @Value(value = "timeout")
+        Duration timeout,
+
+        @Value(value = "touch-interval")
+        Duration touchInterval,
+
+        @Value(value = "cleanup-interval")
+        Duration cleanupInterval) {
+}
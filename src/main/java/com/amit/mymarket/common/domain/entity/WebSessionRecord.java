@@ -0,0 +1,106 @@
+package com.amit.mymarket.common.domain.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.Objects;
+
+@Table(schema = "shop", name = "web_sessions")
+public class WebSessionRecord {
+
+    @Id
+    private String id;
+
+    @Column(value = "creation_time")
+    private Instant creationTime;
+
+    @Column(value = "last_access_time")
+    private Instant lastAccessTime;
+
+    @Column(value = "max_inactive_seconds")
+    private int maxInactiveSeconds;
+
+    @Column(value = "expires_at")
+    private Instant expiresAt;
+
+    @Column(value = "attributes")
+    private byte[] attributes;
+
+    public WebSessionRecord() {}
+
+    public String getId() {
+        return this.id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Instant getCreationTime() {
+        return this.creationTime;
+    }
+
+    public void setCreationTime(Instant creationTime) {
+        this.creationTime = creationTime;
+    }
+
+    public Instant getLastAccessTime() {
+        return this.lastAccessTime;
+    }
+
+    public void setLastAccessTime(Instant lastAccessTime) {
+        this.lastAccessTime = lastAccessTime;
+    }
+
+    public int getMaxInactiveSeconds() {
+        return this.maxInactiveSeconds;
+    }
+
+    public void setMaxInactiveSeconds(int maxInactiveSeconds) {
+        this.maxInactiveSeconds = maxInactiveSeconds;
+    }
+
+    public Instant getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public byte[] getAttributes() {
+        return this.attributes;
+    }
+
+    public void setAttributes(byte[] attributes) {
+        this.attributes = attributes;
+    }
+
+    @Override
+    public boolean equals(Object otherObject) {
+        if (otherObject == null || getClass() != otherObject.getClass()) {
+            return false;
+        }
+        WebSessionRecord otherWebSessionRecord = (WebSessionRecord) otherObject;
+        return Objects.equals(this.id, otherWebSessionRecord.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "WebSessionRecord{" +
+                "id='" + this.id + '\'' +
+                ", creationTime=" + this.creationTime +
+                ", lastAccessTime=" + this.lastAccessTime +
+                ", maxInactiveSeconds=" + this.maxInactiveSeconds +
+                ", expiresAt=" + this.expiresAt +
+                '}';
+    }
+
+}
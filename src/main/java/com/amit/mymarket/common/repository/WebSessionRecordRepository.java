@@ -0,0 +1,57 @@
+package com.amit.mymarket.common.repository;
+
+import com.amit.mymarket.common.domain.entity.WebSessionRecord;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface WebSessionRecordRepository extends ReactiveCrudRepository<WebSessionRecord, String> {
+
+    @Query(value = """
+            select id, creation_time, last_access_time, max_inactive_seconds, expires_at, attributes
+            from shop.web_sessions
+            where id = :id and expires_at > :now
+            """)
+    Mono<WebSessionRecord> findActiveById(String id, Instant now);
+
+    /**
+     * Inserts a new session or overwrites the stored one; the creation time of an existing row is kept.
+     */
+    @Query(value = """
+            insert into shop.web_sessions (id, creation_time, last_access_time, max_inactive_seconds, expires_at, attributes)
+            values (:id, :creationTime, :lastAccessTime, :maxInactiveSeconds, :expiresAt, :attributes)
+            on conflict (id) do update
+               set last_access_time = excluded.last_access_time,
+                   max_inactive_seconds = excluded.max_inactive_seconds,
+                   expires_at = excluded.expires_at,
+                   attributes = excluded.attributes
+            """)
+    Mono<Void> upsertSession(String id,
+                             Instant creationTime,
+                             Instant lastAccessTime,
+                             int maxInactiveSeconds,
+                             Instant expiresAt,
+                             byte[] attributes);
+
+    /**
+     * Only refreshes the access time of a session whose attributes did not change, so the attribute
+     * blob is not rewritten on every request.
+     */
+    @Query(value = """
+            update shop.web_sessions
+               set last_access_time = :lastAccessTime,
+                   max_inactive_seconds = :maxInactiveSeconds,
+                   expires_at = :expiresAt
+             where id = :id
+            """)
+    Mono<Void> touchSession(String id, Instant lastAccessTime, int maxInactiveSeconds, Instant expiresAt);
+
+    @Query(value = """
+            delete from shop.web_sessions
+            where expires_at <= :now
+            """)
+    Mono<Void> deleteExpired(Instant now);
+
+}
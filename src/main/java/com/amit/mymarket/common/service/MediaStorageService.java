@@ -1,10 +1,14 @@
 package com.amit.mymarket.common.service;
 
 import com.amit.mymarket.common.service.util.PathSpecification;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+@Timed(value = "market.media.storage", histogram = true)
 public interface MediaStorageService {
 
     /**
@@ -13,6 +17,23 @@ public interface MediaStorageService {
      */
     Mono<String> saveMediaFile(FilePart file, PathSpecification pathSpecification);
 
+    /**
+     * Stores content produced by the application itself (e.g. resized image variants)
+     * and returns the storage key. The content is trusted and not validated again.
+     */
+    Mono<String> saveMediaContent(byte[] content, String mimeType, PathSpecification pathSpecification);
+
+    /**
+     * Reads an object by its storage key as a stream of buffers the subscriber must release.
+     * A missing object is signalled as ResourceNotFoundException.
+     */
+    Flux<DataBuffer> readMediaFile(String key);
+
+    /**
+     * Tells whether an object is currently stored under the key.
+     */
+    Mono<Boolean> mediaFileExists(String key);
+
     /**
      * Deletes an object by its storage key.
      * Implementations may choose to ignore missing objects.
@@ -1,5 +1,8 @@
 package com.amit.mymarket.common.service;
 
+import com.amit.mymarket.common.service.type.ImageVariant;
+import com.amit.mymarket.common.service.util.ImageVariantKeys;
+
 public interface MediaUrlResolver {
 
     /**
@@ -8,4 +11,12 @@ public interface MediaUrlResolver {
      */
     String buildPublicUrl(String key);
 
+    /**
+     * Builds a public URL for the requested variant of an image, or for the original
+     * when that variant has not been generated.
+     */
+    default String buildVariantUrl(String originalKey, String imageVariants, ImageVariant variant) {
+        return this.buildPublicUrl(ImageVariantKeys.resolve(originalKey, imageVariants, variant));
+    }
+
 }
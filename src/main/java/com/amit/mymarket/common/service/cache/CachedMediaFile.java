@@ -0,0 +1,16 @@
+package com.amit.mymarket.common.service.cache;
+
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+
+/**
+ * A media object copied to local disk; etag is the quoted SHA-256 of the content.
+ */
+public record CachedMediaFile(
+        String key,
+        Path path,
+        long size,
+        String etag,
+        MediaType mediaType) {
+}
@@ -0,0 +1,21 @@
+package com.amit.mymarket.common.service.cache;
+
+import com.amit.mymarket.common.service.MediaUrlResolver;
+
+/**
+ * Points images at the local /media proxy instead of object storage.
+ * The path is returned without a leading slash: templates prefix relative keys with '/'.
+ */
+public final class MediaCacheUrlResolver implements MediaUrlResolver {
+
+    public static final String MEDIA_PATH = "media";
+
+    @Override
+    public String buildPublicUrl(String key) {
+        if (key == null) {
+            return null;
+        }
+        return MEDIA_PATH + "/" + key;
+    }
+
+}
@@ -0,0 +1,296 @@
+package com.amit.mymarket.common.service.cache;
+
+import com.amit.mymarket.common.exception.ResourceNotFoundException;
+import com.amit.mymarket.common.service.MediaStorageService;
+import com.amit.mymarket.common.service.util.ContentHash;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded LRU copy of media objects on local disk, so repeated image views are served from the
+ * node instead of object storage. A miss streams the object into a temporary file and moves it into
+ * place once complete; concurrent misses for the same key share that single download. Storage keys
+ * are unique per upload, so a cached file never goes stale; entries only leave the cache on eviction.
+ * The index lives in memory, files left in the directory by a previous run are removed by clear().
+ * <p>
+ * Requests serving a file hold it through acquire() and release(); a file evicted while held is
+ * only deleted once its last reader releases it. Every load writes a file under a fresh name, so a
+ * reload of an evicted key never shares a path with a file still being read.
+ * <p>
+ * A key that storage reports as missing is remembered for missingTtl, so repeated requests for a
+ * deleted or unknown key are answered locally instead of each going to storage again. The number of
+ * remembered keys is bounded, since anyone can request arbitrary keys.
+ */
+public class MediaFileCache {
+
+    private final MediaStorageService mediaStorageService;
+
+    private final boolean enabled;
+
+    private final Path directory;
+
+    private final long maxSizeBytes;
+
+    private final long missingTtlMillis;
+
+    private final int missingMaxEntries;
+
+    private final Clock clock;
+
+    private final LinkedHashMap<String, CachedMediaFile> files = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<String, Mono<CachedMediaFile>> inFlightLoads = new ConcurrentHashMap<>();
+
+    private final Map<Path, Integer> readers = new HashMap<>();
+
+    private final Set<Path> evictedWhileRead = new HashSet<>();
+
+    private final LinkedHashMap<String, Long> missingUntilMillis = new LinkedHashMap<>();
+
+    private long totalBytes;
+
+    public MediaFileCache(MediaStorageService mediaStorageService,
+                          boolean enabled,
+                          Path directory,
+                          long maxSizeBytes,
+                          Duration missingTtl,
+                          int missingMaxEntries) {
+        this(mediaStorageService, enabled, directory, maxSizeBytes, missingTtl, missingMaxEntries, Clock.systemUTC());
+    }
+
+    public MediaFileCache(MediaStorageService mediaStorageService,
+                          boolean enabled,
+                          Path directory,
+                          long maxSizeBytes,
+                          Duration missingTtl,
+                          int missingMaxEntries,
+                          Clock clock) {
+        this.mediaStorageService = mediaStorageService;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.maxSizeBytes = maxSizeBytes;
+        this.missingTtlMillis = missingTtl.toMillis();
+        this.missingMaxEntries = missingMaxEntries;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Returns the cached file for the key, loading it from storage on a miss.
+     * A missing object fails with ResourceNotFoundException and is remembered for missingTtl;
+     * other storage errors are propagated and not cached.
+     */
+    public Mono<CachedMediaFile> get(String key) {
+        return Mono.defer(() -> {
+            CachedMediaFile cachedMediaFile = this.lookup(key);
+            if (cachedMediaFile != null) {
+                return Mono.just(cachedMediaFile);
+            }
+            if (this.isKnownMissing(key)) {
+                return Mono.error(new ResourceNotFoundException("Object not found: " + key));
+            }
+            return this.inFlightLoads.computeIfAbsent(key, this::load);
+        });
+    }
+
+    /**
+     * Like get, but keeps the file on disk until release is called, even if it is evicted meanwhile.
+     */
+    public Mono<CachedMediaFile> acquire(String key) {
+        return this.get(key)
+                .flatMap(cachedMediaFile -> this.retain(cachedMediaFile)
+                        ? Mono.just(cachedMediaFile)
+                        : this.acquire(key));
+    }
+
+    public void release(CachedMediaFile cachedMediaFile) {
+        boolean delete;
+        synchronized (this) {
+            Integer remaining = this.readers.computeIfPresent(cachedMediaFile.path(), (path, count) -> count == 1 ? null : count - 1);
+            delete = remaining == null && this.evictedWhileRead.remove(cachedMediaFile.path());
+        }
+        if (delete) {
+            deleteQuietly(cachedMediaFile.path());
+        }
+    }
+
+    public synchronized long size() {
+        return this.totalBytes;
+    }
+
+    public synchronized boolean contains(String key) {
+        return this.files.containsKey(key);
+    }
+
+    /**
+     * Drops all entries and deletes every file in the cache directory, creating it when missing.
+     */
+    public void clear() {
+        synchronized (this) {
+            this.files.clear();
+            this.readers.clear();
+            this.evictedWhileRead.clear();
+            this.missingUntilMillis.clear();
+            this.totalBytes = 0;
+        }
+        try {
+            Files.createDirectories(this.directory);
+            try (Stream<Path> paths = Files.list(this.directory)) {
+                paths.forEach(MediaFileCache::deleteQuietly);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to prepare media cache directory: " + this.directory, exception);
+        }
+    }
+
+    private synchronized CachedMediaFile lookup(String key) {
+        return this.files.get(key);
+    }
+
+    private synchronized boolean isKnownMissing(String key) {
+        Long missingUntil = this.missingUntilMillis.get(key);
+        if (missingUntil == null) {
+            return false;
+        }
+        if (missingUntil <= this.clock.millis()) {
+            this.missingUntilMillis.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Drops the oldest remembered keys beyond missingMaxEntries; they are simply looked up in storage again.
+     */
+    private synchronized void rememberMissing(String key) {
+        if (this.missingMaxEntries <= 0 || this.missingTtlMillis <= 0) {
+            return;
+        }
+        this.missingUntilMillis.remove(key);
+        this.missingUntilMillis.put(key, this.clock.millis() + this.missingTtlMillis);
+        Iterator<String> iterator = this.missingUntilMillis.keySet().iterator();
+        while (this.missingUntilMillis.size() > this.missingMaxEntries) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Fails when the entry was evicted between being returned by get and being retained here;
+     * its file may already be gone, so the caller looks the key up again.
+     */
+    private synchronized boolean retain(CachedMediaFile cachedMediaFile) {
+        if (this.files.get(cachedMediaFile.key()) != cachedMediaFile) {
+            return false;
+        }
+        this.readers.merge(cachedMediaFile.path(), 1, Integer::sum);
+        return true;
+    }
+
+    /**
+     * The load keeps running when the request that started it goes away, so the
+     * other requests waiting on the same key (and the next ones) still get the file.
+     */
+    private Mono<CachedMediaFile> load(String key) {
+        return Mono.defer(() -> {
+                    String fileName = ContentHash.sha256Hex(key.getBytes(StandardCharsets.UTF_8)) + "." + UUID.randomUUID();
+                    Path target = this.directory.resolve(fileName);
+                    Path temporary = this.directory.resolve(fileName + ".tmp");
+                    MessageDigest digest = ContentHash.newDigest();
+                    AtomicLong size = new AtomicLong();
+
+                    Flux<DataBuffer> content = this.mediaStorageService.readMediaFile(key)
+                            .doOnNext(buffer -> {
+                                size.addAndGet(buffer.readableByteCount());
+                                try (DataBuffer.ByteBufferIterator byteBuffers = buffer.readableByteBuffers()) {
+                                    byteBuffers.forEachRemaining(digest::update);
+                                }
+                            });
+
+                    return DataBufferUtils.write(content, temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)
+                            .then(Mono.fromCallable(() -> {
+                                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+                                String etag = "\"" + ContentHash.toHex(digest) + "\"";
+                                return this.store(new CachedMediaFile(key, target, size.get(), etag, resolveMediaType(key)));
+                            }))
+                            .onErrorResume(exception -> Mono.fromRunnable(() -> deleteQuietly(temporary))
+                                    .then(Mono.error(exception)));
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnError(ResourceNotFoundException.class, exception -> this.rememberMissing(key))
+                .doOnTerminate(() -> this.inFlightLoads.remove(key))
+                .cache();
+    }
+
+    /**
+     * Evicts least recently used files until the cache fits maxSizeBytes again. The entry just stored
+     * is never evicted here, even when it alone exceeds the bound, because it is about to be served.
+     * Files still held by a reader are deleted on their last release instead.
+     */
+    private synchronized CachedMediaFile store(CachedMediaFile cachedMediaFile) {
+        CachedMediaFile previous = this.files.put(cachedMediaFile.key(), cachedMediaFile);
+        if (previous != null) {
+            this.totalBytes -= previous.size();
+            this.discard(previous);
+        }
+        this.totalBytes += cachedMediaFile.size();
+
+        Iterator<CachedMediaFile> iterator = this.files.values().iterator();
+        while (this.totalBytes > this.maxSizeBytes && this.files.size() > 1) {
+            CachedMediaFile eldest = iterator.next();
+            iterator.remove();
+            this.totalBytes -= eldest.size();
+            this.discard(eldest);
+        }
+        return cachedMediaFile;
+    }
+
+    private void discard(CachedMediaFile cachedMediaFile) {
+        if (this.readers.containsKey(cachedMediaFile.path())) {
+            this.evictedWhileRead.add(cachedMediaFile.path());
+        } else {
+            deleteQuietly(cachedMediaFile.path());
+        }
+    }
+
+    private static MediaType resolveMediaType(String key) {
+        return MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignore) {
+        }
+    }
+
+}
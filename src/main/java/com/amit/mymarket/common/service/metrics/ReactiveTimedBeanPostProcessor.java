@@ -0,0 +1,47 @@
+package com.amit.mymarket.common.service.metrics;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Instruments every bean that implements an interface annotated with {@link Timed}, which covers both
+ * plain components (the use cases, the media storage service) and Spring Data repositories, whose
+ * proxies already implement the annotated repository interface. An existing proxy gets the interceptor
+ * added in front of its advice chain instead of being wrapped a second time. Not being Ordered, this
+ * runs after the auto-proxy creator, so transactional proxies are extended rather than hidden.
+ */
+public class ReactiveTimedBeanPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    public ReactiveTimedBeanPostProcessor(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        for (Class<?> beanInterface : ClassUtils.getAllInterfacesForClassAsSet(bean.getClass())) {
+            Timed timed = AnnotationUtils.findAnnotation(beanInterface, Timed.class);
+            if (timed == null) {
+                continue;
+            }
+
+            ReactiveTimedMethodInterceptor interceptor = new ReactiveTimedMethodInterceptor(this.meterRegistryProvider, beanInterface, timed);
+            if (bean instanceof Advised advised && !advised.isFrozen()) {
+                advised.addAdvice(0, interceptor);
+                return bean;
+            }
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.addAdvice(interceptor);
+            return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+        }
+        return bean;
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.amit.mymarket.common.service.metrics;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Times the methods of an interface annotated with {@link Timed}. For Mono and Flux results the timer
+ * runs from subscription until the publisher terminates or is cancelled, so it measures the actual
+ * work rather than the assembly of the pipeline. Each timer is tagged with the interface, the method,
+ * the outcome (SUCCESS, ERROR or CANCELLED) and the exception class; its count doubles as the call counter.
+ */
+public class ReactiveTimedMethodInterceptor implements MethodInterceptor {
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final Class<?> timedInterface;
+
+    private final Timed timed;
+
+    public ReactiveTimedMethodInterceptor(ObjectProvider<MeterRegistry> meterRegistryProvider,
+                                          Class<?> timedInterface,
+                                          Timed timed) {
+        this.meterRegistryProvider = meterRegistryProvider;
+        this.timedInterface = timedInterface;
+        this.timed = timed;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        MeterRegistry meterRegistry = this.meterRegistryProvider.getIfAvailable();
+        if (meterRegistry == null || method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable exception) {
+            sample.stop(this.timer(meterRegistry, method, SignalType.ON_ERROR, exception));
+            throw exception;
+        }
+
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                Timer.Sample subscriptionSample = Timer.start(meterRegistry);
+                AtomicReference<Throwable> error = new AtomicReference<>();
+                return mono.doOnError(error::set)
+                        .doFinally(signalType -> subscriptionSample.stop(this.timer(meterRegistry, method, signalType, error.get())));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                Timer.Sample subscriptionSample = Timer.start(meterRegistry);
+                AtomicReference<Throwable> error = new AtomicReference<>();
+                return flux.doOnError(error::set)
+                        .doFinally(signalType -> subscriptionSample.stop(this.timer(meterRegistry, method, signalType, error.get())));
+            });
+        }
+        sample.stop(this.timer(meterRegistry, method, SignalType.ON_COMPLETE, null));
+        return result;
+    }
+
+    private Timer timer(MeterRegistry meterRegistry, Method method, SignalType signalType, Throwable exception) {
+        String outcome = switch (signalType) {
+            case ON_ERROR -> "ERROR";
+            case CANCEL -> "CANCELLED";
+            default -> "SUCCESS";
+        };
+        Timer.Builder builder = Timer.builder(this.timed.value())
+                .tag("class", this.timedInterface.getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .tag("exception", exception != null ? exception.getClass().getSimpleName() : NO_EXCEPTION)
+                .tags(this.timed.extraTags())
+                .publishPercentileHistogram(this.timed.histogram());
+        if (!this.timed.description().isEmpty()) {
+            builder.description(this.timed.description());
+        }
+        if (this.timed.percentiles().length > 0) {
+            builder.publishPercentiles(this.timed.percentiles());
+        }
+        return builder.register(meterRegistry);
+    }
+
+}
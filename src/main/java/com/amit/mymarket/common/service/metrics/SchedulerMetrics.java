@@ -0,0 +1,64 @@
+package com.amit.mymarket.common.service.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.function.Supplier;
+
+/**
+ * Gauges for a bounded elastic scheduler, read through Reactor's Scannable view on every scrape:
+ * busy workers, the worker cap and the number of tasks queued behind the busy workers. A growing
+ * queue means blocking work arrives faster than the pool drains it.
+ */
+public class SchedulerMetrics implements MeterBinder {
+
+    private final String schedulerName;
+
+    private final Scannable scheduler;
+
+    public SchedulerMetrics(String schedulerName, Scheduler scheduler) {
+        this.schedulerName = schedulerName;
+        this.scheduler = Scannable.from(unwrap(scheduler));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("reactor.scheduler.workers.active", this, SchedulerMetrics::activeWorkers)
+                .tag("scheduler", this.schedulerName)
+                .register(meterRegistry);
+        Gauge.builder("reactor.scheduler.workers.max", this, SchedulerMetrics::maxWorkers)
+                .tag("scheduler", this.schedulerName)
+                .register(meterRegistry);
+        Gauge.builder("reactor.scheduler.tasks.queued", this, SchedulerMetrics::queuedTasks)
+                .tag("scheduler", this.schedulerName)
+                .register(meterRegistry);
+    }
+
+    public double activeWorkers() {
+        return this.scheduler.scanOrDefault(Scannable.Attr.BUFFERED, 0);
+    }
+
+    public double maxWorkers() {
+        return this.scheduler.scanOrDefault(Scannable.Attr.CAPACITY, 0);
+    }
+
+    public double queuedTasks() {
+        return this.scheduler.inners()
+                .mapToInt(worker -> worker.scanOrDefault(Scannable.Attr.BUFFERED, 0))
+                .sum();
+    }
+
+    /**
+     * Schedulers.boundedElastic() hands out a caching wrapper whose Scannable view does not expose the workers.
+     */
+    private static Object unwrap(Scheduler scheduler) {
+        if (scheduler instanceof Supplier<?> supplier && supplier.get() instanceof Scheduler delegate) {
+            return delegate;
+        }
+        return scheduler;
+    }
+
+}
@@ -1,38 +1,55 @@
 package com.amit.mymarket.common.service.minio;
 
 import com.amit.mymarket.common.configuration.MinioStorageProperties;
+import com.amit.mymarket.common.exception.ResourceNotFoundException;
 import com.amit.mymarket.common.service.MediaStorageService;
 import com.amit.mymarket.common.service.exception.MediaStorageException;
 import com.amit.mymarket.common.service.strategy.KeyNamingStrategy;
+import com.amit.mymarket.common.service.util.ContentHash;
 import com.amit.mymarket.common.service.util.MediaFileValidator;
 import com.amit.mymarket.common.service.util.MimeTypeResolver;
 import com.amit.mymarket.common.service.util.PathSpecification;
+import com.amit.mymarket.common.service.util.SizeLimitedInputStream;
+import io.minio.GetObjectArgs;
 import io.minio.MinioClient;
+import io.minio.ObjectWriteArgs;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
 import io.minio.errors.ErrorResponseException;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.codec.multipart.FilePart;
-import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 
-@Service
 public class MinioMediaStorageService implements MediaStorageService {
 
+    private static final int SNIFF_BYTES = 8 * 1024;
+
+    private static final int PREFETCH_BUFFERS = 4;
+
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
     private final MinioClient minioClient;
 
     private final MinioStorageProperties minioStorageProperties;
 
     private final KeyNamingStrategy keyNamingStrategy;
 
-    @Autowired
     public MinioMediaStorageService(MinioClient minioClient, MinioStorageProperties minioStorageProperties, KeyNamingStrategy keyNamingStrategy) {
         this.minioClient = minioClient;
         this.minioStorageProperties = minioStorageProperties;
@@ -46,15 +63,46 @@ public class MinioMediaStorageService implements MediaStorageService {
                 return Mono.error(new MediaStorageException("Empty file"));
             }
 
-            return DataBufferUtils.join(file.content())
-                    .switchIfEmpty(Mono.error(new MediaStorageException("Empty file")))
-                    .flatMap(buffer -> {
-                        byte[] bytes = toByteArray(buffer);
-                        return this.validateAndSave(bytes, file.filename(), pathSpecification);
-                    });
+            return Mono.fromCallable(() -> this.streamContentToMinio(file, pathSpecification))
+                    .subscribeOn(Schedulers.boundedElastic());
         });
     }
 
+    @Override
+    public Mono<String> saveMediaContent(byte[] content, String mimeType, PathSpecification pathSpecification) {
+        return Mono.fromCallable(() -> {
+                    if (this.keyNamingStrategy.isContentAddressed()) {
+                        String key = this.keyNamingStrategy.buildKey(pathSpecification, mimeType, ContentHash.sha256Hex(content));
+                        if (!this.objectExists(key)) {
+                            this.putObject(key, mimeType, new ByteArrayInputStream(content), content.length);
+                        }
+                        return key;
+                    }
+                    String key = this.keyNamingStrategy.buildKey(pathSpecification, mimeType);
+                    this.putObject(key, mimeType, new ByteArrayInputStream(content), content.length);
+                    return key;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<DataBuffer> readMediaFile(String key) {
+        if (!StringUtils.hasText(key)) {
+            return Flux.error(new MediaStorageException("Empty key"));
+        }
+        return DataBufferUtils.readInputStream(() -> this.openObject(key), DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Boolean> mediaFileExists(String key) {
+        if (!StringUtils.hasText(key)) {
+            return Mono.just(false);
+        }
+        return Mono.fromCallable(() -> this.objectExists(key))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
     @Override
     public Mono<Void> deleteMediaFile(String key) {
         if (!StringUtils.hasText(key)) {
@@ -67,8 +115,7 @@ public class MinioMediaStorageService implements MediaStorageService {
                                 .object(key)
                                 .build());
                     } catch (ErrorResponseException exception) {
-                        String errorCode = exception.errorResponse().code();
-                        if (!"NoSuchKey".equalsIgnoreCase(errorCode) && !"NoSuchObject".equalsIgnoreCase(errorCode)) {
+                        if (!isMissingObject(exception)) {
                             throw new MediaStorageException("Failed to delete object: " + key, exception);
                         }
                     } catch (Exception exception) {
@@ -79,53 +126,139 @@ public class MinioMediaStorageService implements MediaStorageService {
                 .then();
     }
 
-    private byte[] toByteArray(DataBuffer buffer) {
+    /**
+     * Reads the upload as a stream with a bounded prefetch: only the first SNIFF_BYTES are kept aside
+     * for MIME detection, the size limit is checked while bytes are read, and the rest is piped into
+     * a multipart upload that buffers at most one part.
+     */
+    private String streamContentToMinio(FilePart file, PathSpecification pathSpecification) {
+        long maxFileSizeBytes = this.minioStorageProperties.maxFileSizeBytes();
+
+        try (InputStream content = new BufferedInputStream(
+                DataBufferUtils.subscriberInputStream(file.content(), PREFETCH_BUFFERS), SNIFF_BYTES)) {
+            content.mark(SNIFF_BYTES);
+            byte[] head = content.readNBytes(SNIFF_BYTES);
+            content.reset();
+
+            if (head.length == 0) {
+                throw new MediaStorageException("Empty file");
+            }
+
+            MediaFileValidator.validateFileSize(head.length, maxFileSizeBytes);
+            String mimeType = MimeTypeResolver.resolve(file.filename(), head);
+            MediaFileValidator.validateMimeType(mimeType, this.minioStorageProperties.allowedMimeTypes());
+
+            SizeLimitedInputStream limitedContent = new SizeLimitedInputStream(content, maxFileSizeBytes);
+            if (this.keyNamingStrategy.isContentAddressed()) {
+                return this.storeContentAddressed(limitedContent, mimeType, pathSpecification);
+            }
+
+            String key = this.keyNamingStrategy.buildKey(pathSpecification, mimeType);
+            this.uploadContentToMinio(limitedContent, mimeType, key);
+            return key;
+        } catch (IllegalArgumentException exception) {
+            throw new MediaStorageException("Validation error: " + exception.getMessage(), exception);
+        } catch (IOException exception) {
+            throw new MediaStorageException("Failed to read uploaded file", exception);
+        }
+    }
+
+    /**
+     * A content-addressed key is only known once the whole upload has been hashed, so the content is
+     * spooled to a temporary file first; when an object with that key already exists the PUT is skipped.
+     */
+    private String storeContentAddressed(SizeLimitedInputStream content, String mimeType, PathSpecification pathSpecification) throws IOException {
+        Path temporaryFile = Files.createTempFile("media-upload-", ".tmp");
         try {
-            int size = buffer.readableByteCount();
-            byte[] bytes = new byte[size];
-            buffer.read(bytes);
-            return bytes;
+            MessageDigest digest = ContentHash.newDigest();
+            try (OutputStream output = new DigestOutputStream(Files.newOutputStream(temporaryFile), digest)) {
+                content.transferTo(output);
+            } catch (IOException exception) {
+                if (content.isLimitExceeded()) {
+                    throw new MediaStorageException("Validation error: File exceeds size limit: " + content.getBytesRead(), exception);
+                }
+                throw exception;
+            }
+
+            String key = this.keyNamingStrategy.buildKey(pathSpecification, mimeType, ContentHash.toHex(digest));
+            if (!this.objectExists(key)) {
+                try (InputStream spooledContent = Files.newInputStream(temporaryFile)) {
+                    this.putObject(key, mimeType, spooledContent, Files.size(temporaryFile));
+                }
+            }
+            return key;
         } finally {
-            DataBufferUtils.release(buffer);
+            Files.deleteIfExists(temporaryFile);
         }
     }
 
-    private Mono<String> validateAndSave(byte[] bytes,
-                                         String filename,
-                                         PathSpecification pathSpecification) {
-        long fileSize = bytes.length;
+    private boolean objectExists(String key) {
+        try {
+            this.minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(this.minioStorageProperties.bucket())
+                    .object(key)
+                    .build());
+            return true;
+        } catch (ErrorResponseException exception) {
+            if (isMissingObject(exception)) {
+                return false;
+            }
+            throw new MediaStorageException("Failed to check object: " + key, exception);
+        } catch (Exception exception) {
+            throw new MediaStorageException("Failed to check object: " + key, exception);
+        }
+    }
 
+    private void putObject(String key, String mimeType, InputStream content, long size) {
         try {
-            MediaFileValidator.validateFileSize(fileSize, this.minioStorageProperties.maxFileSizeBytes());
-            String mimeType = MimeTypeResolver.resolve(filename, bytes);
-            MediaFileValidator.validateMimeType(mimeType, this.minioStorageProperties.allowedMimeTypes());
-            String key = this.keyNamingStrategy.buildKey(pathSpecification, mimeType);
+            this.minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(this.minioStorageProperties.bucket())
+                    .object(key)
+                    .contentType(mimeType)
+                    .stream(content, size, -1)
+                    .build());
+        } catch (Exception exception) {
+            throw new MediaStorageException("Failed to store object", exception);
+        }
+    }
 
-            return this.uploadContentToMinio(bytes, fileSize, mimeType, key);
-        } catch (IllegalArgumentException exception) {
-            return Mono.error(new MediaStorageException("Validation error: " + exception.getMessage(), exception));
+    private InputStream openObject(String key) {
+        try {
+            return this.minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(this.minioStorageProperties.bucket())
+                    .object(key)
+                    .build());
+        } catch (ErrorResponseException exception) {
+            if (isMissingObject(exception)) {
+                throw new ResourceNotFoundException("Object not found: " + key);
+            }
+            throw new MediaStorageException("Failed to read object: " + key, exception);
         } catch (Exception exception) {
-            return Mono.error(new MediaStorageException("Failed to store object", exception));
+            throw new MediaStorageException("Failed to read object: " + key, exception);
         }
     }
 
-    private Mono<String> uploadContentToMinio(byte[] bytes, long fileSize, String mimeType, String key) {
-        return Mono.fromCallable(() -> {
-                    try (InputStream inputStream = new ByteArrayInputStream(bytes)) {
-                        PutObjectArgs args = PutObjectArgs.builder()
-                                .bucket(this.minioStorageProperties.bucket())
-                                .object(key)
-                                .contentType(mimeType)
-                                .stream(inputStream, fileSize, -1)
-                                .build();
+    private void uploadContentToMinio(SizeLimitedInputStream content, String mimeType, String key) {
+        try {
+            PutObjectArgs args = PutObjectArgs.builder()
+                    .bucket(this.minioStorageProperties.bucket())
+                    .object(key)
+                    .contentType(mimeType)
+                    .stream(content, -1, ObjectWriteArgs.MIN_MULTIPART_SIZE)
+                    .build();
 
-                        this.minioClient.putObject(args);
-                        return key;
-                    } catch (Exception exception) {
-                        throw new MediaStorageException("Failed to store object", exception);
-                    }
-                })
-                .subscribeOn(Schedulers.boundedElastic());
+            this.minioClient.putObject(args);
+        } catch (Exception exception) {
+            if (content.isLimitExceeded()) {
+                throw new MediaStorageException("Validation error: File exceeds size limit: " + content.getBytesRead(), exception);
+            }
+            throw new MediaStorageException("Failed to store object", exception);
+        }
+    }
+
+    private static boolean isMissingObject(ErrorResponseException exception) {
+        String errorCode = exception.errorResponse().code();
+        return "NoSuchKey".equalsIgnoreCase(errorCode) || "NoSuchObject".equalsIgnoreCase(errorCode);
     }
 
 }
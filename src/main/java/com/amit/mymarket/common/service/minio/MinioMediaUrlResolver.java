@@ -2,15 +2,11 @@ package com.amit.mymarket.common.service.minio;
 
 import com.amit.mymarket.common.configuration.MinioStorageProperties;
 import com.amit.mymarket.common.service.MediaUrlResolver;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
 
-@Component
 public final class MinioMediaUrlResolver implements MediaUrlResolver {
 
     private final MinioStorageProperties minioStorageProperties;
 
-    @Autowired
     public MinioMediaUrlResolver(MinioStorageProperties minioStorageProperties) {
         this.minioStorageProperties = minioStorageProperties;
     }
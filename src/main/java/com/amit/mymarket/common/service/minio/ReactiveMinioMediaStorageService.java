@@ -0,0 +1,397 @@
+package com.amit.mymarket.common.service.minio;
+
+import com.amit.mymarket.common.configuration.MinioStorageProperties;
+import com.amit.mymarket.common.exception.ResourceNotFoundException;
+import com.amit.mymarket.common.service.MediaStorageService;
+import com.amit.mymarket.common.service.exception.MediaStorageException;
+import com.amit.mymarket.common.service.strategy.KeyNamingStrategy;
+import com.amit.mymarket.common.service.util.ContentHash;
+import com.amit.mymarket.common.service.util.MediaFileValidator;
+import com.amit.mymarket.common.service.util.MimeTypeResolver;
+import com.amit.mymarket.common.service.util.PathSpecification;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientHttpRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * {@link MediaStorageService} speaking the S3 API to MinIO over a non-blocking WebClient, so uploads
+ * and deletes never hold a thread while waiting on the network. Uploads are cut into parts of
+ * PART_SIZE_BYTES while they arrive: a file that fits into one part is written with a single PUT,
+ * larger ones with a multipart upload, so only a couple of parts per upload are ever held in memory.
+ */
+public class ReactiveMinioMediaStorageService implements MediaStorageService {
+
+    static final int PART_SIZE_BYTES = 5 * 1024 * 1024;
+
+    private static final int SNIFF_BYTES = 8 * 1024;
+
+    private static final int SPOOL_BUFFER_SIZE = 64 * 1024;
+
+    private static final Pattern UPLOAD_ID_PATTERN = Pattern.compile("<UploadId>([^<]+)</UploadId>");
+
+    private final WebClient webClient;
+
+    private final S3RequestSigner requestSigner;
+
+    private final MinioStorageProperties minioStorageProperties;
+
+    private final KeyNamingStrategy keyNamingStrategy;
+
+    public ReactiveMinioMediaStorageService(WebClient webClient,
+                                            S3RequestSigner requestSigner,
+                                            MinioStorageProperties minioStorageProperties,
+                                            KeyNamingStrategy keyNamingStrategy) {
+        this.webClient = webClient;
+        this.requestSigner = requestSigner;
+        this.minioStorageProperties = minioStorageProperties;
+        this.keyNamingStrategy = keyNamingStrategy;
+    }
+
+    @Override
+    public Mono<String> saveMediaFile(FilePart file, PathSpecification pathSpecification) {
+        return Mono.defer(() -> {
+            if (file == null || file.filename().isBlank()) {
+                return Mono.error(new MediaStorageException("Empty file"));
+            }
+
+            if (this.keyNamingStrategy.isContentAddressed()) {
+                return this.saveContentAddressed(file, pathSpecification);
+            }
+            return this.upload(file.filename(), file.content(), mimeType -> this.keyNamingStrategy.buildKey(pathSpecification, mimeType), false);
+        });
+    }
+
+    @Override
+    public Mono<String> saveMediaContent(byte[] content, String mimeType, PathSpecification pathSpecification) {
+        return Mono.defer(() -> {
+            if (this.keyNamingStrategy.isContentAddressed()) {
+                String key = this.keyNamingStrategy.buildKey(pathSpecification, mimeType, ContentHash.sha256Hex(content));
+                return this.objectExists(key)
+                        .flatMap(exists -> exists
+                                ? Mono.just(key)
+                                : this.putObject(key, mimeType, DefaultDataBufferFactory.sharedInstance.wrap(content)).thenReturn(key));
+            }
+            String key = this.keyNamingStrategy.buildKey(pathSpecification, mimeType);
+            return this.putObject(key, mimeType, DefaultDataBufferFactory.sharedInstance.wrap(content)).thenReturn(key);
+        });
+    }
+
+    @Override
+    public Flux<DataBuffer> readMediaFile(String key) {
+        if (!StringUtils.hasText(key)) {
+            return Flux.error(new MediaStorageException("Empty key"));
+        }
+        URI uri = this.objectUri(key, null);
+        return this.webClient.get()
+                .uri(uri)
+                .headers(headers -> headers.addAll(this.requestSigner.sign(HttpMethod.GET, uri, S3RequestSigner.UNSIGNED_PAYLOAD)))
+                .exchangeToFlux(response -> {
+                    if (response.statusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                        return response.releaseBody().thenMany(Flux.error(new ResourceNotFoundException("Object not found: " + key)));
+                    }
+                    if (response.statusCode().isError()) {
+                        return errorResponse(HttpMethod.GET, uri, response).flux();
+                    }
+                    return response.bodyToFlux(DataBuffer.class);
+                })
+                .onErrorMap(exception -> !(exception instanceof MediaStorageException) && !(exception instanceof ResourceNotFoundException),
+                        exception -> new MediaStorageException("Failed to read object: " + key, exception));
+    }
+
+    @Override
+    public Mono<Boolean> mediaFileExists(String key) {
+        if (!StringUtils.hasText(key)) {
+            return Mono.just(false);
+        }
+        return this.objectExists(key);
+    }
+
+    @Override
+    public Mono<Void> deleteMediaFile(String key) {
+        if (!StringUtils.hasText(key)) {
+            return Mono.empty();
+        }
+        return this.exchange(HttpMethod.DELETE, this.objectUri(key, null), BodyInserters.empty(), null, ClientResponse::releaseBody)
+                .onErrorMap(exception -> !(exception instanceof MediaStorageException),
+                        exception -> new MediaStorageException("Failed to delete object: " + key, exception));
+    }
+
+    /**
+     * Sniffs the MIME type from the first part, then writes the content with a single PUT when it fits
+     * into one part and with a multipart upload otherwise. With skipExisting the write is skipped when
+     * an object with the resolved key is already stored.
+     */
+    private Mono<String> upload(String filename,
+                                Flux<DataBuffer> content,
+                                Function<String, String> keyByMimeType,
+                                boolean skipExisting) {
+        return this.readParts(content)
+                .switchOnFirst((signal, parts) -> {
+                    if (!signal.hasValue()) {
+                        return signal.hasError() ? Flux.error(signal.getThrowable()) : Flux.error(new MediaStorageException("Empty file"));
+                    }
+
+                    DataBuffer firstPart = signal.get();
+                    if (firstPart.readableByteCount() == 0) {
+                        return Flux.error(new MediaStorageException("Empty file"));
+                    }
+
+                    String mimeType;
+                    String key;
+                    try {
+                        mimeType = MimeTypeResolver.resolve(filename, readHead(firstPart));
+                        MediaFileValidator.validateMimeType(mimeType, this.minioStorageProperties.allowedMimeTypes());
+                        key = keyByMimeType.apply(mimeType);
+                    } catch (IllegalArgumentException exception) {
+                        return Flux.error(new MediaStorageException("Validation error: " + exception.getMessage(), exception));
+                    }
+
+                    Mono<String> write = firstPart.readableByteCount() < PART_SIZE_BYTES
+                            ? parts.next().flatMap(part -> this.putObject(key, mimeType, part)).thenReturn(key)
+                            : this.multipartUpload(key, mimeType, parts).thenReturn(key);
+                    if (!skipExisting) {
+                        return write;
+                    }
+                    return this.objectExists(key).flatMap(exists -> exists ? Mono.just(key) : write);
+                })
+                .next()
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * A content-addressed key is only known once the whole upload has been hashed, so the upload is
+     * spooled to a temporary file first and sent from there, unless an object with that key exists.
+     */
+    private Mono<String> saveContentAddressed(FilePart file, PathSpecification pathSpecification) {
+        return Mono.usingWhen(
+                Mono.fromCallable(() -> Files.createTempFile("media-upload-", ".tmp")).subscribeOn(Schedulers.boundedElastic()),
+                temporaryFile -> {
+                    MessageDigest digest = ContentHash.newDigest();
+                    Flux<DataBuffer> hashedContent = this.limitSize(file.content())
+                            .doOnNext(buffer -> {
+                                try (DataBuffer.ByteBufferIterator byteBuffers = buffer.readableByteBuffers()) {
+                                    byteBuffers.forEachRemaining(digest::update);
+                                }
+                            });
+
+                    return DataBufferUtils.write(hashedContent, temporaryFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)
+                            .then(Mono.defer(() -> {
+                                String contentHash = ContentHash.toHex(digest);
+                                Flux<DataBuffer> spooledContent = DataBufferUtils.read(temporaryFile, DefaultDataBufferFactory.sharedInstance, SPOOL_BUFFER_SIZE);
+                                return this.upload(file.filename(), spooledContent,
+                                        mimeType -> this.keyNamingStrategy.buildKey(pathSpecification, mimeType, contentHash), true);
+                            }));
+                },
+                temporaryFile -> Mono.fromCallable(() -> Files.deleteIfExists(temporaryFile))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorResume(exception -> Mono.just(false))
+        );
+    }
+
+    private Mono<Boolean> objectExists(String key) {
+        URI uri = this.objectUri(key, null);
+        return this.webClient.head()
+                .uri(uri)
+                .headers(headers -> headers.addAll(this.requestSigner.sign(HttpMethod.HEAD, uri, S3RequestSigner.UNSIGNED_PAYLOAD)))
+                .exchangeToMono(response -> {
+                    if (response.statusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                        return response.releaseBody().thenReturn(false);
+                    }
+                    if (response.statusCode().isError()) {
+                        return errorResponse(HttpMethod.HEAD, uri, response);
+                    }
+                    return response.releaseBody().thenReturn(true);
+                })
+                .onErrorMap(exception -> !(exception instanceof MediaStorageException),
+                        exception -> new MediaStorageException("Failed to check object: " + key, exception));
+    }
+
+    /**
+     * Fails as soon as more than max-file-size-bytes have arrived.
+     */
+    private Flux<DataBuffer> limitSize(Flux<DataBuffer> content) {
+        return Flux.defer(() -> {
+            long maxFileSizeBytes = this.minioStorageProperties.maxFileSizeBytes();
+            AtomicLong totalBytes = new AtomicLong();
+
+            return content.<DataBuffer>handle((buffer, sink) -> {
+                long receivedBytes = totalBytes.addAndGet(buffer.readableByteCount());
+                if (maxFileSizeBytes > 0 && receivedBytes > maxFileSizeBytes) {
+                    DataBufferUtils.release(buffer);
+                    sink.error(new MediaStorageException("Validation error: File exceeds size limit: " + receivedBytes));
+                    return;
+                }
+                sink.next(buffer);
+            });
+        });
+    }
+
+    /**
+     * Regroups the upload into parts of at least PART_SIZE_BYTES (the last one may be smaller),
+     * failing as soon as more than max-file-size-bytes have arrived.
+     */
+    private Flux<DataBuffer> readParts(Flux<DataBuffer> content) {
+        return Flux.defer(() -> {
+            AtomicLong partBytes = new AtomicLong();
+
+            return this.limitSize(content)
+                    .bufferUntil(buffer -> {
+                        if (partBytes.addAndGet(buffer.readableByteCount()) < PART_SIZE_BYTES) {
+                            return false;
+                        }
+                        partBytes.set(0);
+                        return true;
+                    })
+                    .map(buffers -> buffers.getFirst().factory().join(buffers));
+        });
+    }
+
+    private Mono<Void> putObject(String key, String mimeType, DataBuffer content) {
+        return this.exchange(HttpMethod.PUT, this.objectUri(key, null), partInserter(content), mimeType, ClientResponse::releaseBody)
+                .onErrorMap(exception -> !(exception instanceof MediaStorageException),
+                        exception -> new MediaStorageException("Failed to store object", exception));
+    }
+
+    private Mono<Void> multipartUpload(String key, String mimeType, Flux<DataBuffer> parts) {
+        return this.createMultipartUpload(key, mimeType)
+                .flatMap(uploadId ->
+                        parts.index()
+                                .concatMap(indexedPart -> this.uploadPart(key, uploadId, indexedPart.getT1().intValue() + 1, indexedPart.getT2()), 1)
+                                .collectList()
+                                .flatMap(completedParts -> this.completeMultipartUpload(key, uploadId, completedParts))
+                                .onErrorResume(exception ->
+                                        this.abortMultipartUpload(key, uploadId)
+                                                .onErrorResume(ignored -> Mono.empty())
+                                                .then(Mono.error(exception))
+                                )
+                )
+                .onErrorMap(exception -> !(exception instanceof MediaStorageException),
+                        exception -> new MediaStorageException("Failed to store object", exception));
+    }
+
+    private Mono<String> createMultipartUpload(String key, String mimeType) {
+        return this.exchange(HttpMethod.POST, this.objectUri(key, "uploads"), BodyInserters.empty(), mimeType,
+                        response -> response.bodyToMono(String.class))
+                .flatMap(body -> {
+                    Matcher matcher = UPLOAD_ID_PATTERN.matcher(body);
+                    return matcher.find()
+                            ? Mono.just(matcher.group(1))
+                            : Mono.error(new MediaStorageException("Multipart upload was not started for key: " + key));
+                });
+    }
+
+    private Mono<CompletedPart> uploadPart(String key, String uploadId, int partNumber, DataBuffer content) {
+        String query = "partNumber=" + partNumber + "&uploadId=" + S3RequestSigner.encode(uploadId, false);
+        return this.exchange(HttpMethod.PUT, this.objectUri(key, query), partInserter(content), null, response -> {
+            String etag = response.headers().asHttpHeaders().getETag();
+            return response.releaseBody().thenReturn(new CompletedPart(partNumber, etag));
+        });
+    }
+
+    private Mono<Void> completeMultipartUpload(String key, String uploadId, List<CompletedPart> completedParts) {
+        String body = completedParts.stream()
+                .map(part -> "<Part><PartNumber>" + part.partNumber() + "</PartNumber><ETag>" + part.etag() + "</ETag></Part>")
+                .collect(Collectors.joining("", "<CompleteMultipartUpload>", "</CompleteMultipartUpload>"));
+        URI uri = this.objectUri(key, "uploadId=" + S3RequestSigner.encode(uploadId, false));
+        return this.exchange(HttpMethod.POST, uri, BodyInserters.fromValue(body), MediaType.APPLICATION_XML_VALUE,
+                        response -> response.bodyToMono(String.class).defaultIfEmpty(""))
+                .flatMap(responseBody -> responseBody.contains("<Error>")
+                        ? Mono.error(new MediaStorageException("Multipart upload was not completed for key: " + key + ": " + responseBody))
+                        : Mono.empty());
+    }
+
+    private Mono<Void> abortMultipartUpload(String key, String uploadId) {
+        URI uri = this.objectUri(key, "uploadId=" + S3RequestSigner.encode(uploadId, false));
+        return this.exchange(HttpMethod.DELETE, uri, BodyInserters.empty(), null, ClientResponse::releaseBody);
+    }
+
+    /**
+     * Signs and sends the request, handing successful responses to the handler while the body is still readable.
+     * Error statuses become MediaStorageException carrying the S3 error body; a missing object on DELETE is not an error.
+     */
+    private <T> Mono<T> exchange(HttpMethod method,
+                                 URI uri,
+                                 BodyInserter<?, ? super ClientHttpRequest> body,
+                                 String contentType,
+                                 Function<ClientResponse, Mono<T>> responseHandler) {
+        return this.webClient.method(method)
+                .uri(uri)
+                .headers(headers -> {
+                    headers.addAll(this.requestSigner.sign(method, uri, S3RequestSigner.UNSIGNED_PAYLOAD));
+                    if (contentType != null) {
+                        headers.set(HttpHeaders.CONTENT_TYPE, contentType);
+                    }
+                })
+                .body(body)
+                .exchangeToMono(response -> {
+                    HttpStatusCode status = response.statusCode();
+                    if (method == HttpMethod.DELETE && status.isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                        return response.releaseBody().then(Mono.<T>empty());
+                    }
+                    if (status.isError()) {
+                        return errorResponse(method, uri, response);
+                    }
+                    return responseHandler.apply(response);
+                });
+    }
+
+    private static <T> Mono<T> errorResponse(HttpMethod method, URI uri, ClientResponse response) {
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .flatMap(errorBody -> Mono.<T>error(new MediaStorageException(
+                        "S3 request failed: " + method + " " + uri.getRawPath() + " -> " + response.statusCode().value() + " " + errorBody)));
+    }
+
+    private URI objectUri(String key, String query) {
+        String baseUrl = this.minioStorageProperties.baseUrl();
+        String trimmedBaseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        String path = "/" + S3RequestSigner.encode(this.minioStorageProperties.bucket(), false) + "/" + S3RequestSigner.encode(key, true);
+        return URI.create(trimmedBaseUrl + path + (query != null ? "?" + query : ""));
+    }
+
+    private static BodyInserter<?, ? super ClientHttpRequest> partInserter(DataBuffer content) {
+        return (request, context) -> {
+            request.getHeaders().setContentLength(content.readableByteCount());
+            return request.writeWith(Mono.just(content));
+        };
+    }
+
+    private static byte[] readHead(DataBuffer buffer) {
+        byte[] head = new byte[Math.min(SNIFF_BYTES, buffer.readableByteCount())];
+        int readPosition = buffer.readPosition();
+        for (int index = 0; index < head.length; index++) {
+            head[index] = buffer.getByte(readPosition + index);
+        }
+        return head;
+    }
+
+    private record CompletedPart(int partNumber, String etag) {
+    }
+
+}
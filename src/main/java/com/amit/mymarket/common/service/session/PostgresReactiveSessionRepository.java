@@ -0,0 +1,170 @@
+package com.amit.mymarket.common.service.session;
+
+import com.amit.mymarket.common.domain.entity.WebSessionRecord;
+import com.amit.mymarket.common.repository.WebSessionRecordRepository;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializationFailedException;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.session.MapSession;
+import org.springframework.session.ReactiveSessionRepository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores web sessions in an UNLOGGED Postgres table, so every node behind the load balancer sees the
+ * same sessions without an extra Redis. Spring Session only saves sessions that have been started,
+ * which the controllers do on the first cart mutation; browsing the catalog never writes a row.
+ * A session whose attributes did not change is only touched once per touchInterval, which means it
+ * may expire up to that long before its nominal timeout. The table does not survive a Postgres crash;
+ * losing the sessions then only loses anonymous carts bound to them.
+ */
+public class PostgresReactiveSessionRepository implements ReactiveSessionRepository<PostgresSession> {
+
+    private final WebSessionRecordRepository webSessionRecordRepository;
+
+    private final Duration maxInactiveInterval;
+
+    private final Duration touchInterval;
+
+    private final Clock clock;
+
+    private final Converter<Object, byte[]> serializer = new SerializingConverter();
+
+    private final Converter<byte[], Object> deserializer = new DeserializingConverter();
+
+    private Disposable cleanup;
+
+    public PostgresReactiveSessionRepository(WebSessionRecordRepository webSessionRecordRepository,
+                                             Duration maxInactiveInterval,
+                                             Duration touchInterval,
+                                             Clock clock) {
+        this.webSessionRecordRepository = webSessionRecordRepository;
+        this.maxInactiveInterval = maxInactiveInterval;
+        this.touchInterval = touchInterval;
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<PostgresSession> createSession() {
+        return Mono.fromSupplier(() -> {
+            MapSession session = new MapSession();
+            session.setCreationTime(this.clock.instant());
+            session.setLastAccessedTime(session.getCreationTime());
+            session.setMaxInactiveInterval(this.maxInactiveInterval);
+            return new PostgresSession(session, true);
+        });
+    }
+
+    @Override
+    public Mono<Void> save(PostgresSession session) {
+        return Mono.defer(() -> {
+            Mono<Void> write;
+            if (session.isNew() || session.isAttributesChanged() || !session.getId().equals(session.getPersistedId())) {
+                write = this.upsert(session);
+            } else if (this.isTouchDue(session)) {
+                write = this.touch(session);
+            } else {
+                return Mono.empty();
+            }
+
+            Mono<Void> removeRenamed = !session.isNew() && !session.getId().equals(session.getPersistedId())
+                    ? this.webSessionRecordRepository.deleteById(session.getPersistedId())
+                    : Mono.empty();
+            return removeRenamed.then(write).doOnSuccess(ignore -> session.markPersisted());
+        });
+    }
+
+    /**
+     * Expired rows are never returned, even before the cleanup has removed them. A row whose attributes
+     * cannot be deserialized any more (e.g. a class changed between releases) is treated as missing.
+     */
+    @Override
+    public Mono<PostgresSession> findById(String id) {
+        return this.webSessionRecordRepository.findActiveById(id, this.clock.instant())
+                .map(this::toSession)
+                .onErrorResume(SerializationFailedException.class, exception -> Mono.empty());
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return this.webSessionRecordRepository.deleteById(id);
+    }
+
+    public Mono<Void> deleteExpiredSessions() {
+        return this.webSessionRecordRepository.deleteExpired(this.clock.instant());
+    }
+
+    /**
+     * Periodically removes expired rows; a failed run is skipped and retried on the next tick.
+     */
+    public void startCleanup(Duration cleanupInterval) {
+        this.cleanup = Flux.interval(cleanupInterval)
+                .concatMap(tick -> this.deleteExpiredSessions().onErrorResume(exception -> Mono.empty()))
+                .subscribe();
+    }
+
+    /**
+     * Stops the cleanup; called by the container on shutdown.
+     */
+    public void close() {
+        if (this.cleanup != null) {
+            this.cleanup.dispose();
+        }
+    }
+
+    private boolean isTouchDue(PostgresSession session) {
+        Instant persistedLastAccessedTime = session.getPersistedLastAccessedTime();
+        return persistedLastAccessedTime == null
+                || Duration.between(persistedLastAccessedTime, session.getLastAccessedTime()).compareTo(this.touchInterval) >= 0;
+    }
+
+    private Mono<Void> upsert(PostgresSession session) {
+        Map<String, Object> attributes = new HashMap<>();
+        for (String attributeName : session.getAttributeNames()) {
+            attributes.put(attributeName, session.getAttribute(attributeName));
+        }
+        return this.webSessionRecordRepository.upsertSession(
+                session.getId(),
+                session.getCreationTime(),
+                session.getLastAccessedTime(),
+                (int) session.getMaxInactiveInterval().toSeconds(),
+                expiresAt(session),
+                this.serializer.convert(attributes)
+        );
+    }
+
+    private Mono<Void> touch(PostgresSession session) {
+        return this.webSessionRecordRepository.touchSession(
+                session.getId(),
+                session.getLastAccessedTime(),
+                (int) session.getMaxInactiveInterval().toSeconds(),
+                expiresAt(session)
+        );
+    }
+
+    @SuppressWarnings(value = "unchecked")
+    private PostgresSession toSession(WebSessionRecord webSessionRecord) {
+        MapSession session = new MapSession(webSessionRecord.getId());
+        session.setCreationTime(webSessionRecord.getCreationTime());
+        session.setLastAccessedTime(webSessionRecord.getLastAccessTime());
+        session.setMaxInactiveInterval(Duration.ofSeconds(webSessionRecord.getMaxInactiveSeconds()));
+        Map<String, Object> attributes = (Map<String, Object>) this.deserializer.convert(webSessionRecord.getAttributes());
+        if (attributes != null) {
+            attributes.forEach(session::setAttribute);
+        }
+        return new PostgresSession(session, false);
+    }
+
+    private static Instant expiresAt(PostgresSession session) {
+        return session.getLastAccessedTime().plus(session.getMaxInactiveInterval());
+    }
+
+}
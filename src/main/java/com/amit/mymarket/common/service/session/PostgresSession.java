@@ -0,0 +1,122 @@
+package com.amit.mymarket.common.service.session;
+
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Session kept by PostgresReactiveSessionRepository. Wraps a MapSession and remembers what has been
+ * written to the table, so that save() can tell a new session, changed attributes and a mere access
+ * time refresh apart.
+ */
+public class PostgresSession implements Session {
+
+    private final MapSession delegate;
+
+    private String persistedId;
+
+    private Instant persistedLastAccessedTime;
+
+    private boolean attributesChanged;
+
+    PostgresSession(MapSession delegate, boolean isNew) {
+        this.delegate = delegate;
+        this.persistedId = isNew ? null : delegate.getId();
+        this.persistedLastAccessedTime = isNew ? null : delegate.getLastAccessedTime();
+    }
+
+    public boolean isNew() {
+        return this.persistedId == null;
+    }
+
+    /**
+     * Id the row is stored under; differs from getId() after changeSessionId() until the next save.
+     */
+    String getPersistedId() {
+        return this.persistedId;
+    }
+
+    boolean isAttributesChanged() {
+        return this.attributesChanged;
+    }
+
+    Instant getPersistedLastAccessedTime() {
+        return this.persistedLastAccessedTime;
+    }
+
+    void markPersisted() {
+        this.persistedId = this.delegate.getId();
+        this.persistedLastAccessedTime = this.delegate.getLastAccessedTime();
+        this.attributesChanged = false;
+    }
+
+    MapSession getDelegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public String getId() {
+        return this.delegate.getId();
+    }
+
+    @Override
+    public String changeSessionId() {
+        return this.delegate.changeSessionId();
+    }
+
+    @Override
+    public <T> T getAttribute(String attributeName) {
+        return this.delegate.getAttribute(attributeName);
+    }
+
+    @Override
+    public Set<String> getAttributeNames() {
+        return this.delegate.getAttributeNames();
+    }
+
+    @Override
+    public void setAttribute(String attributeName, Object attributeValue) {
+        this.delegate.setAttribute(attributeName, attributeValue);
+        this.attributesChanged = true;
+    }
+
+    @Override
+    public void removeAttribute(String attributeName) {
+        this.delegate.removeAttribute(attributeName);
+        this.attributesChanged = true;
+    }
+
+    @Override
+    public Instant getCreationTime() {
+        return this.delegate.getCreationTime();
+    }
+
+    @Override
+    public void setLastAccessedTime(Instant lastAccessedTime) {
+        this.delegate.setLastAccessedTime(lastAccessedTime);
+    }
+
+    @Override
+    public Instant getLastAccessedTime() {
+        return this.delegate.getLastAccessedTime();
+    }
+
+    @Override
+    public void setMaxInactiveInterval(Duration interval) {
+        this.delegate.setMaxInactiveInterval(interval);
+    }
+
+    @Override
+    public Duration getMaxInactiveInterval() {
+        return this.delegate.getMaxInactiveInterval();
+    }
+
+    @Override
+    public boolean isExpired() {
+        return this.delegate.isExpired();
+    }
+
+}
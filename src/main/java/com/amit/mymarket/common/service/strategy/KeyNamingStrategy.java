@@ -6,4 +6,20 @@ public interface KeyNamingStrategy {
 
     String buildKey(PathSpecification pathSpecification, String mimeType);
 
+    /**
+     * Builds the key for content whose SHA-256 (lowercase hex) is already known.
+     * Only content-addressed strategies use the hash; the others name the object as usual.
+     */
+    default String buildKey(PathSpecification pathSpecification, String mimeType, String contentHash) {
+        return this.buildKey(pathSpecification, mimeType);
+    }
+
+    /**
+     * Whether equal content always maps to the same key. Storage then hashes the content before
+     * choosing the key and skips writing objects that already exist.
+     */
+    default boolean isContentAddressed() {
+        return false;
+    }
+
 }
@@ -41,6 +41,32 @@ public enum KeyNamingStrategyEnum implements KeyNamingStrategy {
             String extension = extensionByMime(mimeType);
             return "%s-%s.%s".formatted(UUID.randomUUID(), pathSpecification.variant(), extension);
         }
+    },
+
+    /**
+     * Content-addressed structure, shared by every owner uploading the same bytes:
+     * namespace/{sha256}.ext
+     * Example: items/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.jpg
+     * Without a known content hash it falls back to the default structure.
+     */
+    CONTENT_HASH_STRATEGY {
+        @Override
+        public String buildKey(PathSpecification pathSpecification, String mimeType) {
+            return DEFAULT_STRATEGY.buildKey(pathSpecification, mimeType);
+        }
+
+        @Override
+        public String buildKey(PathSpecification pathSpecification, String mimeType, String contentHash) {
+            if (contentHash == null || contentHash.isBlank()) {
+                return this.buildKey(pathSpecification, mimeType);
+            }
+            return "%s/%s.%s".formatted(pathSpecification.namespace(), contentHash, extensionByMime(mimeType));
+        }
+
+        @Override
+        public boolean isContentAddressed() {
+            return true;
+        }
     };
 
     private static final Map<String, String> EXTENSION_BY_MIME = Map.of(
@@ -0,0 +1,44 @@
+package com.amit.mymarket.common.service.type;
+
+public enum ImageVariant {
+
+    THUMB("thumb", 200),
+
+    CARD("card", 600),
+
+    ORIGINAL("original", 0);
+
+    private final String key;
+
+    private final int maxDimension;
+
+    ImageVariant(String key, int maxDimension) {
+        this.key = key;
+        this.maxDimension = maxDimension;
+    }
+
+    public String key() {
+        return this.key;
+    }
+
+    /**
+     * Longest side in pixels the variant is scaled down to, 0 for the uploaded image itself.
+     */
+    public int maxDimension() {
+        return this.maxDimension;
+    }
+
+    public boolean isResized() {
+        return this.maxDimension > 0;
+    }
+
+    public static ImageVariant fromKey(String key) {
+        for (ImageVariant variant : values()) {
+            if (variant.key.equalsIgnoreCase(key)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+}
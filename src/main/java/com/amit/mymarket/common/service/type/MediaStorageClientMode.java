@@ -0,0 +1,15 @@
+package com.amit.mymarket.common.service.type;
+
+public enum MediaStorageClientMode {
+
+    /**
+     * MinIO SDK client (OkHttp); every call occupies a boundedElastic thread until it completes.
+     */
+    BLOCKING,
+
+    /**
+     * S3 API over a non-blocking WebClient with SigV4 signing; no thread is held while waiting on MinIO.
+     */
+    REACTIVE
+
+}
@@ -0,0 +1,15 @@
+package com.amit.mymarket.common.service.type;
+
+public enum SessionStoreMode {
+
+    /**
+     * Sessions live in the heap of a single node; they are lost on restart and not shared between nodes.
+     */
+    MEMORY,
+
+    /**
+     * Sessions are stored in an UNLOGGED Postgres table shared by all nodes.
+     */
+    POSTGRES
+
+}
@@ -0,0 +1,147 @@
+package com.amit.mymarket.common.service.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+
+public final class ImageResizer {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private static final byte[] RIFF_SIGNATURE = "RIFF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] WEBP_SIGNATURE = "WEBP".getBytes(StandardCharsets.US_ASCII);
+
+    public static BufferedImage decode(byte[] content) throws IOException {
+        return decode(content, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reads the dimensions from the image header first and refuses to decode images with more
+     * than maxPixels pixels: the decoded raster takes four bytes per pixel whatever the file size.
+     */
+    public static BufferedImage decode(byte[] content, long maxPixels) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IllegalArgumentException("Image has " + pixels + " pixels, at most " + maxPixels + " are allowed");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * WebP is an accepted upload type but the JDK ships no reader for it.
+     */
+    public static boolean isWebp(byte[] content) {
+        return content.length >= 12
+                && Arrays.equals(content, 0, 4, RIFF_SIGNATURE, 0, 4)
+                && Arrays.equals(content, 8, 12, WEBP_SIGNATURE, 0, 4);
+    }
+
+    /**
+     * Scales the image down so that its longest side fits maxDimension, keeping the aspect ratio.
+     * Returns empty when the image already fits: the original is then served for that variant.
+     * Opaque images are written as JPEG, images with transparency as PNG.
+     */
+    public static Optional<ResizedImage> resize(BufferedImage source, int maxDimension) throws IOException {
+        int longestSide = Math.max(source.getWidth(), source.getHeight());
+        if (maxDimension <= 0 || longestSide <= maxDimension) {
+            return Optional.empty();
+        }
+
+        double scale = (double) maxDimension / longestSide;
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        boolean hasAlpha = source.getColorModel().hasAlpha();
+
+        BufferedImage scaled = scale(source, targetWidth, targetHeight, hasAlpha);
+        return Optional.of(hasAlpha
+                ? new ResizedImage(writePng(scaled), "image/png", targetWidth, targetHeight)
+                : new ResizedImage(writeJpeg(scaled), "image/jpeg", targetWidth, targetHeight));
+    }
+
+    /**
+     * Halves the image step by step before the final bilinear pass; a single bilinear
+     * pass over a large reduction samples too few source pixels and aliases.
+     */
+    private static BufferedImage scale(BufferedImage source, int targetWidth, int targetHeight, boolean hasAlpha) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height, hasAlpha);
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean hasAlpha) {
+        BufferedImage target = new BufferedImage(width, height, hasAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] writePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+    private static byte[] writeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    public record ResizedImage(byte[] content, String mimeType, int width, int height) {
+    }
+
+    private ImageResizer() {
+        throw new UnsupportedOperationException();
+    }
+
+}
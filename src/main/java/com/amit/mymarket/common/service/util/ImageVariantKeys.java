@@ -0,0 +1,61 @@
+package com.amit.mymarket.common.service.util;
+
+import com.amit.mymarket.common.service.type.ImageVariant;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Codec for the img_variants column: storage keys of generated variants as "thumb=key,card=key".
+ * Storage keys never contain ',' or '=', so no escaping is needed.
+ */
+public final class ImageVariantKeys {
+
+    private static final String ENTRY_SEPARATOR = ",";
+
+    private static final String KEY_SEPARATOR = "=";
+
+    public static Map<ImageVariant, String> parse(String imageVariants) {
+        Map<ImageVariant, String> variantKeys = new EnumMap<>(ImageVariant.class);
+        if (imageVariants == null || imageVariants.isBlank()) {
+            return variantKeys;
+        }
+        for (String entry : imageVariants.split(ENTRY_SEPARATOR)) {
+            int separatorIndex = entry.indexOf(KEY_SEPARATOR);
+            if (separatorIndex <= 0 || separatorIndex == entry.length() - 1) {
+                continue;
+            }
+            ImageVariant variant = ImageVariant.fromKey(entry.substring(0, separatorIndex).trim());
+            if (variant != null) {
+                variantKeys.put(variant, entry.substring(separatorIndex + 1).trim());
+            }
+        }
+        return variantKeys;
+    }
+
+    public static String format(Map<ImageVariant, String> variantKeys) {
+        if (variantKeys == null || variantKeys.isEmpty()) {
+            return null;
+        }
+        return new EnumMap<>(variantKeys).entrySet().stream()
+                .map(entry -> entry.getKey().key() + KEY_SEPARATOR + entry.getValue())
+                .collect(Collectors.joining(ENTRY_SEPARATOR));
+    }
+
+    /**
+     * Picks the key of the requested variant, falling back to the original image
+     * while variants have not been generated yet (or could not be generated at all).
+     */
+    public static String resolve(String originalKey, String imageVariants, ImageVariant variant) {
+        if (originalKey == null || variant == null || !variant.isResized()) {
+            return originalKey;
+        }
+        return parse(imageVariants).getOrDefault(variant, originalKey);
+    }
+
+    private ImageVariantKeys() {
+        throw new UnsupportedOperationException();
+    }
+
+}
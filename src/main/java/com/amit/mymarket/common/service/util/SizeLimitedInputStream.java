@@ -0,0 +1,71 @@
+package com.amit.mymarket.common.service.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts bytes as they are read and fails the read that goes past the limit,
+ * so an oversized upload is rejected without ever being held in memory.
+ * A non-positive limit disables the check, like in {@link MediaFileValidator#validateFileSize}.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+
+    private long bytesRead;
+
+    private boolean limitExceeded;
+
+    public SizeLimitedInputStream(InputStream inputStream, long maxBytes) {
+        super(inputStream);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value != -1) {
+            this.count(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int readCount = super.read(buffer, offset, length);
+        if (readCount > 0) {
+            this.count(readCount);
+        }
+        return readCount;
+    }
+
+    @Override
+    public long skip(long length) throws IOException {
+        long skipped = super.skip(length);
+        this.count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    public long getBytesRead() {
+        return this.bytesRead;
+    }
+
+    public boolean isLimitExceeded() {
+        return this.limitExceeded;
+    }
+
+    private void count(long readCount) throws IOException {
+        this.bytesRead += readCount;
+        if (this.maxBytes > 0 && this.bytesRead > this.maxBytes) {
+            this.limitExceeded = true;
+            throw new IOException("File exceeds size limit: " + this.bytesRead);
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.amit.mymarket.common.util;
+
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+public final class TransactionUtils {
+
+    /**
+     * Runs the action once the surrounding reactive transaction commits, or immediately without one.
+     * In-memory views of the items table must never observe rows that may still be rolled back.
+     */
+    public static Mono<Void> afterCommit(Runnable action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(transactionSynchronizationManager -> {
+                    if (!transactionSynchronizationManager.isSynchronizationActive()) {
+                        return Mono.<Void>fromRunnable(action);
+                    }
+                    transactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.fromRunnable(action);
+                        }
+                    });
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, exception -> Mono.fromRunnable(action));
+    }
+
+    private TransactionUtils() {
+        throw new UnsupportedOperationException();
+    }
+
+}
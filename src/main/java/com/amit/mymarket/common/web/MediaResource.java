@@ -0,0 +1,102 @@
+package com.amit.mymarket.common.web;
+
+import com.amit.mymarket.common.configuration.MediaCacheProperties;
+import com.amit.mymarket.common.exception.ResourceNotFoundException;
+import com.amit.mymarket.common.service.cache.CachedMediaFile;
+import com.amit.mymarket.common.service.cache.MediaFileCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Serves media objects through the local disk cache. The file is written with zero-copy file transfer
+ * where the server supports it, and is held in the cache until the write has finished, so an eviction
+ * in the meantime cannot delete it under the response.
+ */
+@Controller
+public class MediaResource {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final MediaFileCache mediaFileCache;
+
+    private final CacheControl cacheControl;
+
+    @Autowired
+    public MediaResource(MediaFileCache mediaFileCache, MediaCacheProperties mediaCacheProperties) {
+        this.mediaFileCache = mediaFileCache;
+        this.cacheControl = CacheControl.maxAge(mediaCacheProperties.maxAge()).cachePublic().immutable();
+    }
+
+    @GetMapping(path = "/media/{*key}")
+    public Mono<Void> getMedia(@PathVariable(name = "key") String key,
+                               @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) List<String> ifNoneMatch,
+                               ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        String objectKey = key.startsWith("/") ? key.substring(1) : key;
+        if (!this.mediaFileCache.isEnabled() || objectKey.isBlank()) {
+            return notFound(response);
+        }
+
+        return this.mediaFileCache.acquire(objectKey)
+                .flatMap(cachedMediaFile -> this.writeResponse(cachedMediaFile, ifNoneMatch, response)
+                        .doFinally(signalType -> this.mediaFileCache.release(cachedMediaFile)))
+                .onErrorResume(ResourceNotFoundException.class, exception -> notFound(response));
+    }
+
+    private Mono<Void> writeResponse(CachedMediaFile cachedMediaFile, List<String> ifNoneMatch, ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cachedMediaFile.etag());
+        headers.setCacheControl(this.cacheControl);
+        if (matchesEtag(cachedMediaFile.etag(), ifNoneMatch)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        headers.setContentType(cachedMediaFile.mediaType());
+        headers.setContentLength(cachedMediaFile.size());
+        if (response instanceof ZeroCopyHttpOutputMessage zeroCopyResponse) {
+            return zeroCopyResponse.writeWith(cachedMediaFile.path(), 0, cachedMediaFile.size());
+        }
+        return response.writeWith(DataBufferUtils.read(cachedMediaFile.path(), response.bufferFactory(), READ_BUFFER_SIZE));
+    }
+
+    private static Mono<Void> notFound(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.NOT_FOUND);
+        return response.setComplete();
+    }
+
+    /**
+     * If-None-Match uses weak comparison, so a W/ prefix on the client's tag still matches.
+     */
+    private static boolean matchesEtag(String etag, List<String> ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String header : ifNoneMatch) {
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.amit.mymarket.item.api;
 
+import com.amit.mymarket.cart.api.identity.CartIdentityResolver;
 import com.amit.mymarket.item.api.dto.MutateItemForm;
 import com.amit.mymarket.item.api.type.ItemAction;
 import com.amit.mymarket.item.service.type.SortType;
@@ -8,7 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.result.view.Rendering;
-import org.springframework.web.server.WebSession;
+import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
@@ -18,9 +19,12 @@ public class ItemResource {
 
     private final ItemUseCase itemUseCase;
 
+    private final CartIdentityResolver cartIdentityResolver;
+
     @Autowired
-    public ItemResource(ItemUseCase itemUseCase) {
+    public ItemResource(ItemUseCase itemUseCase, CartIdentityResolver cartIdentityResolver) {
         this.itemUseCase = itemUseCase;
+        this.cartIdentityResolver = cartIdentityResolver;
     }
 
     @GetMapping
@@ -28,11 +32,10 @@ public class ItemResource {
                                           @RequestParam(name = "sort", defaultValue = "NO") SortType sort,
                                           @RequestParam(name = "pageNumber", defaultValue = "1") int pageNumber,
                                           @RequestParam(name = "pageSize", defaultValue = "5") int pageSize,
-                                          WebSession webSession) {
-
-        webSession.getAttributes().put("init", true);
-
-        return this.itemUseCase.getCatalogPage(webSession.getId(), search, sort, pageNumber, pageSize)
+                                          @RequestParam(name = "cursor", required = false) String cursor,
+                                          ServerWebExchange exchange) {
+        return this.cartIdentityResolver.resolve(exchange)
+                .flatMap(cartIdentity -> this.itemUseCase.getCatalogPage(cartIdentity.key(), search, sort, cursor, pageNumber, pageSize))
                 .map(catalogPageDto ->
                         Rendering.view("item/items-view")
                                 .modelAttribute("items", catalogPageDto.items())
@@ -43,35 +46,37 @@ public class ItemResource {
                 );
     }
 
+    /**
+     * The first cart mutation is what establishes the visitor's cart identity; until then browsing leaves nothing behind.
+     */
     @PostMapping
     public Mono<Rendering> mutateItemFromItemsPage(@ModelAttribute MutateItemForm form,
-                                                   WebSession webSession) {
-        webSession.getAttributes().put("init", true);
-
+                                                   ServerWebExchange exchange) {
         Long id = form.id();
         ItemAction action = form.action();
         String search = form.search();
         SortType sort = form.sort() != null ? form.sort() : SortType.NO;
         int pageNumber = form.pageNumber() != null ? form.pageNumber() : 1;
         int pageSize = form.pageSize() != null ? form.pageSize() : 5;
+        String cursor = form.cursor();
 
         String redirectUrl = UriComponentsBuilder.fromPath("/items")
                 .queryParam("search", search)
                 .queryParam("sort", sort)
                 .queryParam("pageNumber", pageNumber)
                 .queryParam("pageSize", pageSize)
+                .queryParam("cursor", cursor)
                 .build()
                 .toString();
-        return this.itemUseCase.mutateItem(webSession.getId(), id, action)
+        return this.cartIdentityResolver.establish(exchange)
+                .flatMap(cartIdentity -> this.itemUseCase.mutateItem(cartIdentity.key(), id, action))
                 .thenReturn(Rendering.redirectTo(redirectUrl).build());
     }
 
     @GetMapping(path = "/{id}")
-    public Mono<Rendering> getItemPage(@PathVariable(name = "id") long id, WebSession webSession) {
-
-        webSession.getAttributes().put("init", true);
-
-        return this.itemUseCase.getItem(webSession.getId(), id)
+    public Mono<Rendering> getItemPage(@PathVariable(name = "id") long id, ServerWebExchange exchange) {
+        return this.cartIdentityResolver.resolve(exchange)
+                .flatMap(cartIdentity -> this.itemUseCase.getItem(cartIdentity.key(), id))
                 .map(itemInfoView ->
                         Rendering.view("item/item-view")
                                 .modelAttribute("item", itemInfoView)
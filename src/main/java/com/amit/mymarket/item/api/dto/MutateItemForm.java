@@ -9,5 +9,6 @@ public record MutateItemForm(
         String search,
         SortType sort,
         Integer pageNumber,
-        Integer pageSize) {
+        Integer pageSize,
+        String cursor) {
 }
@@ -4,5 +4,8 @@ public record Paging(
         int pageSize,
         int pageNumber,
         boolean hasPrevious,
-        boolean hasNext) {
+        boolean hasNext,
+        String cursor,
+        String previousCursor,
+        String nextCursor) {
 }
@@ -2,12 +2,14 @@ package com.amit.mymarket.item.api.mapper;
 
 import com.amit.mymarket.cart.repository.projection.CartItemRow;
 import com.amit.mymarket.common.service.MediaUrlResolver;
+import com.amit.mymarket.common.service.type.ImageVariant;
 import com.amit.mymarket.common.util.PriceFormatter;
 import com.amit.mymarket.item.api.dto.CreateItemForm;
 import com.amit.mymarket.item.api.dto.ItemInfoView;
 import com.amit.mymarket.item.api.dto.ItemView;
 import com.amit.mymarket.item.api.dto.UpdateItemForm;
 import com.amit.mymarket.item.entity.Item;
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -45,7 +47,7 @@ public final class DefaultItemMapper implements ItemMapper {
                 item.getId(),
                 item.getTitle(),
                 item.getDescription(),
-                this.mediaUrlResolver.buildPublicUrl(item.getImagePath()),
+                this.mediaUrlResolver.buildVariantUrl(item.getImagePath(), item.getImageVariants(), ImageVariant.ORIGINAL),
                 PriceFormatter.formatPrice(item.getPriceMinor())
         );
     }
@@ -56,7 +58,7 @@ public final class DefaultItemMapper implements ItemMapper {
                 item.getId(),
                 item.getTitle(),
                 item.getDescription(),
-                this.mediaUrlResolver.buildPublicUrl(item.getImagePath()),
+                this.mediaUrlResolver.buildVariantUrl(item.getImagePath(), item.getImageVariants(), ImageVariant.CARD),
                 PriceFormatter.formatPrice(item.getPriceMinor()),
                 quantity
         );
@@ -68,10 +70,22 @@ public final class DefaultItemMapper implements ItemMapper {
                 cartItemRow.id(),
                 cartItemRow.title(),
                 cartItemRow.description(),
-                this.mediaUrlResolver.buildPublicUrl(cartItemRow.imagePath()),
+                this.mediaUrlResolver.buildVariantUrl(cartItemRow.imagePath(), cartItemRow.imageVariants(), ImageVariant.THUMB),
                 PriceFormatter.formatPrice(cartItemRow.priceMinor()),
                 cartItemRow.quantity()
         );
     }
 
+    @Override
+    public ItemInfoView toItemInfoView(ItemWithQuantity itemWithQuantity) {
+        return new ItemInfoView(
+                itemWithQuantity.id(),
+                itemWithQuantity.title(),
+                itemWithQuantity.description(),
+                this.mediaUrlResolver.buildVariantUrl(itemWithQuantity.imagePath(), itemWithQuantity.imageVariants(), ImageVariant.CARD),
+                PriceFormatter.formatPrice(itemWithQuantity.priceMinor()),
+                itemWithQuantity.quantity() != null ? itemWithQuantity.quantity() : 0
+        );
+    }
+
 }
@@ -6,6 +6,7 @@ import com.amit.mymarket.item.api.dto.ItemInfoView;
 import com.amit.mymarket.item.api.dto.ItemView;
 import com.amit.mymarket.item.api.dto.UpdateItemForm;
 import com.amit.mymarket.item.entity.Item;
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
 
 public interface ItemMapper {
 
@@ -19,4 +20,6 @@ public interface ItemMapper {
 
     ItemInfoView toItemInfoView(CartItemRow cartItemRow);
 
+    ItemInfoView toItemInfoView(ItemWithQuantity itemWithQuantity);
+
 }
@@ -0,0 +1,27 @@
+package com.amit.mymarket.item.configuration;
+
+import com.amit.mymarket.item.service.cache.CatalogPageCache;
+import com.amit.mymarket.item.service.cache.CatalogPageCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(value = CatalogPageCacheProperties.class)
+public class CatalogPageCacheConfiguration {
+
+    @Bean
+    public CatalogPageCache catalogPageCache(CatalogPageCacheProperties catalogPageCacheProperties) {
+        return new CatalogPageCache(
+                catalogPageCacheProperties.enabled(),
+                catalogPageCacheProperties.maxEntries(),
+                catalogPageCacheProperties.ttl()
+        );
+    }
+
+    @Bean
+    public CatalogPageCacheMetrics catalogPageCacheMetrics(CatalogPageCache catalogPageCache) {
+        return new CatalogPageCacheMetrics(catalogPageCache);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.amit.mymarket.item.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(value = "catalog.page-cache")
+public record CatalogPageCacheProperties(
+
+        @Value(value = "enabled")
+        boolean enabled,
+
+        @Value(value = "max-entries")
+        int maxEntries,
+
+        @Value(value = "ttl")
+        Duration ttl) {
+}
@@ -0,0 +1,25 @@
+package com.amit.mymarket.item.configuration;
+
+import com.amit.mymarket.item.repository.ItemRepository;
+import com.amit.mymarket.item.service.strategy.CatalogSearchStrategy;
+import com.amit.mymarket.item.service.strategy.IlikeCatalogSearchStrategy;
+import com.amit.mymarket.item.service.strategy.TrigramCatalogSearchStrategy;
+import com.amit.mymarket.item.service.type.CatalogSearchMode;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(value = CatalogSearchProperties.class)
+public class CatalogSearchConfiguration {
+
+    @Bean
+    public CatalogSearchStrategy catalogSearchStrategy(ItemRepository itemRepository,
+                                                       CatalogSearchProperties catalogSearchProperties) {
+        if (catalogSearchProperties.mode() == CatalogSearchMode.ILIKE) {
+            return new IlikeCatalogSearchStrategy(itemRepository);
+        }
+        return new TrigramCatalogSearchStrategy(itemRepository);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.amit.mymarket.item.configuration;
+
+import com.amit.mymarket.item.service.type.CatalogSearchMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(value = "catalog.search")
+public record CatalogSearchProperties(
+
+        @Value(value = "mode")
+        CatalogSearchMode mode) {
+}
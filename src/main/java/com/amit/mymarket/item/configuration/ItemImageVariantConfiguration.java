@@ -0,0 +1,49 @@
+package com.amit.mymarket.item.configuration;
+
+import com.amit.mymarket.common.service.MediaStorageService;
+import com.amit.mymarket.common.service.metrics.SchedulerMetrics;
+import com.amit.mymarket.item.repository.ItemRepository;
+import com.amit.mymarket.item.service.cache.CatalogPageCache;
+import com.amit.mymarket.item.service.image.ItemImageCleaner;
+import com.amit.mymarket.item.service.image.ItemImageVariantGenerator;
+import com.amit.mymarket.item.service.snapshot.ItemSnapshotStore;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+@Configuration
+@EnableConfigurationProperties(value = ItemImageVariantProperties.class)
+public class ItemImageVariantConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ItemImageVariantGenerator itemImageVariantGenerator(ItemRepository itemRepository,
+                                                               MediaStorageService mediaStorageService,
+                                                               CatalogPageCache catalogPageCache,
+                                                               ItemSnapshotStore itemSnapshotStore,
+                                                               ItemImageCleaner itemImageCleaner,
+                                                               TransactionalOperator transactionalOperator,
+                                                               ItemImageVariantProperties itemImageVariantProperties) {
+        return new ItemImageVariantGenerator(
+                itemRepository,
+                mediaStorageService,
+                catalogPageCache,
+                itemSnapshotStore,
+                itemImageCleaner,
+                transactionalOperator,
+                itemImageVariantProperties.enabled(),
+                itemImageVariantProperties.maxSourceBytes(),
+                itemImageVariantProperties.maxSourcePixels(),
+                ItemImageVariantGenerator.newScheduler(
+                        itemImageVariantProperties.workerThreads(),
+                        itemImageVariantProperties.queueSize()
+                )
+        );
+    }
+
+    @Bean
+    public SchedulerMetrics itemImageVariantSchedulerMetrics(ItemImageVariantGenerator itemImageVariantGenerator) {
+        return new SchedulerMetrics("item-image-variants", itemImageVariantGenerator.getScheduler());
+    }
+
+}
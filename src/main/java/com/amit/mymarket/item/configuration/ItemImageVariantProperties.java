@@ -0,0 +1,23 @@
+package com.amit.mymarket.item.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(value = "catalog.image-variants")
+public record ItemImageVariantProperties(
+
+        @Value(value = "enabled")
+        boolean enabled,
+
+        @Value(value = "worker-threads")
+        int workerThreads,
+
+        @Value(value = "queue-size")
+        int queueSize,
+
+        @Value(value = "max-source-bytes")
+        int maxSourceBytes,
+
+        @Value(value = "max-source-pixels")
+        long maxSourcePixels) {
+}
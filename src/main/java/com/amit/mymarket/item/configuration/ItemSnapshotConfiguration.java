@@ -0,0 +1,39 @@
+package com.amit.mymarket.item.configuration;
+
+import com.amit.mymarket.item.repository.ItemRepository;
+import com.amit.mymarket.item.service.snapshot.ItemSnapshotStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(value = ItemSnapshotProperties.class)
+public class ItemSnapshotConfiguration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemSnapshotConfiguration.class);
+
+    @Bean
+    public ItemSnapshotStore itemSnapshotStore(ItemRepository itemRepository,
+                                               ItemSnapshotProperties itemSnapshotProperties) {
+        return new ItemSnapshotStore(
+                itemRepository,
+                itemSnapshotProperties.enabled(),
+                itemSnapshotProperties.shards(),
+                itemSnapshotProperties.collationLocale()
+        );
+    }
+
+    /**
+     * Loads the snapshot in the background; until it is ready the catalog keeps being served by the database.
+     */
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> itemSnapshotLoader(ItemSnapshotStore itemSnapshotStore) {
+        return event -> itemSnapshotStore.reload()
+                .subscribe(null, exception -> LOGGER.error("Failed to load item snapshot", exception));
+    }
+
+}
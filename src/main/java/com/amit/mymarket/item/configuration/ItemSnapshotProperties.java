@@ -0,0 +1,19 @@
+package com.amit.mymarket.item.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Locale;
+
+@ConfigurationProperties(value = "catalog.snapshot")
+public record ItemSnapshotProperties(
+
+        @Value(value = "enabled")
+        boolean enabled,
+
+        @Value(value = "shards")
+        int shards,
+
+        @Value(value = "collation-locale")
+        Locale collationLocale) {
+}
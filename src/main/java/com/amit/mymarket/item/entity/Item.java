@@ -21,6 +21,9 @@ public class Item {
     @Column(value = "img_path")
     private String imagePath;
 
+    @Column(value = "img_variants")
+    private String imageVariants;
+
     @Column(value = "price_minor")
     private Long priceMinor;
 
@@ -64,6 +67,14 @@ public class Item {
         this.imagePath = imagePath;
     }
 
+    public String getImageVariants() {
+        return this.imageVariants;
+    }
+
+    public void setImageVariants(String imageVariants) {
+        this.imageVariants = imageVariants;
+    }
+
     public Long getPriceMinor() {
         return this.priceMinor;
     }
@@ -82,6 +93,7 @@ public class Item {
                 && Objects.equals(this.title, otherItem.title)
                 && Objects.equals(this.description, otherItem.description)
                 && Objects.equals(this.imagePath, otherItem.imagePath)
+                && Objects.equals(this.imageVariants, otherItem.imageVariants)
                 && Objects.equals(this.priceMinor, otherItem.priceMinor);
     }
 
@@ -97,6 +109,7 @@ public class Item {
                 ", title='" + this.title +
                 ", description='" + (this.description != null ? this.description.substring(0, Math.min(this.description.length(), 50)) + "..." : null) +
                 ", imagePath='" + this.imagePath +
+                ", imageVariants='" + this.imageVariants +
                 ", priceMinor=" + this.priceMinor +
                 '}';
     }
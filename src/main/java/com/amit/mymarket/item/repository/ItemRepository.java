@@ -2,11 +2,13 @@ package com.amit.mymarket.item.repository;
 
 import com.amit.mymarket.item.entity.Item;
 import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+@Timed(value = "market.repository", histogram = true)
 public interface ItemRepository extends ReactiveCrudRepository<Item, Long> {
 
     @Query(value = """
@@ -14,6 +16,7 @@ public interface ItemRepository extends ReactiveCrudRepository<Item, Long> {
                    items.title       as title,
                    items.description as description,
                    items.img_path    as image_path,
+                   items.img_variants as image_variants,
                    items.price_minor as price_minor,
                    coalesce(carts_items.quantity, 0) as quantity
             from shop.items
@@ -42,6 +45,192 @@ public interface ItemRepository extends ReactiveCrudRepository<Item, Long> {
                    items.title       as title,
                    items.description as description,
                    items.img_path    as image_path,
+                   items.img_variants as image_variants,
+                   items.price_minor as price_minor,
+                   coalesce(carts_items.quantity, 0) as quantity
+            from shop.items
+            left join shop.carts on carts.session_id = :sessionId and carts.status = 'ACTIVE'
+            left join shop.carts_items on carts_items.cart_id = carts.id and carts_items.item_id = items.id
+            where items.title ilike concat('%', :search, '%')
+               or items.description ilike concat('%', :search, '%')
+            order by
+              greatest(word_similarity(:search, items.title), word_similarity(:search, items.description) * 0.5) desc,
+              items.id asc
+            limit :limit
+            offset :offset
+            """)
+    Flux<ItemWithQuantity> searchItemsWithQuantityByRelevance(
+            String sessionId,
+            String search,
+            long limit,
+            long offset
+    );
+
+    @Query(value = """
+            select exists(select 1 from pg_extension where extname = 'pg_trgm')
+            """)
+    Mono<Boolean> isTrigramExtensionInstalled();
+
+    @Query(value = """
+            select items.id          as id,
+                   items.title       as title,
+                   items.description as description,
+                   items.img_path    as image_path,
+                   items.img_variants as image_variants,
+                   items.price_minor as price_minor,
+                   coalesce(carts_items.quantity, 0) as quantity
+            from shop.items
+            left join shop.carts on carts.session_id = :sessionId and carts.status = 'ACTIVE'
+            left join shop.carts_items on carts_items.cart_id = carts.id and carts_items.item_id = items.id
+            where (:search is null
+                   or items.title ilike concat('%', :search, '%')
+                   or items.description ilike concat('%', :search, '%'))
+              and items.id > :id
+            order by items.id asc
+            limit :limit
+            """)
+    Flux<ItemWithQuantity> searchItemsWithQuantityAfterId(
+            String sessionId,
+            String search,
+            long id,
+            long limit
+    );
+
+    @Query(value = """
+            select items.id          as id,
+                   items.title       as title,
+                   items.description as description,
+                   items.img_path    as image_path,
+                   items.img_variants as image_variants,
+                   items.price_minor as price_minor,
+                   coalesce(carts_items.quantity, 0) as quantity
+            from shop.items
+            left join shop.carts on carts.session_id = :sessionId and carts.status = 'ACTIVE'
+            left join shop.carts_items on carts_items.cart_id = carts.id and carts_items.item_id = items.id
+            where (:search is null
+                   or items.title ilike concat('%', :search, '%')
+                   or items.description ilike concat('%', :search, '%'))
+              and items.id < :id
+            order by items.id desc
+            limit :limit
+            """)
+    Flux<ItemWithQuantity> searchItemsWithQuantityBeforeId(
+            String sessionId,
+            String search,
+            long id,
+            long limit
+    );
+
+    @Query(value = """
+            select items.id          as id,
+                   items.title       as title,
+                   items.description as description,
+                   items.img_path    as image_path,
+                   items.img_variants as image_variants,
+                   items.price_minor as price_minor,
+                   coalesce(carts_items.quantity, 0) as quantity
+            from shop.items
+            left join shop.carts on carts.session_id = :sessionId and carts.status = 'ACTIVE'
+            left join shop.carts_items on carts_items.cart_id = carts.id and carts_items.item_id = items.id
+            where (:search is null
+                   or items.title ilike concat('%', :search, '%')
+                   or items.description ilike concat('%', :search, '%'))
+              and (lower(items.title), items.id) > (lower(:title), :id)
+            order by lower(items.title) asc, items.id asc
+            limit :limit
+            """)
+    Flux<ItemWithQuantity> searchItemsWithQuantityAfterTitle(
+            String sessionId,
+            String search,
+            String title,
+            long id,
+            long limit
+    );
+
+    @Query(value = """
+            select items.id          as id,
+                   items.title       as title,
+                   items.description as description,
+                   items.img_path    as image_path,
+                   items.img_variants as image_variants,
+                   items.price_minor as price_minor,
+                   coalesce(carts_items.quantity, 0) as quantity
+            from shop.items
+            left join shop.carts on carts.session_id = :sessionId and carts.status = 'ACTIVE'
+            left join shop.carts_items on carts_items.cart_id = carts.id and carts_items.item_id = items.id
+            where (:search is null
+                   or items.title ilike concat('%', :search, '%')
+                   or items.description ilike concat('%', :search, '%'))
+              and (lower(items.title), items.id) < (lower(:title), :id)
+            order by lower(items.title) desc, items.id desc
+            limit :limit
+            """)
+    Flux<ItemWithQuantity> searchItemsWithQuantityBeforeTitle(
+            String sessionId,
+            String search,
+            String title,
+            long id,
+            long limit
+    );
+
+    @Query(value = """
+            select items.id          as id,
+                   items.title       as title,
+                   items.description as description,
+                   items.img_path    as image_path,
+                   items.img_variants as image_variants,
+                   items.price_minor as price_minor,
+                   coalesce(carts_items.quantity, 0) as quantity
+            from shop.items
+            left join shop.carts on carts.session_id = :sessionId and carts.status = 'ACTIVE'
+            left join shop.carts_items on carts_items.cart_id = carts.id and carts_items.item_id = items.id
+            where (:search is null
+                   or items.title ilike concat('%', :search, '%')
+                   or items.description ilike concat('%', :search, '%'))
+              and (items.price_minor, items.id) > (:priceMinor, :id)
+            order by items.price_minor asc, items.id asc
+            limit :limit
+            """)
+    Flux<ItemWithQuantity> searchItemsWithQuantityAfterPrice(
+            String sessionId,
+            String search,
+            long priceMinor,
+            long id,
+            long limit
+    );
+
+    @Query(value = """
+            select items.id          as id,
+                   items.title       as title,
+                   items.description as description,
+                   items.img_path    as image_path,
+                   items.img_variants as image_variants,
+                   items.price_minor as price_minor,
+                   coalesce(carts_items.quantity, 0) as quantity
+            from shop.items
+            left join shop.carts on carts.session_id = :sessionId and carts.status = 'ACTIVE'
+            left join shop.carts_items on carts_items.cart_id = carts.id and carts_items.item_id = items.id
+            where (:search is null
+                   or items.title ilike concat('%', :search, '%')
+                   or items.description ilike concat('%', :search, '%'))
+              and (items.price_minor, items.id) < (:priceMinor, :id)
+            order by items.price_minor desc, items.id desc
+            limit :limit
+            """)
+    Flux<ItemWithQuantity> searchItemsWithQuantityBeforePrice(
+            String sessionId,
+            String search,
+            long priceMinor,
+            long id,
+            long limit
+    );
+
+    @Query(value = """
+            select items.id          as id,
+                   items.title       as title,
+                   items.description as description,
+                   items.img_path    as image_path,
+                   items.img_variants as image_variants,
                    items.price_minor as price_minor,
                    coalesce(carts_items.quantity, 0) as quantity
             from shop.items
@@ -60,4 +249,38 @@ public interface ItemRepository extends ReactiveCrudRepository<Item, Long> {
             """)
     Mono<Long> countItemsBySearchQuery(String search);
 
+    /**
+     * Attaches generated variant keys only while the item still points at the image they were made from,
+     * so a late generation can never overwrite the variants of a newer image.
+     */
+    @Query(value = """
+            update shop.items
+               set img_variants = :imageVariants
+             where id = :itemId
+               and img_path = :imagePath
+            """)
+    Mono<Integer> updateImageVariants(long itemId, String imagePath, String imageVariants);
+
+    /**
+     * Number of items whose image or one of its variants is stored under the key.
+     * With content-addressed keys several items may share one object.
+     */
+    @Query(value = """
+            select count(*)
+            from shop.items
+            where img_path = :key
+               or img_variant_keys @> array[cast(:key as text)]
+            """)
+    Mono<Long> countImageReferences(String key);
+
+    /**
+     * Takes a transaction-scoped advisory lock on the storage key, serializing the reference count and
+     * delete of the cleaner with uploads that reuse the same content-addressed object.
+     */
+    @Query(value = """
+            select 1
+            from pg_advisory_xact_lock(hashtext(:key))
+            """)
+    Mono<Integer> lockImageKey(String key);
+
 }
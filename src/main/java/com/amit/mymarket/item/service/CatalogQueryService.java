@@ -1,7 +1,9 @@
 package com.amit.mymarket.item.service;
 
 import com.amit.mymarket.item.entity.Item;
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
 import com.amit.mymarket.item.service.type.SortType;
+import com.amit.mymarket.item.service.util.CatalogSlice;
 import org.springframework.data.domain.Page;
 import reactor.core.publisher.Mono;
 
@@ -12,9 +14,16 @@ public interface CatalogQueryService {
 
     /**
      * Returns a page of catalog items according to searchQuery/sort/pagination.
-     * No cart quantities are embedded here.
+     * Cart quantities of the session are joined in the same query (0 when absent or session is null).
      */
-    Mono<Page<Item>> getCatalogPage(String searchQuery, SortType sortType, int pageNumber, int pageSize);
+    Mono<Page<ItemWithQuantity>> getCatalogPage(String sessionId, String searchQuery, SortType sortType, int pageNumber, int pageSize);
+
+    /**
+     * Returns a window of catalog items positioned by an opaque keyset cursor (see CatalogCursor).
+     * Without a cursor falls back to pageNumber-based paging; emitted cursors allow seeking further
+     * at constant cost regardless of how deep the window is.
+     */
+    Mono<CatalogSlice> getCatalogSlice(String sessionId, String searchQuery, SortType sortType, String cursor, int pageNumber, int pageSize);
 
     /**
      * Returns the current quantity in cart for a single item of the given session.
@@ -0,0 +1,143 @@
+package com.amit.mymarket.item.service.cache;
+
+import com.amit.mymarket.common.util.TransactionUtils;
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import com.amit.mymarket.item.service.util.CatalogPageRequest;
+import org.springframework.data.domain.Page;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU + TTL cache of session-independent catalog pages keyed by normalized CatalogPageRequest.
+ * Cached rows carry no cart quantities; callers overlay them per session after the lookup.
+ * <p>
+ * The cache is local to the node. Item mutations evict only the node that handled them, so with several
+ * nodes the others keep serving their pages until the TTL expires. Staleness is therefore bounded by the
+ * TTL alone, which is why it defaults to a few seconds.
+ */
+public class CatalogPageCache {
+
+    private final boolean enabled;
+
+    private final int maxEntries;
+
+    private final long ttlMillis;
+
+    private final Clock clock;
+
+    private final LinkedHashMap<CatalogPageRequest, CachedPage> pages = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private long generation;
+
+    public CatalogPageCache(boolean enabled, int maxEntries, Duration ttl) {
+        this(enabled, maxEntries, ttl, Clock.systemUTC());
+    }
+
+    public CatalogPageCache(boolean enabled, int maxEntries, Duration ttl, Clock clock) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Returns the cached page or subscribes to loader and caches its result.
+     * A result is dropped if the cache was invalidated while it was being loaded.
+     */
+    public Mono<Page<ItemWithQuantity>> getOrLoad(CatalogPageRequest catalogPageRequest,
+                                                  Function<CatalogPageRequest, Mono<Page<ItemWithQuantity>>> loader) {
+        return Mono.defer(() -> {
+            long loadGeneration;
+            synchronized (this) {
+                CachedPage cachedPage = this.pages.get(catalogPageRequest);
+                if (cachedPage != null && cachedPage.expiresAtMillis() > this.clock.millis()) {
+                    this.hits.incrementAndGet();
+                    return Mono.just(cachedPage.page());
+                }
+                if (cachedPage != null) {
+                    this.pages.remove(catalogPageRequest);
+                    this.evictions.incrementAndGet();
+                }
+                this.misses.incrementAndGet();
+                loadGeneration = this.generation;
+            }
+            return loader.apply(catalogPageRequest)
+                    .doOnNext(page -> this.put(catalogPageRequest, page, loadGeneration));
+        });
+    }
+
+    /**
+     * Drops every cached page once the surrounding transaction (if any) commits.
+     * Used when a mutation may move items between pages or change what a search matches.
+     */
+    public Mono<Void> evictAll() {
+        return TransactionUtils.afterCommit(this::clear);
+    }
+
+    /**
+     * Drops only pages that contain the item once the surrounding transaction (if any) commits.
+     * Used when a mutation changes neither ordering nor matching, e.g. an image replacement.
+     */
+    public Mono<Void> evictItem(long itemId) {
+        return TransactionUtils.afterCommit(() -> this.removePagesContaining(itemId));
+    }
+
+    public CatalogPageCacheStats stats() {
+        synchronized (this) {
+            return new CatalogPageCacheStats(this.hits.get(), this.misses.get(), this.evictions.get(), this.pages.size());
+        }
+    }
+
+    private synchronized void put(CatalogPageRequest catalogPageRequest, Page<ItemWithQuantity> page, long loadGeneration) {
+        if (loadGeneration != this.generation) {
+            return;
+        }
+        this.pages.put(catalogPageRequest, new CachedPage(page, this.clock.millis() + this.ttlMillis));
+        Iterator<CachedPage> eldest = this.pages.values().iterator();
+        while (this.pages.size() > this.maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            this.evictions.incrementAndGet();
+        }
+    }
+
+    private synchronized void clear() {
+        this.generation++;
+        this.evictions.addAndGet(this.pages.size());
+        this.pages.clear();
+    }
+
+    private synchronized void removePagesContaining(long itemId) {
+        this.generation++;
+        Iterator<Map.Entry<CatalogPageRequest, CachedPage>> entries = this.pages.entrySet().iterator();
+        while (entries.hasNext()) {
+            boolean containsItem = entries.next().getValue().page().getContent().stream()
+                    .anyMatch(itemWithQuantity -> itemWithQuantity.id() != null && itemWithQuantity.id() == itemId);
+            if (containsItem) {
+                entries.remove();
+                this.evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private record CachedPage(Page<ItemWithQuantity> page, long expiresAtMillis) {
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.amit.mymarket.item.service.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the counters of a CatalogPageCache: lookups tagged by hit or miss, evictions and the
+ * current number of pages. Values are read from stats() on every scrape.
+ */
+public class CatalogPageCacheMetrics implements MeterBinder {
+
+    private final CatalogPageCache catalogPageCache;
+
+    public CatalogPageCacheMetrics(CatalogPageCache catalogPageCache) {
+        this.catalogPageCache = catalogPageCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("market.catalog.page.cache.requests", this.catalogPageCache, cache -> cache.stats().hits())
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("market.catalog.page.cache.requests", this.catalogPageCache, cache -> cache.stats().misses())
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("market.catalog.page.cache.evictions", this.catalogPageCache, cache -> cache.stats().evictions())
+                .register(meterRegistry);
+        Gauge.builder("market.catalog.page.cache.size", this.catalogPageCache, cache -> cache.stats().size())
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.amit.mymarket.item.service.cache;
+
+public record CatalogPageCacheStats(
+        long hits,
+        long misses,
+        long evictions,
+        int size) {
+}
@@ -0,0 +1,73 @@
+package com.amit.mymarket.item.service.image;
+
+import com.amit.mymarket.common.exception.ServiceException;
+import com.amit.mymarket.common.service.MediaStorageService;
+import com.amit.mymarket.item.repository.ItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * Deletes stored item images once nothing points at them any more. Content-addressed keys are shared
+ * by every item that uploaded the same bytes, so an object is removed only when the items table holds
+ * no reference to it; callers run this after the row that dropped the reference has been saved.
+ * <p>
+ * An upload that finds the object already stored skips the write, so counting and deleting must not
+ * interleave with such an upload saving its row. Both sides take a per-key advisory lock held until
+ * their transaction ends; keys are locked in sorted order to keep lock acquisition consistent.
+ */
+@Component
+public class ItemImageCleaner {
+
+    private final ItemRepository itemRepository;
+
+    private final MediaStorageService mediaStorageService;
+
+    @Autowired
+    public ItemImageCleaner(ItemRepository itemRepository, MediaStorageService mediaStorageService) {
+        this.itemRepository = itemRepository;
+        this.mediaStorageService = mediaStorageService;
+    }
+
+    @Transactional
+    public Mono<Void> deleteUnreferenced(Collection<String> keys) {
+        return Flux.fromIterable(sortedKeys(keys))
+                .concatMap(key -> this.itemRepository.lockImageKey(key)
+                        .then(this.itemRepository.countImageReferences(key))
+                        .filter(references -> references == 0)
+                        .flatMap(references -> this.mediaStorageService.deleteMediaFile(key)))
+                .then();
+    }
+
+    /**
+     * Locks the keys an item is about to reference and checks they are still stored. Must run in the
+     * transaction that saves the referencing row: until it commits the cleaner cannot delete the objects.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Mono<Void> lockStored(Collection<String> keys) {
+        return Flux.fromIterable(sortedKeys(keys))
+                .concatMap(key -> this.itemRepository.lockImageKey(key)
+                        .then(this.mediaStorageService.mediaFileExists(key))
+                        .filter(exists -> !exists)
+                        .flatMap(exists -> Mono.error(new ServiceException("Stored image was deleted concurrently: " + key))))
+                .then();
+    }
+
+    private static TreeSet<String> sortedKeys(Collection<String> keys) {
+        TreeSet<String> sortedKeys = new TreeSet<>();
+        for (String key : keys) {
+            if (StringUtils.hasText(key)) {
+                sortedKeys.add(key);
+            }
+        }
+        return sortedKeys;
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.amit.mymarket.item.service.image;
+
+import com.amit.mymarket.common.service.MediaStorageService;
+import com.amit.mymarket.common.service.type.ImageVariant;
+import com.amit.mymarket.common.service.util.ImageResizer;
+import com.amit.mymarket.common.service.util.ImageVariantKeys;
+import com.amit.mymarket.common.service.util.PathSpecification;
+import com.amit.mymarket.item.repository.ItemRepository;
+import com.amit.mymarket.item.service.cache.CatalogPageCache;
+import com.amit.mymarket.item.service.snapshot.ItemSnapshotStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Produces the resized variants of an item image in the background once the upload has been stored.
+ * Decoding and scaling run on a dedicated bounded pool, so a burst of uploads queues up there
+ * instead of taking event-loop or shared elastic threads; when the queue is full the item simply
+ * keeps serving its original image. Variant keys are attached only if the item still points at the
+ * image they were generated from, otherwise the freshly written variants are deleted again unless
+ * another item references them. WebP originals are skipped since the JDK cannot decode them, and
+ * originals with more than maxSourcePixels pixels are rejected from their header before decoding.
+ */
+public class ItemImageVariantGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemImageVariantGenerator.class);
+
+    private static final List<ImageVariant> GENERATED_VARIANTS = List.of(ImageVariant.THUMB, ImageVariant.CARD);
+
+    private final ItemRepository itemRepository;
+
+    private final MediaStorageService mediaStorageService;
+
+    private final CatalogPageCache catalogPageCache;
+
+    private final ItemSnapshotStore itemSnapshotStore;
+
+    private final ItemImageCleaner itemImageCleaner;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final boolean enabled;
+
+    private final int maxSourceBytes;
+
+    private final long maxSourcePixels;
+
+    private final Scheduler scheduler;
+
+    public ItemImageVariantGenerator(ItemRepository itemRepository,
+                                     MediaStorageService mediaStorageService,
+                                     CatalogPageCache catalogPageCache,
+                                     ItemSnapshotStore itemSnapshotStore,
+                                     ItemImageCleaner itemImageCleaner,
+                                     TransactionalOperator transactionalOperator,
+                                     boolean enabled,
+                                     int maxSourceBytes,
+                                     long maxSourcePixels,
+                                     Scheduler scheduler) {
+        this.itemRepository = itemRepository;
+        this.mediaStorageService = mediaStorageService;
+        this.catalogPageCache = catalogPageCache;
+        this.itemSnapshotStore = itemSnapshotStore;
+        this.itemImageCleaner = itemImageCleaner;
+        this.transactionalOperator = transactionalOperator;
+        this.enabled = enabled;
+        this.maxSourceBytes = maxSourceBytes;
+        this.maxSourcePixels = maxSourcePixels;
+        this.scheduler = scheduler;
+    }
+
+    public static Scheduler newScheduler(int workerThreads, int queueSize) {
+        return Schedulers.newBoundedElastic(workerThreads, queueSize, "item-image-variants");
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public Scheduler getScheduler() {
+        return this.scheduler;
+    }
+
+    /**
+     * Fire-and-forget variant of generateVariants for request paths: the caller never waits for resizing
+     * and a failure only means the original keeps being served; it is logged rather than propagated.
+     */
+    public void scheduleVariants(long itemId, String imagePath) {
+        if (!this.enabled || !StringUtils.hasText(imagePath)) {
+            return;
+        }
+        this.generateVariants(itemId, imagePath)
+                .subscribe(null, exception -> LOGGER.warn(
+                        "Failed to generate image variants for item {} from {}", itemId, imagePath, exception));
+    }
+
+    public Mono<Void> generateVariants(long itemId, String imagePath) {
+        if (!this.enabled || !StringUtils.hasText(imagePath)) {
+            return Mono.empty();
+        }
+
+        return DataBufferUtils.join(this.mediaStorageService.readMediaFile(imagePath), this.maxSourceBytes)
+                .map(buffer -> {
+                    try {
+                        byte[] content = new byte[buffer.readableByteCount()];
+                        buffer.read(content);
+                        return content;
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
+                })
+                .flatMap(content -> Mono.fromCallable(() -> this.resizeVariants(content)).subscribeOn(this.scheduler))
+                .flatMap(resizedImages -> this.storeVariants(itemId, resizedImages))
+                .flatMap(variantKeys -> this.attachVariants(itemId, imagePath, variantKeys));
+    }
+
+    /**
+     * Disposes the worker pool; called by the container on shutdown.
+     */
+    public void close() {
+        this.scheduler.dispose();
+    }
+
+    private Mono<Map<ImageVariant, String>> storeVariants(long itemId, Map<ImageVariant, ImageResizer.ResizedImage> resizedImages) {
+        Map<ImageVariant, String> variantKeys = new EnumMap<>(ImageVariant.class);
+        return Flux.fromIterable(resizedImages.entrySet())
+                .concatMap(entry -> this.mediaStorageService.saveMediaContent(
+                                entry.getValue().content(),
+                                entry.getValue().mimeType(),
+                                PathSpecification.of("items", Long.toString(itemId), entry.getKey().key()))
+                        .doOnNext(key -> variantKeys.put(entry.getKey(), key)))
+                .then(Mono.fromSupplier(() -> variantKeys))
+                .onErrorResume(exception -> this.deleteVariants(variantKeys).then(Mono.error(exception)));
+    }
+
+    private Mono<Void> attachVariants(long itemId, String imagePath, Map<ImageVariant, String> variantKeys) {
+        if (variantKeys.isEmpty()) {
+            return Mono.empty();
+        }
+        return this.itemImageCleaner.lockStored(variantKeys.values())
+                .then(this.itemRepository.updateImageVariants(itemId, imagePath, ImageVariantKeys.format(variantKeys)))
+                .as(this.transactionalOperator::transactional)
+                .flatMap(updatedRows -> {
+                    if (updatedRows == 0) {
+                        return this.deleteVariants(variantKeys);
+                    }
+                    return this.itemRepository.findById(itemId)
+                            .flatMap(this.itemSnapshotStore::putItem)
+                            .then(this.catalogPageCache.evictItem(itemId));
+                });
+    }
+
+    private Mono<Void> deleteVariants(Map<ImageVariant, String> variantKeys) {
+        return this.itemImageCleaner.deleteUnreferenced(new ArrayList<>(variantKeys.values()))
+                .onErrorResume(exception -> Mono.empty());
+    }
+
+    private Map<ImageVariant, ImageResizer.ResizedImage> resizeVariants(byte[] content) throws Exception {
+        Map<ImageVariant, ImageResizer.ResizedImage> resizedImages = new EnumMap<>(ImageVariant.class);
+        if (ImageResizer.isWebp(content)) {
+            return resizedImages;
+        }
+        BufferedImage source = ImageResizer.decode(content, this.maxSourcePixels);
+        for (ImageVariant variant : GENERATED_VARIANTS) {
+            ImageResizer.resize(source, variant.maxDimension())
+                    .ifPresent(resizedImage -> resizedImages.put(variant, resizedImage));
+        }
+        return resizedImages;
+    }
+
+}
@@ -1,19 +1,28 @@
 package com.amit.mymarket.item.service.impl;
 
 import com.amit.mymarket.cart.repository.CartItemRepository;
-import com.amit.mymarket.cart.repository.projection.CartItemRow;
+import com.amit.mymarket.cart.repository.projection.CartItemQuantityRow;
 import com.amit.mymarket.common.exception.ResourceNotFoundException;
+import com.amit.mymarket.common.exception.ServiceException;
 import com.amit.mymarket.item.entity.Item;
 import com.amit.mymarket.item.service.type.SortType;
 import com.amit.mymarket.item.repository.ItemRepository;
 import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
 import com.amit.mymarket.item.service.CatalogQueryService;
+import com.amit.mymarket.item.service.cache.CatalogPageCache;
+import com.amit.mymarket.item.service.snapshot.ItemSnapshot;
+import com.amit.mymarket.item.service.snapshot.ItemSnapshotStore;
+import com.amit.mymarket.item.service.strategy.CatalogSearchStrategy;
+import com.amit.mymarket.item.service.util.CatalogCursor;
 import com.amit.mymarket.item.service.util.CatalogPageRequest;
+import com.amit.mymarket.item.service.util.CatalogSlice;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.*;
@@ -26,53 +35,94 @@ public class DefaultCatalogQueryService implements CatalogQueryService {
 
     private final CartItemRepository cartItemRepository;
 
+    private final CatalogSearchStrategy catalogSearchStrategy;
+
+    private final CatalogPageCache catalogPageCache;
+
+    private final ItemSnapshotStore itemSnapshotStore;
+
     @Autowired
-    public DefaultCatalogQueryService(ItemRepository itemRepository, CartItemRepository cartItemRepository) {
+    public DefaultCatalogQueryService(ItemRepository itemRepository,
+                                      CartItemRepository cartItemRepository,
+                                      CatalogSearchStrategy catalogSearchStrategy,
+                                      CatalogPageCache catalogPageCache,
+                                      ItemSnapshotStore itemSnapshotStore) {
         this.itemRepository = itemRepository;
         this.cartItemRepository = cartItemRepository;
+        this.catalogSearchStrategy = catalogSearchStrategy;
+        this.catalogPageCache = catalogPageCache;
+        this.itemSnapshotStore = itemSnapshotStore;
     }
 
     @Override
-    public Mono<Page<Item>> getCatalogPage(String searchQuery, SortType sortType, int pageNumber, int pageSize) {
+    public Mono<Page<ItemWithQuantity>> getCatalogPage(String sessionId, String searchQuery, SortType sortType, int pageNumber, int pageSize) {
         CatalogPageRequest catalogPageRequest = CatalogPageRequest.of(searchQuery, sortType, pageNumber, pageSize);
 
-        Mono<List<ItemWithQuantity>> itemsWithQuantity = this.itemRepository.searchItemsWithQuantity(
-                        null,
-                        catalogPageRequest.searchQuery(),
-                        catalogPageRequest.sort(),
-                        catalogPageRequest.limit(),
-                        catalogPageRequest.offset()
-                )
-                .collectList();
+        if (this.isServedBySnapshot(sortType)) {
+            Page<ItemWithQuantity> page = this.itemSnapshotStore.current().findPage(catalogPageRequest)
+                    .map(DefaultCatalogQueryService::toItemWithQuantity);
+            return this.overlayCartQuantities(sessionId, page);
+        }
 
-        Mono<Long> totalItemsCount = this.itemRepository.countItemsBySearchQuery(catalogPageRequest.searchQuery());
+        if (!this.catalogPageCache.isEnabled()) {
+            return this.loadCatalogPage(sessionId, catalogPageRequest);
+        }
 
-        return Mono.zip(itemsWithQuantity, totalItemsCount)
-                .flatMap(tuple -> {
-                    List<ItemWithQuantity> rows = tuple.getT1();
-                    long totalCount = tuple.getT2();
+        return this.catalogPageCache.getOrLoad(catalogPageRequest, request -> this.loadCatalogPage(null, request))
+                .flatMap(page -> this.overlayCartQuantities(sessionId, page));
+    }
 
-                    if (rows.isEmpty()) {
-                        return Mono.just(Page.empty(catalogPageRequest.pageable()));
-                    }
+    @Override
+    public Mono<CatalogSlice> getCatalogSlice(String sessionId, String searchQuery, SortType sortType, String cursor, int pageNumber, int pageSize) {
+        SortType resolvedSortType = sortType != null ? sortType : SortType.NO;
+
+        if (!StringUtils.hasText(cursor)) {
+            return this.getCatalogPage(sessionId, searchQuery, resolvedSortType, pageNumber, pageSize)
+                    .map(page -> CatalogSlice.of(page.getContent(), resolvedSortType, page.hasPrevious(), page.hasNext()));
+        }
 
-                    List<Long> itemIds = rows.stream().map(ItemWithQuantity::id).toList();
+        CatalogCursor catalogCursor;
+        try {
+            catalogCursor = CatalogCursor.decode(cursor);
+        } catch (IllegalArgumentException exception) {
+            return Mono.error(new ServiceException("Invalid catalog cursor: " + exception.getMessage()));
+        }
+
+        if (catalogCursor.sortType() != resolvedSortType) {
+            return this.getCatalogSlice(sessionId, searchQuery, resolvedSortType, null, 1, pageSize);
+        }
 
-                    return this.itemRepository.findAllById(itemIds)
-                            .collectMap(Item::getId)
-                            .map(itemsById -> {
-                                List<Item> items = itemIds.stream()
-                                        .map(itemsById::get)
-                                        .filter(Objects::nonNull)
-                                        .toList();
+        CatalogPageRequest catalogPageRequest = CatalogPageRequest.of(searchQuery, resolvedSortType, pageNumber, pageSize);
+        int limit = (int) catalogPageRequest.limit();
+
+        Mono<List<ItemWithQuantity>> itemsWithQuantity = this.isServedBySnapshot(resolvedSortType)
+                ? this.overlayCartQuantities(sessionId, this.itemSnapshotStore.current()
+                        .findSlice(catalogPageRequest.searchQuery(), catalogCursor, limit + 1).stream()
+                        .map(DefaultCatalogQueryService::toItemWithQuantity)
+                        .toList())
+                : this.searchItemsByCursor(sessionId, catalogPageRequest.searchQuery(), catalogCursor, limit + 1).collectList();
+
+        return itemsWithQuantity
+                .map(rows -> {
+                    boolean hasMore = rows.size() > limit;
+                    List<ItemWithQuantity> items = new ArrayList<>(hasMore ? rows.subList(0, limit) : rows);
+                    if (!catalogCursor.isForward()) {
+                        Collections.reverse(items);
+                    }
 
-                                return new PageImpl<>(items, catalogPageRequest.pageable(), totalCount);
-                            });
+                    boolean hasPrevious = catalogCursor.isForward() || hasMore;
+                    boolean hasNext = !catalogCursor.isForward() || hasMore;
+                    return CatalogSlice.of(items, resolvedSortType, hasPrevious, hasNext);
                 });
     }
 
     @Override
     public Mono<Integer> getCartQuantityForItem(String sessionId, long itemId) {
+        if (this.itemSnapshotStore.isReady()) {
+            return this.getCartQuantitiesForItems(sessionId, List.of(itemId))
+                    .map(itemQuantities -> itemQuantities.getOrDefault(itemId, 0));
+        }
+
         return this.itemRepository.findItemWithQuantity(itemId, sessionId)
                 .map(itemWithQuantity -> Optional.ofNullable(itemWithQuantity.quantity()).orElse(0))
                 .defaultIfEmpty(0);
@@ -84,28 +134,121 @@ public class DefaultCatalogQueryService implements CatalogQueryService {
             return Mono.just(Collections.emptyMap());
         }
 
-        Set<Long> requestedItemIds = new HashSet<>(itemIds);
+        Long[] requestedItemIds = itemIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(Long[]::new);
 
-        return this.cartItemRepository.findCartItems(sessionId)
+        return this.cartItemRepository.findItemQuantities(sessionId, requestedItemIds)
                 .collectList()
-                .map(cartItemRows -> {
-                    Map<Long, Integer> itemQuantities = cartItemRows.stream()
-                            .filter(cartItems -> requestedItemIds.contains(cartItems.id()))
+                .map(cartItemQuantityRows -> {
+                    Map<Long, Integer> itemQuantities = cartItemQuantityRows.stream()
                             .collect(Collectors.toMap(
-                                    CartItemRow::id,
+                                    CartItemQuantityRow::itemId,
                                     cartItem -> Optional.ofNullable(cartItem.quantity()).orElse(0)
                             ));
-                    itemIds.stream()
-                            .filter(Objects::nonNull)
-                            .forEach(id -> itemQuantities.putIfAbsent(id, 0));
+                    for (Long itemId : requestedItemIds) {
+                        itemQuantities.putIfAbsent(itemId, 0);
+                    }
                     return itemQuantities;
                 });
     }
 
     @Override
     public Mono<Item> getItemById(long itemId) {
-        return this.itemRepository.findById(itemId)
+        Mono<Item> item = this.itemSnapshotStore.isReady()
+                ? Mono.justOrEmpty(this.itemSnapshotStore.current().findItem(itemId))
+                : this.itemRepository.findById(itemId);
+
+        return item
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Item not found: id=" + itemId)));
     }
 
+    private Mono<Page<ItemWithQuantity>> loadCatalogPage(String sessionId, CatalogPageRequest catalogPageRequest) {
+        return this.catalogSearchStrategy.searchItems(sessionId, catalogPageRequest)
+                .collectList()
+                .map(rows -> {
+                    int limit = (int) catalogPageRequest.limit();
+
+                    if (rows.isEmpty()) {
+                        return Page.empty(catalogPageRequest.pageable());
+                    }
+
+                    boolean hasMore = rows.size() > limit;
+                    List<ItemWithQuantity> items = hasMore ? rows.subList(0, limit) : rows;
+
+                    return new PageImpl<>(items, catalogPageRequest.pageable(), seenCount(catalogPageRequest, items.size(), hasMore));
+                });
+    }
+
+    /**
+     * Cached pages and snapshot rows are session independent, so the session's quantities are fetched for the page ids only.
+     */
+    private Mono<Page<ItemWithQuantity>> overlayCartQuantities(String sessionId, Page<ItemWithQuantity> page) {
+        if (sessionId == null || page.isEmpty()) {
+            return Mono.just(page);
+        }
+
+        return this.overlayCartQuantities(sessionId, page.getContent())
+                .map(itemsWithQuantity -> new PageImpl<>(itemsWithQuantity, page.getPageable(), page.getTotalElements()));
+    }
+
+    private Mono<List<ItemWithQuantity>> overlayCartQuantities(String sessionId, List<ItemWithQuantity> items) {
+        if (sessionId == null || items.isEmpty()) {
+            return Mono.just(items);
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(ItemWithQuantity::id)
+                .toList();
+
+        return this.getCartQuantitiesForItems(sessionId, itemIds)
+                .map(itemQuantities -> items.stream()
+                        .map(item -> new ItemWithQuantity(
+                                item.id(),
+                                item.title(),
+                                item.description(),
+                                item.imagePath(),
+                                item.imageVariants(),
+                                item.priceMinor(),
+                                itemQuantities.getOrDefault(item.id(), 0)
+                        ))
+                        .toList());
+    }
+
+    /**
+     * RELEVANCE ranking relies on pg_trgm, so it always goes to the database.
+     */
+    private boolean isServedBySnapshot(SortType sortType) {
+        return this.itemSnapshotStore.isReady() && sortType != SortType.RELEVANCE;
+    }
+
+    private static ItemWithQuantity toItemWithQuantity(Item item) {
+        return new ItemWithQuantity(item.getId(), item.getTitle(), item.getDescription(), item.getImagePath(), item.getImageVariants(), item.getPriceMinor(), 0);
+    }
+
+    /**
+     * Nothing renders a catalog total, so none is counted: the page only has to know whether a next page exists,
+     * which the probe row tells, and one phantom element past the fetched rows keeps Page.hasNext() in line with it.
+     */
+    private static long seenCount(CatalogPageRequest catalogPageRequest, int itemsCount, boolean hasMore) {
+        long seenCount = catalogPageRequest.offset() + itemsCount;
+        return hasMore ? seenCount + 1 : seenCount;
+    }
+
+    private Flux<ItemWithQuantity> searchItemsByCursor(String sessionId, String searchQuery, CatalogCursor cursor, long limit) {
+        return switch (cursor.sortType()) {
+            case NO -> cursor.isForward()
+                    ? this.itemRepository.searchItemsWithQuantityAfterId(sessionId, searchQuery, cursor.id(), limit)
+                    : this.itemRepository.searchItemsWithQuantityBeforeId(sessionId, searchQuery, cursor.id(), limit);
+            case ALPHA -> cursor.isForward()
+                    ? this.itemRepository.searchItemsWithQuantityAfterTitle(sessionId, searchQuery, cursor.sortKey(), cursor.id(), limit)
+                    : this.itemRepository.searchItemsWithQuantityBeforeTitle(sessionId, searchQuery, cursor.sortKey(), cursor.id(), limit);
+            case PRICE -> cursor.isForward()
+                    ? this.itemRepository.searchItemsWithQuantityAfterPrice(sessionId, searchQuery, cursor.priceMinorKey(), cursor.id(), limit)
+                    : this.itemRepository.searchItemsWithQuantityBeforePrice(sessionId, searchQuery, cursor.priceMinorKey(), cursor.id(), limit);
+            case RELEVANCE -> Flux.error(new ServiceException("Keyset paging is not supported for sort type: RELEVANCE"));
+        };
+    }
+
 }
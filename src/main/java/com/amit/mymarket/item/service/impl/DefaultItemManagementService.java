@@ -3,16 +3,25 @@ package com.amit.mymarket.item.service.impl;
 import com.amit.mymarket.common.exception.ResourceNotFoundException;
 import com.amit.mymarket.common.exception.ServiceException;
 import com.amit.mymarket.common.service.MediaStorageService;
+import com.amit.mymarket.common.service.util.ImageVariantKeys;
 import com.amit.mymarket.common.service.util.PathSpecification;
+import com.amit.mymarket.common.util.TransactionUtils;
 import com.amit.mymarket.item.entity.Item;
 import com.amit.mymarket.item.repository.ItemRepository;
 import com.amit.mymarket.item.service.ItemManagementService;
+import com.amit.mymarket.item.service.cache.CatalogPageCache;
+import com.amit.mymarket.item.service.image.ItemImageCleaner;
+import com.amit.mymarket.item.service.image.ItemImageVariantGenerator;
+import com.amit.mymarket.item.service.snapshot.ItemSnapshotStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Service
 public class DefaultItemManagementService implements ItemManagementService {
 
@@ -20,10 +29,27 @@ public class DefaultItemManagementService implements ItemManagementService {
 
     private final MediaStorageService mediaStorageService;
 
+    private final CatalogPageCache catalogPageCache;
+
+    private final ItemSnapshotStore itemSnapshotStore;
+
+    private final ItemImageVariantGenerator itemImageVariantGenerator;
+
+    private final ItemImageCleaner itemImageCleaner;
+
     @Autowired
-    public DefaultItemManagementService(ItemRepository itemRepository, MediaStorageService mediaStorageService) {
+    public DefaultItemManagementService(ItemRepository itemRepository,
+                                        MediaStorageService mediaStorageService,
+                                        CatalogPageCache catalogPageCache,
+                                        ItemSnapshotStore itemSnapshotStore,
+                                        ItemImageVariantGenerator itemImageVariantGenerator,
+                                        ItemImageCleaner itemImageCleaner) {
         this.itemRepository = itemRepository;
         this.mediaStorageService = mediaStorageService;
+        this.catalogPageCache = catalogPageCache;
+        this.itemSnapshotStore = itemSnapshotStore;
+        this.itemImageVariantGenerator = itemImageVariantGenerator;
+        this.itemImageCleaner = itemImageCleaner;
     }
 
     @Override
@@ -39,11 +65,17 @@ public class DefaultItemManagementService implements ItemManagementService {
                     }
                     PathSpecification path = buildItemPath(savedItem.getId());
                     return this.mediaStorageService.saveMediaFile(file, path)
-                            .flatMap(imagePath -> {
-                                savedItem.setImagePath(imagePath);
-                                return this.itemRepository.save(savedItem);
-                            });
-                });
+                            .flatMap(imagePath -> this.itemImageCleaner.lockStored(List.of(imagePath))
+                                    .then(Mono.defer(() -> {
+                                        savedItem.setImagePath(imagePath);
+                                        savedItem.setImageVariants(null);
+                                        return this.itemRepository.save(savedItem);
+                                    })));
+                })
+                .flatMap(createdItem -> this.itemSnapshotStore.putItem(createdItem)
+                        .then(this.catalogPageCache.evictAll())
+                        .then(this.scheduleImageVariants(createdItem))
+                        .thenReturn(createdItem));
     }
 
     @Override
@@ -56,18 +88,22 @@ public class DefaultItemManagementService implements ItemManagementService {
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Item not found: " + itemId)))
                 .flatMap(item -> {
                     String oldImagePath = item.getImagePath();
+                    String oldImageVariants = item.getImageVariants();
                     PathSpecification path = buildItemPath(itemId);
 
                     return this.mediaStorageService.saveMediaFile(file, path)
                             .flatMap(newImagePath -> {
+                                if (newImagePath.equals(oldImagePath)) {
+                                    return Mono.empty();
+                                }
                                 item.setImagePath(newImagePath);
-                                return this.itemRepository.save(item)
-                                        .then(Mono.defer(() -> {
-                                            if (StringUtils.hasText(oldImagePath)) {
-                                                return this.mediaStorageService.deleteMediaFile(oldImagePath);
-                                            }
-                                            return Mono.empty();
-                                        }));
+                                item.setImageVariants(null);
+                                return this.itemImageCleaner.lockStored(List.of(newImagePath))
+                                        .then(this.itemRepository.save(item))
+                                        .flatMap(savedItem -> this.itemSnapshotStore.putItem(savedItem)
+                                                .then(this.scheduleImageVariants(savedItem)))
+                                        .then(this.catalogPageCache.evictItem(itemId))
+                                        .then(this.deleteImage(oldImagePath, oldImageVariants));
                             });
                 });
     }
@@ -87,7 +123,10 @@ public class DefaultItemManagementService implements ItemManagementService {
                         item.setPriceMinor(itemToUpdate.getPriceMinor());
                     }
                     return this.itemRepository.save(item);
-                });
+                })
+                .flatMap(updatedItem -> this.itemSnapshotStore.putItem(updatedItem)
+                        .then(this.catalogPageCache.evictAll())
+                        .thenReturn(updatedItem));
     }
 
     @Override
@@ -96,13 +135,11 @@ public class DefaultItemManagementService implements ItemManagementService {
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Item not found: " + itemId)))
                 .flatMap(item -> {
                     String imagePath = item.getImagePath();
+                    String imageVariants = item.getImageVariants();
                     return this.itemRepository.delete(item)
-                            .then(Mono.defer(() -> {
-                                if (StringUtils.hasText(imagePath)) {
-                                    return this.mediaStorageService.deleteMediaFile(imagePath);
-                                }
-                                return Mono.empty();
-                            }));
+                            .then(this.itemSnapshotStore.removeItem(itemId))
+                            .then(this.catalogPageCache.evictAll())
+                            .then(this.deleteImage(imagePath, imageVariants));
                 });
     }
 
@@ -112,6 +149,25 @@ public class DefaultItemManagementService implements ItemManagementService {
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Item not found: " + itemId)));
     }
 
+    /**
+     * Variants are generated in the background once the row carrying the new image path is committed;
+     * until then views fall back to the original image.
+     */
+    private Mono<Void> scheduleImageVariants(Item item) {
+        if (!StringUtils.hasText(item.getImagePath())) {
+            return Mono.empty();
+        }
+        return TransactionUtils.afterCommit(() ->
+                this.itemImageVariantGenerator.scheduleVariants(item.getId(), item.getImagePath()));
+    }
+
+    private Mono<Void> deleteImage(String imagePath, String imageVariants) {
+        List<String> keys = new ArrayList<>();
+        keys.add(imagePath);
+        keys.addAll(ImageVariantKeys.parse(imageVariants).values());
+        return this.itemImageCleaner.deleteUnreferenced(keys);
+    }
+
     private PathSpecification buildItemPath(long itemId) {
         return PathSpecification.of("items", Long.toString(itemId), "original");
     }
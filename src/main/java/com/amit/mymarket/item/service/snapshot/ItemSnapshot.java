@@ -0,0 +1,346 @@
+package com.amit.mymarket.item.service.snapshot;
+
+import com.amit.mymarket.item.entity.Item;
+import com.amit.mymarket.item.service.type.SortType;
+import com.amit.mymarket.item.service.util.CatalogCursor;
+import com.amit.mymarket.item.service.util.CatalogPageRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable in-memory view of the items table.
+ * Items are hash-partitioned by id into shards of sorted primitive id arrays, and the NO/ALPHA/PRICE orders
+ * are prebuilt to mirror the catalog SQL (lower(title)/price_minor nulls last, then id).
+ * Lower-cased title and description, and the collation key of the title, are computed once per item
+ * when it enters the snapshot. Mutations return a new snapshot that shares every untouched shard.
+ * <p>
+ * ALPHA compares titles with a Collator for the locale of the database collation, so that Russian titles
+ * keep their alphabetical order (ё next to е, case and punctuation as secondary differences). A JDK collator
+ * approximates the database's libc or ICU rules rather than reproducing them, so rare titles may still be
+ * placed differently in snapshot and database mode.
+ */
+public final class ItemSnapshot {
+
+    private static final Comparator<Entry> ID_ORDER = Comparator.comparingLong(entry -> entry.item().getId());
+
+    private static final Comparator<Entry> ALPHA_ORDER = Comparator
+            .comparing(Entry::titleKey, Comparator.nullsLast(Comparator.<CollationKey>naturalOrder()))
+            .thenComparing(ID_ORDER);
+
+    private static final Comparator<Entry> PRICE_ORDER = Comparator
+            .comparing((Entry entry) -> entry.item().getPriceMinor(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ID_ORDER);
+
+    private final Shard[] shards;
+
+    private final Entry[] idOrder;
+
+    private final Entry[] alphaOrder;
+
+    private final Entry[] priceOrder;
+
+    private final Collator collator;
+
+    private ItemSnapshot(Shard[] shards, Entry[] idOrder, Entry[] alphaOrder, Entry[] priceOrder, Collator collator) {
+        this.shards = shards;
+        this.idOrder = idOrder;
+        this.alphaOrder = alphaOrder;
+        this.priceOrder = priceOrder;
+        this.collator = collator;
+    }
+
+    public static ItemSnapshot of(Collection<Item> items, int shardCount, Locale collationLocale) {
+        int resolvedShardCount = Integer.highestOneBit(Math.max(shardCount, 1));
+        Collator collator = Collator.getInstance(collationLocale);
+        Entry[] entries = items.stream()
+                .map(item -> Entry.of(item, collator))
+                .toArray(Entry[]::new);
+
+        List<List<Entry>> buckets = new ArrayList<>(resolvedShardCount);
+        for (int index = 0; index < resolvedShardCount; index++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (Entry entry : entries) {
+            buckets.get(shardIndex(entry.item().getId(), resolvedShardCount)).add(entry);
+        }
+
+        Shard[] shards = new Shard[resolvedShardCount];
+        for (int index = 0; index < resolvedShardCount; index++) {
+            shards[index] = Shard.of(buckets.get(index));
+        }
+
+        return new ItemSnapshot(shards, sorted(entries, ID_ORDER), sorted(entries, ALPHA_ORDER), sorted(entries, PRICE_ORDER), collator);
+    }
+
+    public int size() {
+        return this.idOrder.length;
+    }
+
+    /**
+     * Returns a detached copy of the item or null when absent.
+     */
+    public Item findItem(long itemId) {
+        Entry entry = this.shards[shardIndex(itemId, this.shards.length)].find(itemId);
+        return entry != null ? copyOf(entry.item()) : null;
+    }
+
+    /**
+     * Offset page over the prebuilt order. A search walks the order only until the page and one probe match
+     * are found, so the total is exact for listings and, like the database page, only probed for searches.
+     * RELEVANCE has no prebuilt order and must be served by the database.
+     */
+    public Page<Item> findPage(CatalogPageRequest catalogPageRequest) {
+        Entry[] order = this.orderFor(SortType.valueOf(catalogPageRequest.sort()));
+        long offset = catalogPageRequest.offset();
+        int limit = (int) catalogPageRequest.limit();
+
+        if (catalogPageRequest.searchQuery() == null) {
+            return new PageImpl<>(copyRange(order, offset, limit), catalogPageRequest.pageable(), order.length);
+        }
+
+        String needle = catalogPageRequest.searchQuery().toLowerCase(Locale.ROOT);
+        List<Item> items = new ArrayList<>(limit);
+        long skipped = 0;
+        boolean hasMore = false;
+        for (Entry entry : order) {
+            if (!entry.matches(needle)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+            } else if (items.size() < limit) {
+                items.add(copyOf(entry.item()));
+            } else {
+                hasMore = true;
+                break;
+            }
+        }
+        long seenCount = skipped + items.size();
+        return new PageImpl<>(items, catalogPageRequest.pageable(), hasMore ? seenCount + 1 : seenCount);
+    }
+
+    /**
+     * Seeks past the cursor boundary like the keyset queries do: ascending for NEXT, descending for PREVIOUS.
+     */
+    public List<Item> findSlice(String searchQuery, CatalogCursor cursor, int limit) {
+        Entry[] order = this.orderFor(cursor.sortType());
+        Comparator<Entry> comparator = comparatorFor(cursor.sortType());
+        Entry boundary = this.boundaryOf(cursor);
+        String needle = searchQuery != null ? searchQuery.toLowerCase(Locale.ROOT) : null;
+
+        int position = Arrays.binarySearch(order, boundary, comparator);
+        int step = cursor.isForward() ? 1 : -1;
+        int index;
+        if (position >= 0) {
+            index = position + step;
+        } else {
+            int insertionPoint = -position - 1;
+            index = cursor.isForward() ? insertionPoint : insertionPoint - 1;
+        }
+
+        List<Item> items = new ArrayList<>(limit);
+        for (; index >= 0 && index < order.length && items.size() < limit; index += step) {
+            if (needle == null || order[index].matches(needle)) {
+                items.add(copyOf(order[index].item()));
+            }
+        }
+        return items;
+    }
+
+    public ItemSnapshot withItem(Item item) {
+        Entry entry = Entry.of(item, this.collator);
+        ItemSnapshot withoutItem = this.withoutItem(entry.item().getId());
+        int shardIndex = shardIndex(entry.item().getId(), withoutItem.shards.length);
+
+        Shard[] shards = withoutItem.shards.clone();
+        shards[shardIndex] = shards[shardIndex].with(entry);
+
+        return new ItemSnapshot(
+                shards,
+                inserted(withoutItem.idOrder, entry, ID_ORDER),
+                inserted(withoutItem.alphaOrder, entry, ALPHA_ORDER),
+                inserted(withoutItem.priceOrder, entry, PRICE_ORDER),
+                this.collator
+        );
+    }
+
+    public ItemSnapshot withoutItem(long itemId) {
+        int shardIndex = shardIndex(itemId, this.shards.length);
+        Entry existing = this.shards[shardIndex].find(itemId);
+        if (existing == null) {
+            return this;
+        }
+
+        Shard[] shards = this.shards.clone();
+        shards[shardIndex] = shards[shardIndex].without(itemId);
+
+        return new ItemSnapshot(
+                shards,
+                removed(this.idOrder, existing, ID_ORDER),
+                removed(this.alphaOrder, existing, ALPHA_ORDER),
+                removed(this.priceOrder, existing, PRICE_ORDER),
+                this.collator
+        );
+    }
+
+    private Entry[] orderFor(SortType sortType) {
+        return switch (sortType) {
+            case NO -> this.idOrder;
+            case ALPHA -> this.alphaOrder;
+            case PRICE -> this.priceOrder;
+            case RELEVANCE -> throw new IllegalArgumentException("Item snapshot has no order for sort type: RELEVANCE");
+        };
+    }
+
+    private static Comparator<Entry> comparatorFor(SortType sortType) {
+        return switch (sortType) {
+            case NO -> ID_ORDER;
+            case ALPHA -> ALPHA_ORDER;
+            case PRICE -> PRICE_ORDER;
+            case RELEVANCE -> throw new IllegalArgumentException("Item snapshot has no order for sort type: RELEVANCE");
+        };
+    }
+
+    private Entry boundaryOf(CatalogCursor cursor) {
+        Item boundary = new Item();
+        boundary.setId(cursor.id());
+        switch (cursor.sortType()) {
+            case ALPHA -> boundary.setTitle(cursor.sortKey());
+            case PRICE -> boundary.setPriceMinor(cursor.priceMinorKey());
+            default -> {
+            }
+        }
+        String lowerTitle = lowerCase(boundary.getTitle());
+        return new Entry(boundary, lowerTitle, null, collationKey(this.collator, lowerTitle));
+    }
+
+    private static CollationKey collationKey(Collator collator, String value) {
+        return value != null ? collator.getCollationKey(value) : null;
+    }
+
+    private static String lowerCase(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static int shardIndex(long itemId, int shardCount) {
+        return Long.hashCode(itemId * 0x9E3779B97F4A7C15L) & (shardCount - 1);
+    }
+
+    private static Entry[] sorted(Entry[] entries, Comparator<Entry> comparator) {
+        Entry[] sortedEntries = entries.clone();
+        Arrays.sort(sortedEntries, comparator);
+        return sortedEntries;
+    }
+
+    private static Entry[] inserted(Entry[] order, Entry entry, Comparator<Entry> comparator) {
+        int position = -Arrays.binarySearch(order, entry, comparator) - 1;
+        Entry[] result = new Entry[order.length + 1];
+        System.arraycopy(order, 0, result, 0, position);
+        result[position] = entry;
+        System.arraycopy(order, position, result, position + 1, order.length - position);
+        return result;
+    }
+
+    private static Entry[] removed(Entry[] order, Entry entry, Comparator<Entry> comparator) {
+        int position = Arrays.binarySearch(order, entry, comparator);
+        Entry[] result = new Entry[order.length - 1];
+        System.arraycopy(order, 0, result, 0, position);
+        System.arraycopy(order, position + 1, result, position, order.length - position - 1);
+        return result;
+    }
+
+    private static List<Item> copyRange(Entry[] order, long offset, int limit) {
+        if (offset >= order.length) {
+            return List.of();
+        }
+        int from = (int) offset;
+        int to = Math.min(order.length, from + limit);
+        List<Item> items = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            items.add(copyOf(order[index].item()));
+        }
+        return items;
+    }
+
+    private static Item copyOf(Item item) {
+        Item copy = new Item(item.getTitle(), item.getDescription(), item.getPriceMinor());
+        copy.setId(item.getId());
+        copy.setImagePath(item.getImagePath());
+        copy.setImageVariants(item.getImageVariants());
+        return copy;
+    }
+
+    /**
+     * Item copy owned by the snapshot together with its lower-cased search fields and title collation key.
+     */
+    private record Entry(Item item, String lowerTitle, String lowerDescription, CollationKey titleKey) {
+
+        private static Entry of(Item item, Collator collator) {
+            Item copy = copyOf(item);
+            String lowerTitle = lowerCase(copy.getTitle());
+            return new Entry(copy, lowerTitle, lowerCase(copy.getDescription()), collationKey(collator, lowerTitle));
+        }
+
+        /**
+         * Mirrors "title ilike '%search%' or description ilike '%search%'" with the search taken literally.
+         */
+        private boolean matches(String needle) {
+            return (this.lowerTitle != null && this.lowerTitle.contains(needle))
+                    || (this.lowerDescription != null && this.lowerDescription.contains(needle));
+        }
+
+    }
+
+    private record Shard(long[] ids, Entry[] entries) {
+
+        private static Shard of(List<Entry> entries) {
+            Entry[] sortedEntries = entries.toArray(Entry[]::new);
+            Arrays.sort(sortedEntries, ID_ORDER);
+            long[] ids = new long[sortedEntries.length];
+            for (int index = 0; index < sortedEntries.length; index++) {
+                ids[index] = sortedEntries[index].item().getId();
+            }
+            return new Shard(ids, sortedEntries);
+        }
+
+        private Entry find(long itemId) {
+            int position = Arrays.binarySearch(this.ids, itemId);
+            return position >= 0 ? this.entries[position] : null;
+        }
+
+        private Shard with(Entry entry) {
+            int position = -Arrays.binarySearch(this.ids, entry.item().getId()) - 1;
+            long[] ids = new long[this.ids.length + 1];
+            Entry[] entries = new Entry[this.entries.length + 1];
+            System.arraycopy(this.ids, 0, ids, 0, position);
+            System.arraycopy(this.entries, 0, entries, 0, position);
+            ids[position] = entry.item().getId();
+            entries[position] = entry;
+            System.arraycopy(this.ids, position, ids, position + 1, this.ids.length - position);
+            System.arraycopy(this.entries, position, entries, position + 1, this.entries.length - position);
+            return new Shard(ids, entries);
+        }
+
+        private Shard without(long itemId) {
+            int position = Arrays.binarySearch(this.ids, itemId);
+            long[] ids = new long[this.ids.length - 1];
+            Entry[] entries = new Entry[this.entries.length - 1];
+            System.arraycopy(this.ids, 0, ids, 0, position);
+            System.arraycopy(this.entries, 0, entries, 0, position);
+            System.arraycopy(this.ids, position + 1, ids, position, this.ids.length - position - 1);
+            System.arraycopy(this.entries, position + 1, entries, position, this.entries.length - position - 1);
+            return new Shard(ids, entries);
+        }
+
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.amit.mymarket.item.service.snapshot;
+
+import com.amit.mymarket.common.util.TransactionUtils;
+import com.amit.mymarket.item.entity.Item;
+import com.amit.mymarket.item.repository.ItemRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current ItemSnapshot when enabled. Loaded once at startup and then refreshed
+ * incrementally by item management after each committed mutation.
+ */
+public class ItemSnapshotStore {
+
+    private final ItemRepository itemRepository;
+
+    private final boolean enabled;
+
+    private final int shardCount;
+
+    private final Locale collationLocale;
+
+    private volatile ItemSnapshot snapshot;
+
+    private long mutationVersion;
+
+    public ItemSnapshotStore(ItemRepository itemRepository, boolean enabled, int shardCount, Locale collationLocale) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+        this.shardCount = shardCount;
+        this.collationLocale = collationLocale;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public boolean isReady() {
+        return this.snapshot != null;
+    }
+
+    public ItemSnapshot current() {
+        return this.snapshot;
+    }
+
+    /**
+     * Reads the whole items table; the result is discarded and read again
+     * if a mutation was committed while the rows were being loaded.
+     */
+    public Mono<Void> reload() {
+        if (!this.enabled) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            long loadVersion = this.currentMutationVersion();
+            return this.itemRepository.findAll()
+                    .collectList()
+                    .flatMap(items -> {
+                        synchronized (this) {
+                            if (loadVersion == this.mutationVersion) {
+                                this.snapshot = ItemSnapshot.of(items, this.shardCount, this.collationLocale);
+                                return Mono.<Void>empty();
+                            }
+                        }
+                        return this.reload();
+                    });
+        });
+    }
+
+    public Mono<Void> putItem(Item item) {
+        return this.mutate(snapshot -> snapshot.withItem(item));
+    }
+
+    public Mono<Void> removeItem(long itemId) {
+        return this.mutate(snapshot -> snapshot.withoutItem(itemId));
+    }
+
+    private Mono<Void> mutate(UnaryOperator<ItemSnapshot> mutation) {
+        if (!this.enabled) {
+            return Mono.empty();
+        }
+        return TransactionUtils.afterCommit(() -> this.apply(mutation));
+    }
+
+    private synchronized void apply(UnaryOperator<ItemSnapshot> mutation) {
+        this.mutationVersion++;
+        if (this.snapshot != null) {
+            this.snapshot = mutation.apply(this.snapshot);
+        }
+    }
+
+    private synchronized long currentMutationVersion() {
+        return this.mutationVersion;
+    }
+
+}
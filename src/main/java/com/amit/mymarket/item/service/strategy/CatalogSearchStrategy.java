@@ -0,0 +1,15 @@
+package com.amit.mymarket.item.service.strategy;
+
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import com.amit.mymarket.item.service.util.CatalogPageRequest;
+import reactor.core.publisher.Flux;
+
+public interface CatalogSearchStrategy {
+
+    /**
+     * Returns rows matching the request's search query, ordered by its sort and positioned by its pageable.
+     * Fetches up to probeLimit() rows + the extra row only signals that a next page exists.
+     */
+    Flux<ItemWithQuantity> searchItems(String sessionId, CatalogPageRequest catalogPageRequest);
+
+}
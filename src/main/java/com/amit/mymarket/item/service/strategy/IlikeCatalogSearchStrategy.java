@@ -0,0 +1,27 @@
+package com.amit.mymarket.item.service.strategy;
+
+import com.amit.mymarket.item.repository.ItemRepository;
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import com.amit.mymarket.item.service.util.CatalogPageRequest;
+import reactor.core.publisher.Flux;
+
+public class IlikeCatalogSearchStrategy implements CatalogSearchStrategy {
+
+    protected final ItemRepository itemRepository;
+
+    public IlikeCatalogSearchStrategy(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public Flux<ItemWithQuantity> searchItems(String sessionId, CatalogPageRequest catalogPageRequest) {
+        return this.itemRepository.searchItemsWithQuantity(
+                sessionId,
+                catalogPageRequest.searchQuery(),
+                catalogPageRequest.sort(),
+                catalogPageRequest.probeLimit(),
+                catalogPageRequest.offset()
+        );
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.amit.mymarket.item.service.strategy;
+
+import com.amit.mymarket.common.exception.ServiceException;
+import com.amit.mymarket.item.repository.ItemRepository;
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import com.amit.mymarket.item.service.type.SortType;
+import com.amit.mymarket.item.service.util.CatalogPageRequest;
+import reactor.core.publisher.Flux;
+
+/**
+ * Only RELEVANCE ranking needs pg_trgm; every other request is plain ILIKE and keeps working when the
+ * migration skipped the extension. The extension is looked up before the first ranked search, so a
+ * missing one is reported as such instead of as an unknown word_similarity function.
+ */
+public class TrigramCatalogSearchStrategy extends IlikeCatalogSearchStrategy {
+
+    private volatile boolean trigramExtensionInstalled;
+
+    public TrigramCatalogSearchStrategy(ItemRepository itemRepository) {
+        super(itemRepository);
+    }
+
+    @Override
+    public Flux<ItemWithQuantity> searchItems(String sessionId, CatalogPageRequest catalogPageRequest) {
+        if (catalogPageRequest.searchQuery() == null || !SortType.RELEVANCE.name().equals(catalogPageRequest.sort())) {
+            return super.searchItems(sessionId, catalogPageRequest);
+        }
+        if (this.trigramExtensionInstalled) {
+            return this.searchItemsByRelevance(sessionId, catalogPageRequest);
+        }
+        return this.itemRepository.isTrigramExtensionInstalled()
+                .flatMapMany(installed -> {
+                    if (!installed) {
+                        return Flux.error(new ServiceException("RELEVANCE sort requires the pg_trgm extension, which is not installed"));
+                    }
+                    this.trigramExtensionInstalled = true;
+                    return this.searchItemsByRelevance(sessionId, catalogPageRequest);
+                });
+    }
+
+    private Flux<ItemWithQuantity> searchItemsByRelevance(String sessionId, CatalogPageRequest catalogPageRequest) {
+        return this.itemRepository.searchItemsWithQuantityByRelevance(
+                sessionId,
+                catalogPageRequest.searchQuery(),
+                catalogPageRequest.probeLimit(),
+                catalogPageRequest.offset()
+        );
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.amit.mymarket.item.service.type;
+
+public enum CatalogSearchMode {
+
+    /**
+     * Plain substring matching; RELEVANCE sort degrades to catalog order.
+     * Use when the pg_trgm extension is not available.
+     */
+    ILIKE,
+
+    /**
+     * Substring matching served by pg_trgm GIN indexes, RELEVANCE sort ranked by word similarity.
+     * Without the extension searches still work unindexed; only RELEVANCE sort fails.
+     */
+    TRIGRAM
+
+}
@@ -0,0 +1,9 @@
+package com.amit.mymarket.item.service.type;
+
+public enum CursorDirection {
+
+    NEXT,
+
+    PREVIOUS
+
+}
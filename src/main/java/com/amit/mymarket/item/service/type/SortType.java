@@ -6,6 +6,8 @@ public enum SortType {
 
     ALPHA,
 
-    PRICE
+    PRICE,
+
+    RELEVANCE
 
 }
@@ -0,0 +1,98 @@
+package com.amit.mymarket.item.service.util;
+
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import com.amit.mymarket.item.service.type.CursorDirection;
+import com.amit.mymarket.item.service.type.SortType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in the catalog: the (sort key, items.id) tuple of the boundary row
+ * and the direction to seek from it. Encoded as url-safe Base64 so it can travel in query params.
+ */
+public record CatalogCursor(
+        CursorDirection direction,
+        SortType sortType,
+        long id,
+        String sortKey) {
+
+    private static final String SEPARATOR = ":";
+
+    public static CatalogCursor next(SortType sortType, ItemWithQuantity lastItem) {
+        return of(CursorDirection.NEXT, sortType, lastItem);
+    }
+
+    public static CatalogCursor previous(SortType sortType, ItemWithQuantity firstItem) {
+        return of(CursorDirection.PREVIOUS, sortType, firstItem);
+    }
+
+    public static CatalogCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Cursor is blank");
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Cursor is not valid Base64", exception);
+        }
+        String[] parts = raw.split(SEPARATOR, 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Cursor has unexpected format");
+        }
+        try {
+            CursorDirection direction = CursorDirection.valueOf(parts[0]);
+            SortType sortType = SortType.valueOf(parts[1]);
+            long id = Long.parseLong(parts[2]);
+            String sortKey = parts[3].isEmpty() ? null : parts[3];
+            return new CatalogCursor(direction, sortType, id, validateSortKey(sortType, sortKey));
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Cursor has unexpected format", exception);
+        }
+    }
+
+    public String encode() {
+        String raw = this.direction.name()
+                + SEPARATOR + this.sortType.name()
+                + SEPARATOR + this.id
+                + SEPARATOR + (this.sortKey == null ? "" : this.sortKey);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isForward() {
+        return this.direction == CursorDirection.NEXT;
+    }
+
+    public long priceMinorKey() {
+        return Long.parseLong(this.sortKey);
+    }
+
+    private static CatalogCursor of(CursorDirection direction, SortType sortType, ItemWithQuantity item) {
+        SortType resolvedSortType = sortType != null ? sortType : SortType.NO;
+        String sortKey = switch (resolvedSortType) {
+            case NO -> null;
+            case ALPHA -> item.title();
+            case PRICE -> Long.toString(item.priceMinor());
+            case RELEVANCE -> throw new IllegalArgumentException("Keyset paging is not supported for sort type: RELEVANCE");
+        };
+        return new CatalogCursor(direction, resolvedSortType, item.id(), sortKey);
+    }
+
+    private static String validateSortKey(SortType sortType, String sortKey) {
+        if (sortType == SortType.RELEVANCE) {
+            throw new IllegalArgumentException("Keyset paging is not supported for sort type: RELEVANCE");
+        }
+        if (sortType == SortType.NO) {
+            return null;
+        }
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Cursor sort key is missing");
+        }
+        if (sortType == SortType.PRICE) {
+            Long.parseLong(sortKey);
+        }
+        return sortKey;
+    }
+
+}
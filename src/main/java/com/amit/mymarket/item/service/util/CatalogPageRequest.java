@@ -21,6 +21,13 @@ public record CatalogPageRequest(
         return this.pageable.getPageSize();
     }
 
+    /**
+     * One row beyond the page, so that the presence of a next page is known without counting.
+     */
+    public long probeLimit() {
+        return this.limit() + 1;
+    }
+
     public long offset() {
         return (long) this.pageable.getPageNumber() * this.pageable.getPageSize();
     }
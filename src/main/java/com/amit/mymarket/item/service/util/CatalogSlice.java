@@ -0,0 +1,29 @@
+package com.amit.mymarket.item.service.util;
+
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import com.amit.mymarket.item.service.type.SortType;
+
+import java.util.List;
+
+/**
+ * A window of catalog items together with opaque cursors pointing to the neighbouring windows.
+ * Cursors are {@code null} when there is nothing to seek to in that direction
+ * or the sort type cannot be paged by keyset (RELEVANCE).
+ */
+public record CatalogSlice(
+        List<ItemWithQuantity> items,
+        boolean hasPrevious,
+        boolean hasNext,
+        String previousCursor,
+        String nextCursor) {
+
+    public static CatalogSlice of(List<ItemWithQuantity> items, SortType sortType, boolean hasPrevious, boolean hasNext) {
+        if (items.isEmpty() || sortType == SortType.RELEVANCE) {
+            return new CatalogSlice(items, hasPrevious, hasNext, null, null);
+        }
+        String previousCursor = hasPrevious ? CatalogCursor.previous(sortType, items.getFirst()).encode() : null;
+        String nextCursor = hasNext ? CatalogCursor.next(sortType, items.getLast()).encode() : null;
+        return new CatalogSlice(items, hasPrevious, hasNext, previousCursor, nextCursor);
+    }
+
+}
@@ -4,11 +4,13 @@ import com.amit.mymarket.item.api.dto.ItemInfoView;
 import com.amit.mymarket.item.api.dto.CatalogPageDto;
 import com.amit.mymarket.item.api.type.ItemAction;
 import com.amit.mymarket.item.service.type.SortType;
+import io.micrometer.core.annotation.Timed;
 import reactor.core.publisher.Mono;
 
+@Timed(value = "market.usecase", histogram = true)
 public interface ItemUseCase {
 
-    Mono<CatalogPageDto> getCatalogPage(String sessionId, String search, SortType sort, int pageNumber, int pageSize);
+    Mono<CatalogPageDto> getCatalogPage(String sessionId, String search, SortType sort, String cursor, int pageNumber, int pageSize);
 
     Mono<ItemInfoView> getItem(String sessionId, long itemId);
 
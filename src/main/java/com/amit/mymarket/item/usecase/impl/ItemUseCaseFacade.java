@@ -9,17 +9,15 @@ import com.amit.mymarket.item.api.type.ItemAction;
 import com.amit.mymarket.item.entity.Item;
 import com.amit.mymarket.item.service.CatalogQueryService;
 import com.amit.mymarket.item.service.type.SortType;
+import com.amit.mymarket.item.service.util.CatalogSlice;
 import com.amit.mymarket.item.usecase.ItemUseCase;
 import com.amit.mymarket.item.usecase.util.PagingUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 @Service
 public class ItemUseCaseFacade implements ItemUseCase {
@@ -41,9 +39,9 @@ public class ItemUseCaseFacade implements ItemUseCase {
 
     @Override
     @Transactional(readOnly = true)
-    public Mono<CatalogPageDto> getCatalogPage(String sessionId, String search, SortType sort, int pageNumber, int pageSize) {
-        return this.catalogQueryService.getCatalogPage(search, sort, pageNumber, pageSize)
-                .flatMap(page -> this.buildCatalogPageDto(sessionId, search, sort, pageNumber, pageSize, page));
+    public Mono<CatalogPageDto> getCatalogPage(String sessionId, String search, SortType sort, String cursor, int pageNumber, int pageSize) {
+        return this.catalogQueryService.getCatalogSlice(sessionId, search, sort, cursor, pageNumber, pageSize)
+                .map(slice -> this.toCatalogPageDto(search, sort, cursor, pageNumber, pageSize, slice));
     }
 
     @Override
@@ -65,39 +63,23 @@ public class ItemUseCaseFacade implements ItemUseCase {
         };
     }
 
-    private Mono<CatalogPageDto> buildCatalogPageDto(String sessionId,
-                                                     String search,
-                                                     SortType sort,
-                                                     int pageNumber,
-                                                     int pageSize,
-                                                     Page<Item> page) {
-        List<Item> items = page.getContent();
-        Paging paging = new Paging(pageSize, pageNumber, page.hasPrevious(), page.hasNext());
-        if (items.isEmpty()) {
-            return Mono.just(
-                    new CatalogPageDto(
-                            Collections.emptyList(),
-                            paging,
-                            search,
-                            sort
-                    )
-            );
-        }
-        List<Long> itemIds = items.stream().map(Item::getId).toList();
-        return this.catalogQueryService.getCartQuantitiesForItems(sessionId, itemIds)
-                .map(quantities -> this.toCatalogPageDto(items, quantities, paging, search, sort));
-    }
-
-    private CatalogPageDto toCatalogPageDto(List<Item> items,
-                                            Map<Long, Integer> quantities,
-                                            Paging paging,
-                                            String search,
-                                            SortType sort) {
-        List<ItemInfoView> itemInfoViews = items.stream()
-                .map(item -> {
-                    int quantity = quantities.getOrDefault(item.getId(), 0);
-                    return this.itemMapper.toItemInfoView(item, quantity);
-                })
+    private CatalogPageDto toCatalogPageDto(String search,
+                                            SortType sort,
+                                            String cursor,
+                                            int pageNumber,
+                                            int pageSize,
+                                            CatalogSlice slice) {
+        Paging paging = new Paging(
+                pageSize,
+                slice.hasPrevious() ? pageNumber : 1,
+                slice.hasPrevious(),
+                slice.hasNext(),
+                cursor,
+                slice.previousCursor(),
+                slice.nextCursor()
+        );
+        List<ItemInfoView> itemInfoViews = slice.items().stream()
+                .map(this.itemMapper::toItemInfoView)
                 .toList();
         List<List<ItemInfoView>> chunkedItemInfoViews = PagingUtils.chunk(itemInfoViews, 3);
         return new CatalogPageDto(chunkedItemInfoViews, paging, search, sort);
@@ -1,31 +1,59 @@
 package com.amit.mymarket.order.api;
 
+import com.amit.mymarket.cart.api.identity.CartIdentityResolver;
 import com.amit.mymarket.order.usecase.OrderUseCase;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.result.view.Rendering;
-import org.springframework.web.server.WebSession;
+import org.springframework.web.server.ServerWebExchange;
+import org.thymeleaf.spring6.context.webflux.ReactiveDataDriverContextVariable;
 import reactor.core.publisher.Mono;
 
+import java.util.UUID;
+
 @Controller
 @RequestMapping(path = "/orders")
 public class OrderResource {
 
+    private static final int STREAM_BUFFER_SIZE = 10;
+
     private final OrderUseCase orderUseCase;
 
+    private final CartIdentityResolver cartIdentityResolver;
+
     @Autowired
-    public OrderResource(OrderUseCase orderUseCase) {
+    public OrderResource(OrderUseCase orderUseCase, CartIdentityResolver cartIdentityResolver) {
         this.orderUseCase = orderUseCase;
+        this.cartIdentityResolver = cartIdentityResolver;
     }
 
+    /**
+     * Renders one keyset page of the session's orders, or with {@code stream=true} the whole history
+     * through a data-driver variable, so orders are written out in chunks while they are still being read.
+     */
     @GetMapping
-    public Mono<Rendering> getOrdersBySession(WebSession webSession) {
-        webSession.getAttributes().put("init", true);
-        return this.orderUseCase.getOrdersBySession(webSession.getId())
-                .map(orders ->
+    public Mono<Rendering> getOrdersBySession(@RequestParam(name = "before", required = false) Long before,
+                                              @RequestParam(name = "pageSize", defaultValue = "10") int pageSize,
+                                              @RequestParam(name = "stream", defaultValue = "false") boolean stream,
+                                              ServerWebExchange exchange) {
+        if (stream) {
+            return this.cartIdentityResolver.resolve(exchange)
+                    .map(cartIdentity ->
+                            Rendering.view("order/orders-view")
+                                    .modelAttribute("orders", new ReactiveDataDriverContextVariable(
+                                            this.orderUseCase.streamOrdersBySession(cartIdentity.key()), STREAM_BUFFER_SIZE))
+                                    .modelAttribute("stream", true)
+                                    .build()
+                    );
+        }
+        return this.cartIdentityResolver.resolve(exchange)
+                .flatMap(cartIdentity -> this.orderUseCase.getOrderPageBySession(cartIdentity.key(), before, pageSize))
+                .map(orderPage ->
                         Rendering.view("order/orders-view")
-                                .modelAttribute("orders", orders)
+                                .modelAttribute("orders", orderPage.orders())
+                                .modelAttribute("page", orderPage)
+                                .modelAttribute("stream", false)
                                 .build()
                 );
     }
@@ -33,9 +61,9 @@ public class OrderResource {
     @GetMapping(path = "/{id}")
     public Mono<Rendering> getOrderByIdForSession(@PathVariable(name = "id") long id,
                                                   @RequestParam(name = "newOrder", defaultValue = "false") boolean newOrder,
-                                                  WebSession webSession) {
-        webSession.getAttributes().put("init", true);
-        return this.orderUseCase.getOrderByIdForSession(webSession.getId(), id)
+                                                  ServerWebExchange exchange) {
+        return this.cartIdentityResolver.resolve(exchange)
+                .flatMap(cartIdentity -> this.orderUseCase.getOrderByIdForSession(cartIdentity.key(), id))
                 .map(order ->
                         Rendering.view("order/order-view")
                                 .modelAttribute("order", order)
@@ -44,9 +72,15 @@ public class OrderResource {
                 );
     }
 
+    /**
+     * The checkout token comes from the cart view; a form without one still checks out, just without de-duplication.
+     */
     @PostMapping
-    public Mono<Rendering> createOrderFromActiveCartAndClear(WebSession webSession) {
-        return this.orderUseCase.createOrderFromActiveCartAndClear(webSession.getId())
+    public Mono<Rendering> createOrderFromActiveCartAndClear(@RequestParam(name = "checkoutToken", required = false) String checkoutToken,
+                                                             ServerWebExchange exchange) {
+        String token = checkoutToken != null ? checkoutToken : UUID.randomUUID().toString();
+        return this.cartIdentityResolver.resolve(exchange)
+                .flatMap(cartIdentity -> this.orderUseCase.createOrderFromActiveCartAndClear(cartIdentity.key(), token))
                 .map(newOrderId -> Rendering.redirectTo("/orders/" + newOrderId + "?newOrder=true").build());
     }
 
@@ -0,0 +1,19 @@
+package com.amit.mymarket.order.api.dto;
+
+import java.util.List;
+
+public record OrderPageDto(
+        List<OrderDto> orders,
+        Long beforeId,
+        Long nextBeforeId,
+        int pageSize) {
+
+    public boolean hasPrevious() {
+        return this.beforeId != null;
+    }
+
+    public boolean hasNext() {
+        return this.nextBeforeId != null;
+    }
+
+}
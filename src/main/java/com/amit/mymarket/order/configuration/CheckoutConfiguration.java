@@ -0,0 +1,45 @@
+package com.amit.mymarket.order.configuration;
+
+import com.amit.mymarket.cart.repository.CartItemRepository;
+import com.amit.mymarket.cart.repository.CartRepository;
+import com.amit.mymarket.order.repository.CheckoutRequestRepository;
+import com.amit.mymarket.order.repository.OrderRepository;
+import com.amit.mymarket.order.service.CheckoutService;
+import com.amit.mymarket.order.service.checkout.CheckoutRequestCleaner;
+import com.amit.mymarket.order.service.impl.DefaultCheckoutService;
+import com.amit.mymarket.order.service.impl.SetBasedCheckoutService;
+import com.amit.mymarket.order.service.type.CheckoutMode;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(value = CheckoutProperties.class)
+public class CheckoutConfiguration {
+
+    @Bean
+    public CheckoutService checkoutService(CartRepository cartRepository,
+                                           CartItemRepository cartItemRepository,
+                                           OrderRepository orderRepository,
+                                           CheckoutProperties checkoutProperties) {
+        if (checkoutProperties.mode() == CheckoutMode.SET_BASED) {
+            return new SetBasedCheckoutService(cartRepository, orderRepository);
+        }
+        return new DefaultCheckoutService(cartRepository, cartItemRepository, orderRepository);
+    }
+
+    @Bean
+    public CheckoutRequestCleaner checkoutRequestCleaner(CheckoutRequestRepository checkoutRequestRepository,
+                                                         CheckoutProperties checkoutProperties) {
+        CheckoutRequestCleaner checkoutRequestCleaner = new CheckoutRequestCleaner(
+                checkoutRequestRepository,
+                checkoutProperties.deduplicationWindow(),
+                Clock.systemUTC()
+        );
+        checkoutRequestCleaner.startCleanup(checkoutProperties.cleanupInterval());
+        return checkoutRequestCleaner;
+    }
+
+}
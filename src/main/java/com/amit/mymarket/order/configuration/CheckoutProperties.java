@@ -0,0 +1,20 @@
+package com.amit.mymarket.order.configuration;
+
+import com.amit.mymarket.order.service.type.CheckoutMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(value = "checkout")
+public record CheckoutProperties(
+
+        @Value(value = "mode")
+        CheckoutMode mode,
+
+        @Value(value = "deduplication-window")
+        Duration deduplicationWindow,
+
+        @Value(value = "cleanup-interval")
+        Duration cleanupInterval) {
+}
@@ -0,0 +1,72 @@
+package com.amit.mymarket.order.domain.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.util.Objects;
+
+@Table(schema = "shop", name = "checkout_requests")
+public class CheckoutRequest {
+
+    @Id
+    private String token;
+
+    @Column(value = "session_id")
+    private String sessionId;
+
+    @Column(value = "order_id")
+    private Long orderId;
+
+    public CheckoutRequest() {}
+
+    public String getToken() {
+        return this.token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public String getSessionId() {
+        return this.sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Long getOrderId() {
+        return this.orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    @Override
+    public boolean equals(Object otherObject) {
+        if (otherObject == null || getClass() != otherObject.getClass()) {
+            return false;
+        }
+        CheckoutRequest otherCheckoutRequest = (CheckoutRequest) otherObject;
+        return Objects.equals(this.token, otherCheckoutRequest.token)
+                && Objects.equals(this.sessionId, otherCheckoutRequest.sessionId)
+                && Objects.equals(this.orderId, otherCheckoutRequest.orderId);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CheckoutRequest{" +
+                "token='" + this.token + '\'' +
+                ", sessionId='" + this.sessionId + '\'' +
+                ", orderId=" + this.orderId +
+                '}';
+    }
+
+}
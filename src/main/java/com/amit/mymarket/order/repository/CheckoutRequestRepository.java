@@ -0,0 +1,45 @@
+package com.amit.mymarket.order.repository;
+
+import com.amit.mymarket.order.domain.entity.CheckoutRequest;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface CheckoutRequestRepository extends ReactiveCrudRepository<CheckoutRequest, String> {
+
+    /**
+     * Claims the token for this checkout, returning it when the claim succeeded and empty when the token
+     * is already taken. A concurrent claim of the same token waits on the primary key until the first
+     * transaction ends, so only one request ever performs the checkout.
+     */
+    @Query(value = """
+            insert into shop.checkout_requests (token, session_id)
+            values (:token, :sessionId)
+            on conflict (token) do nothing
+            returning token
+            """)
+    Mono<String> claimToken(String token, String sessionId);
+
+    @Query(value = """
+            update shop.checkout_requests
+            set order_id = :orderId
+            where token = :token
+            """)
+    Mono<Integer> completeToken(String token, long orderId);
+
+    @Query(value = """
+            select order_id
+            from shop.checkout_requests
+            where token = :token and session_id = :sessionId and order_id is not null
+            """)
+    Mono<Long> findOrderIdByTokenAndSessionId(String token, String sessionId);
+
+    @Query(value = """
+            delete from shop.checkout_requests
+            where created_at < :cutoff
+            """)
+    Mono<Void> deleteCreatedBefore(Instant cutoff);
+
+}
@@ -0,0 +1,17 @@
+package com.amit.mymarket.order.repository;
+
+import com.amit.mymarket.order.repository.projection.OrderLineRow;
+import reactor.core.publisher.Flux;
+
+/**
+ * Repository fragment for order history queries that are streamed to the client row by row.
+ */
+public interface OrderLineStreamRepository {
+
+    /**
+     * Orders of the session joined with their items, newest order first and rows of one order adjacent.
+     * Orders without items yield a single row with null item columns.
+     */
+    Flux<OrderLineRow> findOrderLinesBySessionId(String sessionId);
+
+}
@@ -0,0 +1,51 @@
+package com.amit.mymarket.order.repository;
+
+import com.amit.mymarket.order.repository.projection.OrderLineRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * Runs the streaming query through DatabaseClient so that only this statement gets a fetch size:
+ * the driver then pulls rows from a portal in batches of FETCH_SIZE instead of reading the whole
+ * history at once, while every other query keeps the driver's default behaviour.
+ */
+public class OrderLineStreamRepositoryImpl implements OrderLineStreamRepository {
+
+    private static final int FETCH_SIZE = 256;
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public OrderLineStreamRepositoryImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<OrderLineRow> findOrderLinesBySessionId(String sessionId) {
+        return this.databaseClient.sql("""
+                        select orders.id                          as order_id,
+                               orders.total_minor                 as total_minor,
+                               orders_items.id                    as order_item_id,
+                               orders_items.title_snapshot        as title_snapshot,
+                               orders_items.price_minor_snapshot  as price_minor_snapshot,
+                               orders_items.quantity              as quantity
+                        from shop.orders
+                        left join shop.orders_items on orders_items.order_id = orders.id
+                        where orders.session_id = :sessionId
+                        order by orders.id desc, orders_items.id asc
+                        """)
+                .bind("sessionId", sessionId)
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map((row, rowMetadata) -> new OrderLineRow(
+                        row.get("order_id", Long.class),
+                        row.get("total_minor", Long.class),
+                        row.get("order_item_id", Long.class),
+                        row.get("title_snapshot", String.class),
+                        row.get("price_minor_snapshot", Long.class),
+                        row.get("quantity", Integer.class)
+                ))
+                .all();
+    }
+
+}
@@ -1,17 +1,21 @@
 package com.amit.mymarket.order.repository;
 
 import com.amit.mymarket.order.domain.entity.Order;
+import com.amit.mymarket.order.repository.projection.OrderLineRow;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface OrderRepository extends ReactiveCrudRepository<Order, Long> {
+@Timed(value = "market.repository", histogram = true)
+public interface OrderRepository extends ReactiveCrudRepository<Order, Long>, OrderLineStreamRepository {
 
     @Query("""
            select *
            from shop.orders
            where session_id = :sessionId
+           order by id desc
            """)
     Flux<Order> findAllBySessionId(String sessionId);
 
@@ -22,4 +26,107 @@ public interface OrderRepository extends ReactiveCrudRepository<Order, Long> {
            """)
     Mono<Order> findByIdAndSessionId(long orderId, String sessionId);
 
+    /**
+     * Checks out the session's active cart in one statement: orders and orders_items are filled by
+     * insert ... select from carts_items joined with items, then the cart is emptied and marked ORDERED.
+     * The cart row is locked first, so a concurrent checkout of the same cart waits and then finds
+     * it no longer ACTIVE. Empty when there is no active cart or it has no items.
+     */
+    @Query("""
+           with cart as (
+               select carts.id, carts.session_id
+               from shop.carts
+               where carts.session_id = :sessionId and carts.status = 'ACTIVE'
+               for update
+           ),
+           lines as (
+               select carts_items.item_id, items.title, items.price_minor, carts_items.quantity
+               from cart
+               join shop.carts_items on carts_items.cart_id = cart.id
+               join shop.items on items.id = carts_items.item_id
+           ),
+           new_order as (
+               insert into shop.orders (session_id, total_minor)
+               select cart.session_id, (select sum(lines.price_minor * lines.quantity) from lines)
+               from cart
+               where exists (select 1 from lines)
+               returning id
+           ),
+           new_order_items as (
+               insert into shop.orders_items (order_id, item_id, title_snapshot, price_minor_snapshot, quantity)
+               select new_order.id, lines.item_id, lines.title, lines.price_minor, lines.quantity
+               from new_order
+               cross join lines
+           ),
+           cleared_cart_items as (
+               delete from shop.carts_items
+               using cart, new_order
+               where carts_items.cart_id = cart.id
+           ),
+           ordered_cart as (
+               update shop.carts
+                  set status = 'ORDERED'
+                 from cart, new_order
+                where carts.id = cart.id
+           )
+           select id from new_order
+           """)
+    Mono<Long> checkoutActiveCart(String sessionId);
+
+    /**
+     * Inserts the order and all of its items in one statement and returns the new order id.
+     * Items are passed column-wise and expanded with unnest, so the number of round-trips
+     * does not depend on how many lines the cart has.
+     */
+    @Query("""
+           with new_order as (
+               insert into shop.orders (session_id, total_minor)
+               values (:sessionId, :totalMinor)
+               returning id
+           ),
+           new_order_items as (
+               insert into shop.orders_items (order_id, item_id, title_snapshot, price_minor_snapshot, quantity)
+               select new_order.id, lines.item_id, lines.title_snapshot, lines.price_minor_snapshot, lines.quantity
+               from new_order
+               cross join unnest(
+                   cast(:itemIds as bigint[]),
+                   cast(:titleSnapshots as text[]),
+                   cast(:priceMinorSnapshots as bigint[]),
+                   cast(:quantities as integer[])
+               ) as lines(item_id, title_snapshot, price_minor_snapshot, quantity)
+           )
+           select id from new_order
+           """)
+    Mono<Long> insertOrderWithItems(String sessionId,
+                                    long totalMinor,
+                                    Long[] itemIds,
+                                    String[] titleSnapshots,
+                                    Long[] priceMinorSnapshots,
+                                    Integer[] quantities);
+
+    /**
+     * Keyset page of the session's orders joined with their items: at most {@code limit} orders with
+     * an id lower than {@code beforeOrderId}, newest first. The window is picked on orders alone, so a
+     * page never splits an order's rows and the cost does not grow with how deep the page is.
+     */
+    @Query("""
+           with page as (
+               select orders.id, orders.total_minor
+               from shop.orders
+               where orders.session_id = :sessionId and orders.id < :beforeOrderId
+               order by orders.id desc
+               limit :limit
+           )
+           select page.id                            as order_id,
+                  page.total_minor                   as total_minor,
+                  orders_items.id                    as order_item_id,
+                  orders_items.title_snapshot        as title_snapshot,
+                  orders_items.price_minor_snapshot  as price_minor_snapshot,
+                  orders_items.quantity              as quantity
+           from page
+           left join shop.orders_items on orders_items.order_id = page.id
+           order by page.id desc, orders_items.id asc
+           """)
+    Flux<OrderLineRow> findOrderLinesPageBySessionId(String sessionId, long beforeOrderId, long limit);
+
 }
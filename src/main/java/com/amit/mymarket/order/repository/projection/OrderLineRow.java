@@ -0,0 +1,10 @@
+package com.amit.mymarket.order.repository.projection;
+
+public record OrderLineRow(
+    Long orderId,
+    Long totalMinor,
+    Long orderItemId,
+    String titleSnapshot,
+    Long priceMinorSnapshot,
+    Integer quantity) {
+}
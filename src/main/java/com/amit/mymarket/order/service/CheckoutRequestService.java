@@ -0,0 +1,15 @@
+package com.amit.mymarket.order.service;
+
+import reactor.core.publisher.Mono;
+
+public interface CheckoutRequestService {
+
+    /**
+     * Checks out the session's active cart at most once per checkout token:
+     *  - the first request claims the token and creates the order,
+     *  - repeated submits with the same token return that order id without touching the cart.
+     * Must run inside the caller's transaction, so a failed checkout releases the token.
+     */
+    Mono<Long> createOrderOnce(String sessionId, String checkoutToken);
+
+}
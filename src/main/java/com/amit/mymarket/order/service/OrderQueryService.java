@@ -2,6 +2,7 @@ package com.amit.mymarket.order.service;
 
 import com.amit.mymarket.order.domain.entity.Order;
 import com.amit.mymarket.order.domain.entity.OrderItem;
+import com.amit.mymarket.order.repository.projection.OrderLineRow;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -14,6 +15,18 @@ public interface OrderQueryService {
      */
     Flux<Order> getOrdersBySession(String sessionId);
 
+    /**
+     * Returns orders of the session joined with their items in one statement, newest order first.
+     * Rows of the same order are adjacent, so callers can group them while streaming.
+     */
+    Flux<OrderLineRow> getOrderLinesBySession(String sessionId);
+
+    /**
+     * Returns joined rows of at most {@code limit} orders older than {@code beforeOrderId}, newest first.
+     * A null {@code beforeOrderId} starts from the newest order.
+     */
+    Flux<OrderLineRow> getOrderLinesPageBySession(String sessionId, Long beforeOrderId, int limit);
+
     /**
      * Returns a single order if it belongs to the session + otherwise throws ResourceNotFoundException.
      */
@@ -0,0 +1,56 @@
+package com.amit.mymarket.order.service.checkout;
+
+import com.amit.mymarket.order.repository.CheckoutRequestRepository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Removes checkout tokens once they are older than the deduplication window. A retry of a checkout
+ * only arrives shortly after the original request, so past the window a token no longer protects
+ * anything and its row can go.
+ */
+public class CheckoutRequestCleaner {
+
+    private final CheckoutRequestRepository checkoutRequestRepository;
+
+    private final Duration deduplicationWindow;
+
+    private final Clock clock;
+
+    private Disposable cleanup;
+
+    public CheckoutRequestCleaner(CheckoutRequestRepository checkoutRequestRepository,
+                                  Duration deduplicationWindow,
+                                  Clock clock) {
+        this.checkoutRequestRepository = checkoutRequestRepository;
+        this.deduplicationWindow = deduplicationWindow;
+        this.clock = clock;
+    }
+
+    public Mono<Void> deleteExpiredRequests() {
+        return this.checkoutRequestRepository.deleteCreatedBefore(this.clock.instant().minus(this.deduplicationWindow));
+    }
+
+    /**
+     * Periodically removes expired tokens; a failed run is skipped and retried on the next tick.
+     */
+    public void startCleanup(Duration cleanupInterval) {
+        this.cleanup = Flux.interval(cleanupInterval)
+                .concatMap(tick -> this.deleteExpiredRequests().onErrorResume(exception -> Mono.empty()))
+                .subscribe();
+    }
+
+    /**
+     * Stops the cleanup; called by the container on shutdown.
+     */
+    public void close() {
+        if (this.cleanup != null) {
+            this.cleanup.dispose();
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.amit.mymarket.order.service.impl;
+
+import com.amit.mymarket.common.exception.ResourceNotFoundException;
+import com.amit.mymarket.common.exception.ServiceException;
+import com.amit.mymarket.common.util.SessionUtils;
+import com.amit.mymarket.order.repository.CheckoutRequestRepository;
+import com.amit.mymarket.order.service.CheckoutRequestService;
+import com.amit.mymarket.order.service.CheckoutService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+@Service
+public class DefaultCheckoutRequestService implements CheckoutRequestService {
+
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    private final CheckoutService checkoutService;
+
+    private final CheckoutRequestRepository checkoutRequestRepository;
+
+    @Autowired
+    public DefaultCheckoutRequestService(CheckoutService checkoutService,
+                                         CheckoutRequestRepository checkoutRequestRepository) {
+        this.checkoutService = checkoutService;
+        this.checkoutRequestRepository = checkoutRequestRepository;
+    }
+
+    @Override
+    public Mono<Long> createOrderOnce(String sessionId, String checkoutToken) {
+        if (!StringUtils.hasText(checkoutToken) || checkoutToken.length() > MAX_TOKEN_LENGTH) {
+            return Mono.error(new ServiceException("Checkout token is invalid"));
+        }
+        return SessionUtils.ensureSessionId(sessionId)
+                .flatMap(id ->
+                        this.checkoutRequestRepository.claimToken(checkoutToken, id)
+                                .flatMap(claimedToken -> this.createOrder(id, claimedToken))
+                                .switchIfEmpty(Mono.defer(() -> this.getCompletedOrderId(id, checkoutToken)))
+                );
+    }
+
+    private Mono<Long> createOrder(String sessionId, String checkoutToken) {
+        return this.checkoutService.createOrderFromActiveCartAndClear(sessionId)
+                .flatMap(orderId ->
+                        this.checkoutRequestRepository.completeToken(checkoutToken, orderId)
+                                .thenReturn(orderId)
+                );
+    }
+
+    private Mono<Long> getCompletedOrderId(String sessionId, String checkoutToken) {
+        return this.checkoutRequestRepository.findOrderIdByTokenAndSessionId(checkoutToken, sessionId)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Checkout request not found for sessionId=" + sessionId)));
+    }
+
+}
@@ -7,20 +7,15 @@ import com.amit.mymarket.cart.repository.CartRepository;
 import com.amit.mymarket.cart.repository.projection.CartItemRow;
 import com.amit.mymarket.common.exception.ResourceNotFoundException;
 import com.amit.mymarket.common.util.SessionUtils;
-import com.amit.mymarket.order.domain.entity.Order;
-import com.amit.mymarket.order.domain.entity.OrderItem;
-import com.amit.mymarket.order.repository.OrderItemRepository;
 import com.amit.mymarket.order.repository.OrderRepository;
 import com.amit.mymarket.order.service.CheckoutService;
+import com.amit.mymarket.order.service.util.OrderItemBatch;
 import com.amit.mymarket.order.service.util.OrderUtils;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
 
-@Service
 public class DefaultCheckoutService implements CheckoutService {
 
     private final CartRepository cartRepository;
@@ -29,14 +24,10 @@ public class DefaultCheckoutService implements CheckoutService {
 
     private final OrderRepository orderRepository;
 
-    private final OrderItemRepository orderItemRepository;
-
-    @Autowired
-    public DefaultCheckoutService(CartRepository cartRepository, CartItemRepository cartItemRepository, OrderRepository orderRepository, OrderItemRepository orderItemRepository) {
+    public DefaultCheckoutService(CartRepository cartRepository, CartItemRepository cartItemRepository, OrderRepository orderRepository) {
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
         this.orderRepository = orderRepository;
-        this.orderItemRepository = orderItemRepository;
     }
 
     @Override
@@ -70,16 +61,17 @@ public class DefaultCheckoutService implements CheckoutService {
     private Mono<Long> createOrderAndClearCart(Cart cart, List<CartItemRow> cartRows) {
         long totalMinor = OrderUtils.calculateTotalMinor(cartRows);
 
-        Order order = new Order(cart.getSessionId(), totalMinor);
-
-        return this.orderRepository.save(order)
-                .flatMap(savedOrder -> {
-                    List<OrderItem> orderItems = OrderUtils.buildOrderItems(savedOrder, cartRows);
-
-                    return this.orderItemRepository.saveAll(orderItems)
-                            .then(this.clearCart(cart))
-                            .thenReturn(savedOrder.getId());
-                });
+        OrderItemBatch orderItemBatch = OrderItemBatch.of(cartRows);
+
+        return this.orderRepository.insertOrderWithItems(
+                        cart.getSessionId(),
+                        totalMinor,
+                        orderItemBatch.itemIds(),
+                        orderItemBatch.titleSnapshots(),
+                        orderItemBatch.priceMinorSnapshots(),
+                        orderItemBatch.quantities()
+                )
+                .flatMap(orderId -> this.clearCart(cart).thenReturn(orderId));
     }
 
     private Mono<Void> clearCart(Cart cart) {
@@ -1,11 +1,13 @@
 package com.amit.mymarket.order.service.impl;
 
 import com.amit.mymarket.common.exception.ResourceNotFoundException;
+import com.amit.mymarket.common.exception.ServiceException;
 import com.amit.mymarket.common.util.SessionUtils;
 import com.amit.mymarket.order.domain.entity.Order;
 import com.amit.mymarket.order.domain.entity.OrderItem;
 import com.amit.mymarket.order.repository.OrderItemRepository;
 import com.amit.mymarket.order.repository.OrderRepository;
+import com.amit.mymarket.order.repository.projection.OrderLineRow;
 import com.amit.mymarket.order.service.OrderQueryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -32,6 +34,22 @@ public class DefaultOrderQueryService implements OrderQueryService {
                 .flatMapMany(this.orderRepository::findAllBySessionId);
     }
 
+    @Override
+    public Flux<OrderLineRow> getOrderLinesBySession(String sessionId) {
+        return SessionUtils.ensureSessionId(sessionId)
+                .flatMapMany(this.orderRepository::findOrderLinesBySessionId);
+    }
+
+    @Override
+    public Flux<OrderLineRow> getOrderLinesPageBySession(String sessionId, Long beforeOrderId, int limit) {
+        if (limit <= 0) {
+            return Flux.error(new ServiceException("Order page limit must be positive: limit=" + limit));
+        }
+        long before = beforeOrderId != null ? beforeOrderId : Long.MAX_VALUE;
+        return SessionUtils.ensureSessionId(sessionId)
+                .flatMapMany(id -> this.orderRepository.findOrderLinesPageBySessionId(id, before, limit));
+    }
+
     @Override
     public Mono<Order> getOrderByIdForSession(long orderId, String sessionId) {
         return SessionUtils.ensureSessionId(sessionId)
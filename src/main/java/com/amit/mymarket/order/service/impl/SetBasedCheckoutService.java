@@ -0,0 +1,41 @@
+package com.amit.mymarket.order.service.impl;
+
+import com.amit.mymarket.cart.domain.type.CartStatus;
+import com.amit.mymarket.cart.repository.CartRepository;
+import com.amit.mymarket.common.exception.ResourceNotFoundException;
+import com.amit.mymarket.common.util.SessionUtils;
+import com.amit.mymarket.order.repository.OrderRepository;
+import com.amit.mymarket.order.service.CheckoutService;
+import reactor.core.publisher.Mono;
+
+/**
+ * Checkout executed by {@link OrderRepository#checkoutActiveCart(String)} as a single statement.
+ * The cart is only looked up again when nothing was ordered, to report why.
+ */
+public class SetBasedCheckoutService implements CheckoutService {
+
+    private final CartRepository cartRepository;
+
+    private final OrderRepository orderRepository;
+
+    public SetBasedCheckoutService(CartRepository cartRepository, OrderRepository orderRepository) {
+        this.cartRepository = cartRepository;
+        this.orderRepository = orderRepository;
+    }
+
+    @Override
+    public Mono<Long> createOrderFromActiveCartAndClear(String sessionId) {
+        return SessionUtils.ensureSessionId(sessionId)
+                .flatMap(id ->
+                        this.orderRepository.checkoutActiveCart(id)
+                                .switchIfEmpty(Mono.defer(() -> this.explainEmptyCheckout(id)))
+                );
+    }
+
+    private Mono<Long> explainEmptyCheckout(String sessionId) {
+        return this.cartRepository.findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE)
+                .flatMap(cart -> Mono.<Long>error(new ResourceNotFoundException("Active cart is empty for sessionId=" + sessionId)))
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Active cart not found for sessionId=" + sessionId)));
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.amit.mymarket.order.service.type;
+
+public enum CheckoutMode {
+
+    /**
+     * Cart rows are read into the application, the total is computed there and the order is written back.
+     */
+    APPLICATION,
+
+    /**
+     * The whole checkout runs as one set-based statement inside Postgres; cart data never leaves the database
+     * and latency does not depend on the number of cart lines.
+     */
+    SET_BASED
+
+}
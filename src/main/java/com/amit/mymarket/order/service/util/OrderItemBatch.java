@@ -0,0 +1,36 @@
+package com.amit.mymarket.order.service.util;
+
+import com.amit.mymarket.cart.repository.projection.CartItemRow;
+
+import java.util.List;
+
+/**
+ * Cart lines laid out column by column, so that all order items are bound as four arrays
+ * and written by a single unnest-based insert.
+ */
+public record OrderItemBatch(
+        Long[] itemIds,
+        String[] titleSnapshots,
+        Long[] priceMinorSnapshots,
+        Integer[] quantities) {
+
+    public static OrderItemBatch of(List<CartItemRow> cartItemRows) {
+        int size = cartItemRows.size();
+
+        Long[] itemIds = new Long[size];
+        String[] titleSnapshots = new String[size];
+        Long[] priceMinorSnapshots = new Long[size];
+        Integer[] quantities = new Integer[size];
+
+        for (int index = 0; index < size; index++) {
+            CartItemRow cartItemRow = cartItemRows.get(index);
+            itemIds[index] = cartItemRow.id();
+            titleSnapshots[index] = cartItemRow.title();
+            priceMinorSnapshots[index] = cartItemRow.priceMinor() != null ? cartItemRow.priceMinor() : 0L;
+            quantities[index] = cartItemRow.quantity() != null ? cartItemRow.quantity() : 0;
+        }
+
+        return new OrderItemBatch(itemIds, titleSnapshots, priceMinorSnapshots, quantities);
+    }
+
+}
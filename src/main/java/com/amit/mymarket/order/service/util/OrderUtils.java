@@ -1,8 +1,6 @@
 package com.amit.mymarket.order.service.util;
 
 import com.amit.mymarket.cart.repository.projection.CartItemRow;
-import com.amit.mymarket.order.domain.entity.Order;
-import com.amit.mymarket.order.domain.entity.OrderItem;
 
 import java.util.List;
 
@@ -20,20 +18,6 @@ public final class OrderUtils {
                 .sum();
     }
 
-    public static List<OrderItem> buildOrderItems(Order order, List<CartItemRow> cartItemRows) {
-        return cartItemRows.stream()
-                .map(cartItemRow -> {
-                    OrderItem orderItem = new OrderItem();
-                    orderItem.setOrderId(order.getId());
-                    orderItem.setItemId(cartItemRow.id());
-                    orderItem.setTitleSnapshot(cartItemRow.title());
-                    orderItem.setPriceMinorSnapshot(cartItemRow.priceMinor() != null ? cartItemRow.priceMinor() : 0L);
-                    orderItem.setQuantity(cartItemRow.quantity() != null ? cartItemRow.quantity() : 0);
-                    return orderItem;
-                })
-                .toList();
-    }
-
     private OrderUtils() {
         throw new UnsupportedOperationException();
     }
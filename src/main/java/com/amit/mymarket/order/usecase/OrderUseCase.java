@@ -1,16 +1,29 @@
 package com.amit.mymarket.order.usecase;
 
 import com.amit.mymarket.order.api.dto.OrderDto;
+import com.amit.mymarket.order.api.dto.OrderPageDto;
+import io.micrometer.core.annotation.Timed;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
+@Timed(value = "market.usecase", histogram = true)
 public interface OrderUseCase {
 
-    Mono<List<OrderDto>> getOrdersBySession(String sessionId);
+    /**
+     * Keyset page of the session's orders, newest first, starting below {@code beforeOrderId} (from the newest when null).
+     */
+    Mono<OrderPageDto> getOrderPageBySession(String sessionId, Long beforeOrderId, int pageSize);
+
+    /**
+     * Whole order history of the session, newest first, emitted order by order as rows arrive.
+     */
+    Flux<OrderDto> streamOrdersBySession(String sessionId);
 
     Mono<OrderDto> getOrderByIdForSession(String sessionId, long orderId);
 
-    Mono<Long> createOrderFromActiveCartAndClear(String sessionId);
+    /**
+     * Creates an order from the active cart once per checkout token; repeated submits return the same order id.
+     */
+    Mono<Long> createOrderFromActiveCartAndClear(String sessionId, String checkoutToken);
 
 }
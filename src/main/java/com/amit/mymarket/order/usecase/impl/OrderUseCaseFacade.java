@@ -1,13 +1,16 @@
 package com.amit.mymarket.order.usecase.impl;
 
 import com.amit.mymarket.order.api.dto.OrderDto;
-import com.amit.mymarket.order.service.CheckoutService;
+import com.amit.mymarket.order.api.dto.OrderPageDto;
+import com.amit.mymarket.order.repository.projection.OrderLineRow;
+import com.amit.mymarket.order.service.CheckoutRequestService;
 import com.amit.mymarket.order.service.OrderQueryService;
 import com.amit.mymarket.order.usecase.OrderUseCase;
 import com.amit.mymarket.order.usecase.mapper.OrderMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -15,29 +18,38 @@ import java.util.List;
 @Service
 public class OrderUseCaseFacade implements OrderUseCase {
 
+    private static final int MAX_ORDER_PAGE_SIZE = 50;
+
     private final OrderQueryService orderQueryService;
 
-    private final CheckoutService checkoutService;
+    private final CheckoutRequestService checkoutRequestService;
 
     private final OrderMapper orderMapper;
 
     @Autowired
-    public OrderUseCaseFacade(OrderQueryService orderQueryService, CheckoutService checkoutService, OrderMapper orderMapper) {
+    public OrderUseCaseFacade(OrderQueryService orderQueryService, CheckoutRequestService checkoutRequestService, OrderMapper orderMapper) {
         this.orderQueryService = orderQueryService;
-        this.checkoutService = checkoutService;
+        this.checkoutRequestService = checkoutRequestService;
         this.orderMapper = orderMapper;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Mono<List<OrderDto>> getOrdersBySession(String sessionId) {
-        return this.orderQueryService.getOrdersBySession(sessionId)
-                .flatMap(order ->
-                        this.orderQueryService.getOrderItems(order.getId())
-                                .collectList()
-                                .map(items -> this.orderMapper.toOrderDto(order, items))
-                )
-                .collectList();
+    public Mono<OrderPageDto> getOrderPageBySession(String sessionId, Long beforeOrderId, int pageSize) {
+        int limit = Math.clamp(pageSize, 1, MAX_ORDER_PAGE_SIZE);
+        return this.orderQueryService.getOrderLinesPageBySession(sessionId, beforeOrderId, limit + 1)
+                .bufferUntilChanged(OrderLineRow::orderId)
+                .map(this.orderMapper::toOrderDto)
+                .collectList()
+                .map(orders -> toOrderPage(orders, beforeOrderId, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<OrderDto> streamOrdersBySession(String sessionId) {
+        return this.orderQueryService.getOrderLinesBySession(sessionId)
+                .bufferUntilChanged(OrderLineRow::orderId)
+                .map(this.orderMapper::toOrderDto);
     }
 
     @Override
@@ -53,8 +65,20 @@ public class OrderUseCaseFacade implements OrderUseCase {
 
     @Override
     @Transactional
-    public Mono<Long> createOrderFromActiveCartAndClear(String sessionId) {
-        return this.checkoutService.createOrderFromActiveCartAndClear(sessionId);
+    public Mono<Long> createOrderFromActiveCartAndClear(String sessionId, String checkoutToken) {
+        return this.checkoutRequestService.createOrderOnce(sessionId, checkoutToken);
+    }
+
+    /**
+     * The page is fetched with one extra order; its presence means there is a next page,
+     * which then starts below the last order shown. Any page requested below an order has newer ones before it.
+     */
+    private static OrderPageDto toOrderPage(List<OrderDto> orders, Long beforeOrderId, int pageSize) {
+        if (orders.size() <= pageSize) {
+            return new OrderPageDto(orders, beforeOrderId, null, pageSize);
+        }
+        List<OrderDto> pageOrders = orders.subList(0, pageSize);
+        return new OrderPageDto(pageOrders, beforeOrderId, pageOrders.getLast().id(), pageSize);
     }
 
 }
@@ -5,6 +5,7 @@ import com.amit.mymarket.order.api.dto.OrderDto;
 import com.amit.mymarket.order.api.dto.OrderItemDto;
 import com.amit.mymarket.order.domain.entity.Order;
 import com.amit.mymarket.order.domain.entity.OrderItem;
+import com.amit.mymarket.order.repository.projection.OrderLineRow;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -27,6 +28,33 @@ public final class DefaultOrderMapper implements OrderMapper {
         );
     }
 
+    @Override
+    public OrderDto toOrderDto(List<OrderLineRow> orderLines) {
+        OrderLineRow firstOrderLine = orderLines.getFirst();
+
+        List<OrderItemDto> orderItemViews = orderLines.stream()
+                .filter(orderLine -> orderLine.orderItemId() != null)
+                .map(this::toOrderItemDto)
+                .toList();
+
+        String totalFormatted = PriceFormatter.formatPrice(firstOrderLine.totalMinor());
+
+        return new OrderDto(
+                firstOrderLine.orderId(),
+                orderItemViews,
+                totalFormatted
+        );
+    }
+
+    private OrderItemDto toOrderItemDto(OrderLineRow orderLine) {
+        return new OrderItemDto(
+                orderLine.orderItemId(),
+                orderLine.titleSnapshot(),
+                PriceFormatter.formatPrice(orderLine.priceMinorSnapshot()),
+                orderLine.quantity()
+        );
+    }
+
     private OrderItemDto toOrderItemDto(OrderItem orderItem) {
         return new OrderItemDto(
                 orderItem.getId(),
@@ -3,6 +3,7 @@ package com.amit.mymarket.order.usecase.mapper;
 import com.amit.mymarket.order.api.dto.OrderDto;
 import com.amit.mymarket.order.domain.entity.Order;
 import com.amit.mymarket.order.domain.entity.OrderItem;
+import com.amit.mymarket.order.repository.projection.OrderLineRow;
 
 import java.util.List;
 
@@ -10,4 +11,9 @@ public interface OrderMapper {
 
     OrderDto toOrderDto(Order order, List<OrderItem> items);
 
+    /**
+     * Assembles one order from its adjacent joined rows.
+     */
+    OrderDto toOrderDto(List<OrderLineRow> orderLines);
+
 }
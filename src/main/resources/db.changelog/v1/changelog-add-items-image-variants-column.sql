@@ -0,0 +1,7 @@
+-- liquibase formatted sql
+
+-- changeset v-lyutin:add-items-image-variants-column
+ALTER TABLE ${schemaName}.items
+  ADD COLUMN img_variants VARCHAR(1024) NULL;
+
+-- rollback ALTER TABLE ${schemaName}.items DROP COLUMN img_variants;
@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+
+-- changeset v-lyutin:create-cart-owner-ids-sequence
+CREATE SEQUENCE ${schemaName}.cart_owner_ids START WITH 1 INCREMENT BY 1;
+
+-- rollback DROP SEQUENCE ${schemaName}.cart_owner_ids;
@@ -0,0 +1,21 @@
+-- liquibase formatted sql
+
+-- changeset v-lyutin:abandon-duplicate-active-carts
+UPDATE ${schemaName}.carts
+SET status = 'ABANDONED'
+WHERE status = 'ACTIVE'
+  AND id NOT IN (
+    SELECT max(id)
+    FROM ${schemaName}.carts
+    WHERE status = 'ACTIVE'
+    GROUP BY session_id
+  );
+
+-- rollback empty
+
+-- changeset v-lyutin:create-carts-active-session-unique-index
+CREATE UNIQUE INDEX uq_carts_active_session_id
+  ON ${schemaName}.carts (session_id)
+  WHERE status = 'ACTIVE';
+
+-- rollback DROP INDEX ${schemaName}.uq_carts_active_session_id;
@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+
+-- changeset v-lyutin:create-checkout-requests-created-at-index
+CREATE INDEX idx_checkout_requests_created_at ON ${schemaName}.checkout_requests (created_at);
+
+-- rollback DROP INDEX IF EXISTS ${schemaName}.idx_checkout_requests_created_at;
@@ -0,0 +1,12 @@
+-- liquibase formatted sql
+
+-- changeset v-lyutin:create-checkout-requests-table
+CREATE TABLE ${schemaName}.checkout_requests (
+  token       VARCHAR(64) PRIMARY KEY,
+  session_id  VARCHAR(128) NOT NULL,
+  order_id    BIGINT NULL,
+  created_at  TIMESTAMPTZ NOT NULL DEFAULT now(),
+  CONSTRAINT fk_checkout_requests_orders FOREIGN KEY (order_id) REFERENCES ${schemaName}.orders(id) ON DELETE CASCADE
+);
+
+-- rollback DROP TABLE ${schemaName}.checkout_requests;
@@ -0,0 +1,16 @@
+-- liquibase formatted sql
+
+-- changeset v-lyutin:add-items-image-variant-keys-column
+ALTER TABLE ${schemaName}.items
+  ADD COLUMN img_variant_keys TEXT[] GENERATED ALWAYS AS (
+    string_to_array(regexp_replace(img_variants, '(^|,)[^=,]+=', '\1', 'g'), ',')
+  ) STORED;
+
+-- rollback ALTER TABLE ${schemaName}.items DROP COLUMN img_variant_keys;
+
+-- changeset v-lyutin:create-items-image-reference-indexes
+CREATE INDEX idx_items_img_path ON ${schemaName}.items (img_path);
+CREATE INDEX idx_items_img_variant_keys ON ${schemaName}.items USING GIN (img_variant_keys);
+
+-- rollback DROP INDEX IF EXISTS ${schemaName}.idx_items_img_variant_keys;
+-- rollback DROP INDEX IF EXISTS ${schemaName}.idx_items_img_path;
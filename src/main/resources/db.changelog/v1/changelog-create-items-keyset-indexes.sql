@@ -0,0 +1,8 @@
+-- liquibase formatted sql
+
+-- changeset v-lyutin:create-items-keyset-indexes
+CREATE INDEX idx_items_lower_title_id ON ${schemaName}.items (lower(title), id);
+CREATE INDEX idx_items_price_minor_id ON ${schemaName}.items (price_minor, id);
+
+-- rollback DROP INDEX IF EXISTS ${schemaName}.idx_items_price_minor_id;
+-- rollback DROP INDEX IF EXISTS ${schemaName}.idx_items_lower_title_id;
@@ -0,0 +1,17 @@
+-- liquibase formatted sql
+
+-- changeset v-lyutin:create-pg-trgm-extension
+-- preconditions onFail:MARK_RAN
+-- precondition-sql-check expectedResult:1 SELECT count(*) FROM pg_available_extensions WHERE name = 'pg_trgm'
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- rollback DROP EXTENSION IF EXISTS pg_trgm;
+
+-- changeset v-lyutin:create-items-trigram-indexes
+-- preconditions onFail:MARK_RAN
+-- precondition-sql-check expectedResult:1 SELECT count(*) FROM pg_extension WHERE extname = 'pg_trgm'
+CREATE INDEX idx_items_title_trgm ON ${schemaName}.items USING gin (title gin_trgm_ops);
+CREATE INDEX idx_items_description_trgm ON ${schemaName}.items USING gin (description gin_trgm_ops);
+
+-- rollback DROP INDEX IF EXISTS ${schemaName}.idx_items_description_trgm;
+-- rollback DROP INDEX IF EXISTS ${schemaName}.idx_items_title_trgm;
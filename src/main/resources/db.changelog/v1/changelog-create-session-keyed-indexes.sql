@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+
+-- changeset v-lyutin:create-carts-session-id-status-index
+CREATE INDEX idx_carts_session_id_status
+  ON ${schemaName}.carts (session_id, status);
+
+-- rollback DROP INDEX ${schemaName}.idx_carts_session_id_status;
+
+-- changeset v-lyutin:create-orders-session-id-index
+CREATE INDEX idx_orders_session_id_id
+  ON ${schemaName}.orders (session_id, id);
+
+-- rollback DROP INDEX ${schemaName}.idx_orders_session_id_id;
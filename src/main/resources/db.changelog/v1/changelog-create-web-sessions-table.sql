@@ -0,0 +1,15 @@
+-- liquibase formatted sql
+
+-- changeset v-lyutin:create-web-sessions-table
+CREATE UNLOGGED TABLE ${schemaName}.web_sessions (
+  id                    VARCHAR(64) PRIMARY KEY,
+  creation_time         TIMESTAMPTZ NOT NULL,
+  last_access_time      TIMESTAMPTZ NOT NULL,
+  max_inactive_seconds  INTEGER NOT NULL,
+  expires_at            TIMESTAMPTZ NOT NULL,
+  attributes            BYTEA NOT NULL
+);
+
+CREATE INDEX idx_web_sessions_expires_at ON ${schemaName}.web_sessions (expires_at);
+
+-- rollback DROP TABLE ${schemaName}.web_sessions;
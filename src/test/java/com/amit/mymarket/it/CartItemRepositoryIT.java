@@ -1,6 +1,7 @@
 package com.amit.mymarket.it;
 
 import com.amit.mymarket.cart.repository.CartItemRepository;
+import com.amit.mymarket.cart.repository.projection.CartItemQuantityRow;
 import com.amit.mymarket.cart.repository.projection.CartItemRow;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -108,6 +109,22 @@ class CartItemRepositoryIT extends AbstractRepositoryIT {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName(value = "Should return only requested item quantities of active cart with given session identifier")
+    void findItemQuantities_shouldReturnRequestedItemQuantitiesOfActiveCart() {
+        String sessionId = "session-123";
+
+        Flux<CartItemQuantityRow> cartItemQuantityRowFlux = this.cartItemRepository.findItemQuantities(sessionId, new Long[]{1L, 3L, 99L});
+
+        StepVerifier.create(cartItemQuantityRowFlux.collectList())
+                .assertNext(cartItemQuantityRowList -> assertThat(cartItemQuantityRowList)
+                        .containsExactlyInAnyOrder(
+                                new CartItemQuantityRow(1L, 1),
+                                new CartItemQuantityRow(3L, 3)
+                        ))
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName(value = "Should calculate total cart price for active cart with given session identifier")
     void calculateCartTotalPrice_shouldReturnTotalPriceForActiveCart() {
@@ -148,12 +165,12 @@ class CartItemRepositoryIT extends AbstractRepositoryIT {
 
     @Test
     @DisplayName(value = "Should decrease quantity but keep cart item when quantity is greater than one")
-    void decrementWhenItemQuantityGreaterThanOne_shouldDecreaseQuantityAndKeepCartItem() {
-        long cartId = 1L;   // session-123
+    void decrementItemQuantityOrDelete_shouldDecreaseQuantityAndKeepCartItem() {
         long itemId = 3L;   // Carrot, quantity = 3
         String sessionId = "session-123";
 
-        Mono<List<CartItemRow>> cartItemRowsAfterDecrementMono = this.cartItemRepository.decrementWhenItemQuantityGreaterThanOne(cartId, itemId)
+        Mono<List<CartItemRow>> cartItemRowsAfterDecrementMono = this.cartItemRepository.decrementItemQuantityOrDelete(sessionId, itemId)
+                .doOnNext(remainingQuantity -> assertThat(remainingQuantity).isEqualTo(2))
                 .thenMany(this.cartItemRepository.findCartItems(sessionId))
                 .collectList();
 
@@ -171,6 +188,24 @@ class CartItemRepositoryIT extends AbstractRepositoryIT {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName(value = "Should apply every concurrent decrement of the same cart item")
+    void decrementItemQuantityOrDelete_shouldApplyConcurrentDecrements() {
+        long itemId = 3L;   // Carrot, quantity = 3
+        String sessionId = "session-123";
+
+        Mono<List<CartItemRow>> cartItemRowsAfterConcurrentDecrementsMono = Flux.range(0, 3)
+                .flatMap(attempt -> this.cartItemRepository.decrementItemQuantityOrDelete(sessionId, itemId))
+                .thenMany(this.cartItemRepository.findCartItems(sessionId))
+                .collectList();
+
+        StepVerifier.create(cartItemRowsAfterConcurrentDecrementsMono)
+                .assertNext(cartItemRowList -> assertThat(cartItemRowList)
+                        .extracting(CartItemRow::title)
+                        .containsExactly("Apple", "Banana"))
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName(value = "Should delete cart item when deleteCartItem is called for given cart identifier and item identifier")
     void deleteCartItem_shouldDeleteCartItemRegardlessOfQuantity() {
@@ -197,13 +232,13 @@ class CartItemRepositoryIT extends AbstractRepositoryIT {
     }
 
     @Test
-    @DisplayName(value = "Should delete cart item when quantity is one using deleteWhenItemQuantityIsOne")
-    void deleteWhenItemQuantityIsOne_shouldDeleteCartItemWhenQuantityIsOne() {
-        long cartId = 1L;   // session-123
+    @DisplayName(value = "Should delete cart item when quantity is one using decrementItemQuantityOrDelete")
+    void decrementItemQuantityOrDelete_shouldDeleteCartItemWhenQuantityIsOne() {
         long itemId = 1L;   // Apple, quantity = 1
         String sessionId = "session-123";
 
-        Mono<List<CartItemRow>> cartItemRowsAfterConditionalDeleteMono = this.cartItemRepository.deleteWhenItemQuantityIsOne(cartId, itemId)
+        Mono<List<CartItemRow>> cartItemRowsAfterConditionalDeleteMono = this.cartItemRepository.decrementItemQuantityOrDelete(sessionId, itemId)
+                .doOnNext(remainingQuantity -> assertThat(remainingQuantity).isZero())
                 .thenMany(this.cartItemRepository.findCartItems(sessionId))
                 .collectList();
 
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -94,4 +95,36 @@ class CartRepositoryIT extends AbstractRepositoryIT {
         StepVerifier.create(cart).verifyComplete();
     }
 
+    @Test
+    @DisplayName(value = "Should return existing active cart without creating another one")
+    void getOrCreateActiveCart_shouldReturnExistingActiveCart() {
+        Mono<Long> activeCartCountMono = this.cartRepository.getOrCreateActiveCart("session-123")
+                .doOnNext(cart -> assertThat(cart.getId()).isEqualTo(1L))
+                .then(this.databaseClient.sql("select count(*) as carts_count from shop.carts where session_id = 'session-123' and status = 'ACTIVE'")
+                        .map(row -> row.get("carts_count", Long.class))
+                        .one());
+
+        StepVerifier.create(activeCartCountMono)
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should create single active cart when called concurrently for new session identifier")
+    void getOrCreateActiveCart_shouldCreateSingleActiveCartUnderConcurrentCalls() {
+        Mono<Long> activeCartCountMono = this.databaseClient.sql("select setval('shop.carts_id_seq', 100)")
+                .fetch()
+                .rowsUpdated()
+                .thenMany(Flux.range(0, 8)
+                        .flatMap(attempt -> this.cartRepository.getOrCreateActiveCart("new-session")))
+                .doOnNext(cart -> assertThat(cart.getStatus()).isEqualTo(CartStatus.ACTIVE))
+                .then(this.databaseClient.sql("select count(*) as carts_count from shop.carts where session_id = 'new-session' and status = 'ACTIVE'")
+                        .map(row -> row.get("carts_count", Long.class))
+                        .one());
+
+        StepVerifier.create(activeCartCountMono)
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
 }
@@ -0,0 +1,106 @@
+package com.amit.mymarket.it;
+
+import com.amit.mymarket.order.domain.entity.CheckoutRequest;
+import com.amit.mymarket.order.repository.CheckoutRequestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+
+class CheckoutRequestRepositoryIT extends AbstractRepositoryIT {
+
+    @Autowired
+    private CheckoutRequestRepository checkoutRequestRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUpTestData() {
+        Mono<Void> setupFlow = this.databaseClient.sql("delete from shop.checkout_requests")
+                .fetch()
+                .rowsUpdated()
+                .then(this.databaseClient.sql("delete from shop.orders where id = 500")
+                        .fetch()
+                        .rowsUpdated())
+                .then(this.databaseClient.sql("insert into shop.orders (id, session_id, total_minor) values (500, 'session-123', 100)")
+                        .fetch()
+                        .rowsUpdated())
+                .then();
+        setupFlow.block();
+    }
+
+    @AfterEach
+    void cleanUpTestData() {
+        Mono<Void> cleanupFlow = this.databaseClient.sql("delete from shop.checkout_requests")
+                .fetch()
+                .rowsUpdated()
+                .then(this.databaseClient.sql("delete from shop.orders where id = 500")
+                        .fetch()
+                        .rowsUpdated())
+                .then();
+        cleanupFlow.block();
+    }
+
+    @Test
+    @DisplayName(value = "Should claim checkout token only once")
+    void claimToken_shouldClaimTokenOnlyOnce() {
+        StepVerifier.create(this.checkoutRequestRepository.claimToken("token-1", "session-123"))
+                .expectNext("token-1")
+                .verifyComplete();
+
+        StepVerifier.create(this.checkoutRequestRepository.claimToken("token-1", "session-123"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should return recorded order identifier only for completed token of the same session")
+    void findOrderIdByTokenAndSessionId_shouldReturnOrderIdForCompletedTokenOfSameSession() {
+        Mono<Long> orderIdMono = this.checkoutRequestRepository.claimToken("token-1", "session-123")
+                .then(this.checkoutRequestRepository.findOrderIdByTokenAndSessionId("token-1", "session-123"));
+
+        StepVerifier.create(orderIdMono)
+                .verifyComplete();
+
+        Mono<Long> completedOrderIdMono = this.checkoutRequestRepository.completeToken("token-1", 500L)
+                .then(this.checkoutRequestRepository.findOrderIdByTokenAndSessionId("token-1", "session-123"));
+
+        StepVerifier.create(completedOrderIdMono)
+                .expectNext(500L)
+                .verifyComplete();
+
+        StepVerifier.create(this.checkoutRequestRepository.findOrderIdByTokenAndSessionId("token-1", "another-session"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should delete only checkout tokens created before the cutoff")
+    void deleteCreatedBefore_shouldDeleteOnlyTokensCreatedBeforeCutoff() {
+        Instant now = Instant.now();
+        Mono<Void> insertFlow = this.databaseClient.sql("insert into shop.checkout_requests (token, session_id, created_at) values ('token-old', 'session-123', :createdAt)")
+                .bind("createdAt", now.minus(Duration.ofDays(2)))
+                .fetch()
+                .rowsUpdated()
+                .then(this.databaseClient.sql("insert into shop.checkout_requests (token, session_id, created_at) values ('token-new', 'session-123', :createdAt)")
+                        .bind("createdAt", now)
+                        .fetch()
+                        .rowsUpdated())
+                .then();
+        insertFlow.block();
+
+        StepVerifier.create(this.checkoutRequestRepository.deleteCreatedBefore(now.minus(Duration.ofDays(1))))
+                .verifyComplete();
+
+        StepVerifier.create(this.checkoutRequestRepository.findAll().map(CheckoutRequest::getToken))
+                .expectNext("token-new")
+                .verifyComplete();
+    }
+
+}
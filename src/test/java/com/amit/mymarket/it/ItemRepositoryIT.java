@@ -1,7 +1,11 @@
 package com.amit.mymarket.it;
 
+import com.amit.mymarket.item.entity.Item;
 import com.amit.mymarket.item.repository.ItemRepository;
 import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import com.amit.mymarket.item.service.snapshot.ItemSnapshot;
+import com.amit.mymarket.item.service.type.SortType;
+import com.amit.mymarket.item.service.util.CatalogPageRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +16,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+import java.util.Locale;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class ItemRepositoryIT extends AbstractRepositoryIT {
@@ -208,6 +215,127 @@ class ItemRepositoryIT extends AbstractRepositoryIT {
                 .verifyComplete();
     }
 
+    /**
+     * The test image has no libc Russian locale, so the snapshot is compared with the ICU Russian collation.
+     */
+    @Test
+    @DisplayName(value = "Should order Russian titles in the item snapshot like a Russian database collation")
+    void itemSnapshot_shouldOrderRussianTitlesLikeDatabaseCollation() {
+        this.databaseClient.sql("""
+                        insert into shop.items (id, title, description, img_path, price_minor) values
+                        (10, 'Яблоко', '', null, 10),
+                        (11, 'ёлка', '', null, 10),
+                        (12, 'Ель', '', null, 10),
+                        (13, 'арбуз', '', null, 10),
+                        (14, 'Ёж', '', null, 10),
+                        (15, 'Вишня', '', null, 10)
+                        """)
+                .fetch()
+                .rowsUpdated()
+                .block();
+        List<Item> items = this.itemRepository.findAll().collectList().block();
+        List<String> snapshotTitles = ItemSnapshot.of(items, 4, Locale.forLanguageTag("ru-RU"))
+                .findPage(CatalogPageRequest.of(null, SortType.ALPHA, 1, 20))
+                .map(Item::getTitle)
+                .getContent();
+
+        Mono<List<String>> databaseTitles = this.databaseClient.sql("""
+                        select title from shop.items order by lower(title) collate "ru-RU-x-icu", id
+                        """)
+                .map(row -> row.get("title", String.class))
+                .all()
+                .collectList();
+
+        StepVerifier.create(databaseTitles)
+                .assertNext(titles -> assertThat(titles)
+                        .containsExactlyElementsOf(snapshotTitles)
+                        .containsSubsequence("Ёж", "ёлка", "Ель", "Яблоко"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should seek items after given title and identifier when sort type is ALPHA")
+    void searchItemsWithQuantityAfterTitle_shouldSeekItemsAfterGivenTitleAndIdentifier() {
+        String sessionId = "session-123";
+        String searchQuery = null;
+        String title = "Apple";
+        long id = 1L;
+        long limit = 10L;
+
+        Flux<ItemWithQuantity> itemWithQuantityFlux = this.itemRepository.searchItemsWithQuantityAfterTitle(
+                sessionId,
+                searchQuery,
+                title,
+                id,
+                limit
+        );
+
+        StepVerifier.create(itemWithQuantityFlux.collectList())
+                .assertNext(itemWithQuantityList -> {
+                    assertThat(itemWithQuantityList)
+                            .extracting(ItemWithQuantity::title)
+                            .containsExactly("Banana", "Carrot");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should seek items before given price and identifier in descending order when sort type is PRICE")
+    void searchItemsWithQuantityBeforePrice_shouldSeekItemsBeforeGivenPriceAndIdentifierInDescendingOrder() {
+        String sessionId = "session-123";
+        String searchQuery = null;
+        long priceMinor = 100L;
+        long id = 1L;
+        long limit = 1L;
+
+        Flux<ItemWithQuantity> itemWithQuantityFlux = this.itemRepository.searchItemsWithQuantityBeforePrice(
+                sessionId,
+                searchQuery,
+                priceMinor,
+                id,
+                limit
+        );
+
+        StepVerifier.create(itemWithQuantityFlux)
+                .assertNext(itemWithQuantity -> {
+                    assertThat(itemWithQuantity.title()).isEqualTo("Carrot");
+                    assertThat(itemWithQuantity.quantity()).isEqualTo(5);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should rank items by similarity to searchQuery when searching by relevance")
+    void searchItemsWithQuantityByRelevance_shouldRankItemsBySimilarityToSearchQuery() {
+        this.databaseClient.sql("""
+                        insert into shop.items (id, title, description, img_path, price_minor) values
+                        (4, 'Orange', 'Juicy citrus', '/images/orange.png', 120)
+                        """)
+                .fetch()
+                .rowsUpdated()
+                .block();
+
+        String sessionId = "session-123";
+        String searchQuery = "orange"; // title match for Orange, description match for Carrot
+        long limit = 10L;
+        long offset = 0L;
+
+        Flux<ItemWithQuantity> itemWithQuantityFlux = this.itemRepository.searchItemsWithQuantityByRelevance(
+                sessionId,
+                searchQuery,
+                limit,
+                offset
+        );
+
+        StepVerifier.create(itemWithQuantityFlux.collectList())
+                .assertNext(itemWithQuantityList -> {
+                    assertThat(itemWithQuantityList)
+                            .extracting(ItemWithQuantity::title)
+                            .containsExactly("Orange", "Carrot");
+                })
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName(value = "Should return item with zero quantity when item is not in session cart")
     void findItemWithQuantity_shouldReturnItemWithZeroQuantityWhenItemIsNotInSessionCart() {
@@ -270,4 +398,43 @@ class ItemRepositoryIT extends AbstractRepositoryIT {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName(value = "Should attach image variants only while item still points at the same image")
+    void updateImageVariants_shouldUpdateOnlyWhenImagePathMatches() {
+        String imageVariants = "thumb=items/1/uuid/thumb.jpg";
+
+        StepVerifier.create(this.itemRepository.updateImageVariants(1L, "/images/old-apple.png", imageVariants))
+                .expectNext(0)
+                .verifyComplete();
+
+        StepVerifier.create(this.itemRepository.updateImageVariants(1L, "/images/apple.png", imageVariants))
+                .expectNext(1)
+                .verifyComplete();
+
+        StepVerifier.create(this.itemRepository.findItemWithQuantity(1L, "session-123"))
+                .assertNext(itemWithQuantity -> assertThat(itemWithQuantity.imageVariants()).isEqualTo(imageVariants))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should count items referencing a key as image or as one of its variants")
+    void countImageReferences_shouldCountImageAndVariantReferences() {
+        this.databaseClient.sql("update shop.items set img_variants = 'thumb=/images/apple.png' where id = 2")
+                .fetch()
+                .rowsUpdated()
+                .block();
+
+        StepVerifier.create(this.itemRepository.countImageReferences("/images/apple.png"))
+                .expectNext(2L)
+                .verifyComplete();
+
+        StepVerifier.create(this.itemRepository.countImageReferences("/images/unknown.png"))
+                .expectNext(0L)
+                .verifyComplete();
+
+        StepVerifier.create(this.itemRepository.countImageReferences("/images/apple"))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
 }
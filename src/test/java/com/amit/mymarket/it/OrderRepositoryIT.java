@@ -2,6 +2,7 @@ package com.amit.mymarket.it;
 
 import com.amit.mymarket.order.domain.entity.Order;
 import com.amit.mymarket.order.repository.OrderRepository;
+import com.amit.mymarket.order.repository.projection.OrderLineRow;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,6 +16,7 @@ import reactor.test.StepVerifier;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 class OrderRepositoryIT extends AbstractRepositoryIT {
 
@@ -52,6 +54,12 @@ class OrderRepositoryIT extends AbstractRepositoryIT {
                 .then(this.databaseClient.sql("delete from shop.orders")
                         .fetch()
                         .rowsUpdated())
+                .then(this.databaseClient.sql("delete from shop.carts where session_id = 'session-checkout'")
+                        .fetch()
+                        .rowsUpdated())
+                .then(this.databaseClient.sql("delete from shop.items where id in (1001, 1002)")
+                        .fetch()
+                        .rowsUpdated())
                 .then();
 
         cleanupFlow.block();
@@ -131,4 +139,185 @@ class OrderRepositoryIT extends AbstractRepositoryIT {
         StepVerifier.create(order).verifyComplete();
     }
 
+    @Test
+    @DisplayName(value = "Should return orders joined with their items newest first in single statement")
+    void findOrderLinesBySessionId_shouldReturnOrdersJoinedWithItemsNewestFirst() {
+        String sessionId = "session-123";
+
+        Mono<List<OrderLineRow>> orderLinesMono = this.databaseClient.sql("""
+                        insert into shop.items (id, title, description, img_path, price_minor) values
+                        (1001, 'Apple',  'Fresh green apple', null, 100),
+                        (1002, 'Banana', 'Yellow banana', null, 50)
+                        """)
+                .fetch()
+                .rowsUpdated()
+                .then(this.databaseClient.sql("""
+                                insert into shop.orders_items (order_id, item_id, title_snapshot, price_minor_snapshot, quantity) values
+                                (1, 1001, 'Apple', 100, 5),
+                                (1, 1002, 'Banana', 50, 1),
+                                (3, 1001, 'Apple', 100, 10)
+                                """)
+                        .fetch()
+                        .rowsUpdated())
+                .thenMany(this.orderRepository.findOrderLinesBySessionId(sessionId))
+                .collectList();
+
+        StepVerifier.create(orderLinesMono)
+                .assertNext(orderLines -> {
+                    assertThat(orderLines)
+                            .extracting(OrderLineRow::orderId)
+                            .containsExactly(2L, 1L, 1L);
+
+                    OrderLineRow emptyOrderLine = orderLines.getFirst();
+                    assertThat(emptyOrderLine.orderItemId()).isNull();
+                    assertThat(emptyOrderLine.totalMinor()).isEqualTo(750L);
+
+                    assertThat(orderLines.subList(1, 3))
+                            .extracting(OrderLineRow::titleSnapshot)
+                            .containsExactly("Apple", "Banana");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should return keyset page of orders without splitting rows of one order")
+    void findOrderLinesPageBySessionId_shouldReturnKeysetPageOfWholeOrders() {
+        String sessionId = "session-123";
+
+        Mono<List<OrderLineRow>> orderLinesMono = this.databaseClient.sql("""
+                        insert into shop.items (id, title, description, img_path, price_minor) values
+                        (1001, 'Apple',  'Fresh green apple', null, 100),
+                        (1002, 'Banana', 'Yellow banana', null, 50)
+                        """)
+                .fetch()
+                .rowsUpdated()
+                .then(this.databaseClient.sql("""
+                                insert into shop.orders (id, session_id, total_minor) values
+                                (4, 'session-123', 250)
+                                """)
+                        .fetch()
+                        .rowsUpdated())
+                .then(this.databaseClient.sql("""
+                                insert into shop.orders_items (order_id, item_id, title_snapshot, price_minor_snapshot, quantity) values
+                                (1, 1001, 'Apple', 100, 5),
+                                (2, 1001, 'Apple', 100, 5),
+                                (2, 1002, 'Banana', 50, 5)
+                                """)
+                        .fetch()
+                        .rowsUpdated())
+                .thenMany(this.orderRepository.findOrderLinesPageBySessionId(sessionId, 4L, 1L))
+                .collectList();
+
+        StepVerifier.create(orderLinesMono)
+                .assertNext(orderLines -> {
+                    assertThat(orderLines)
+                            .extracting(OrderLineRow::orderId)
+                            .containsExactly(2L, 2L);
+
+                    assertThat(orderLines)
+                            .extracting(OrderLineRow::titleSnapshot)
+                            .containsExactly("Apple", "Banana");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should insert order together with all its items in single statement")
+    void insertOrderWithItems_shouldInsertOrderAndAllItems() {
+        Mono<List<OrderLineRow>> orderLinesMono = this.databaseClient.sql("""
+                        insert into shop.items (id, title, description, img_path, price_minor) values
+                        (1001, 'Apple',  'Fresh green apple', null, 100),
+                        (1002, 'Banana', 'Yellow banana', null, 50)
+                        """)
+                .fetch()
+                .rowsUpdated()
+                .then(this.databaseClient.sql("select setval('shop.orders_id_seq', 100)")
+                        .fetch()
+                        .rowsUpdated())
+                .then(this.orderRepository.insertOrderWithItems(
+                        "session-new",
+                        250L,
+                        new Long[]{1001L, 1002L},
+                        new String[]{"Apple", "Banana"},
+                        new Long[]{100L, 50L},
+                        new Integer[]{2, 1}
+                ))
+                .flatMapMany(orderId -> this.orderRepository.findOrderLinesBySessionId("session-new"))
+                .collectList();
+
+        StepVerifier.create(orderLinesMono)
+                .assertNext(orderLines -> {
+                    assertThat(orderLines).hasSize(2);
+                    assertThat(orderLines)
+                            .extracting(OrderLineRow::totalMinor)
+                            .containsOnly(250L);
+                    assertThat(orderLines)
+                            .extracting(OrderLineRow::titleSnapshot, OrderLineRow::priceMinorSnapshot, OrderLineRow::quantity)
+                            .containsExactly(
+                                    tuple("Apple", 100L, 2),
+                                    tuple("Banana", 50L, 1)
+                            );
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should check out active cart inside database and leave it ordered and empty")
+    void checkoutActiveCart_shouldCreateOrderAndClearCartInSingleStatement() {
+        String sessionId = "session-checkout";
+
+        Mono<Long> orderIdMono = this.databaseClient.sql("""
+                        insert into shop.items (id, title, description, img_path, price_minor) values
+                        (1001, 'Apple',  'Fresh green apple', null, 100),
+                        (1002, 'Banana', 'Yellow banana', null, 50)
+                        """)
+                .fetch()
+                .rowsUpdated()
+                .then(this.databaseClient.sql("select setval('shop.orders_id_seq', 100)")
+                        .fetch()
+                        .rowsUpdated())
+                .then(this.databaseClient.sql("""
+                                with cart as (
+                                    insert into shop.carts (session_id, status) values ('session-checkout', 'ACTIVE')
+                                    returning id
+                                )
+                                insert into shop.carts_items (cart_id, item_id, quantity)
+                                select cart.id, lines.item_id, lines.quantity
+                                from cart, (values (1001, 2), (1002, 3)) as lines(item_id, quantity)
+                                """)
+                        .fetch()
+                        .rowsUpdated())
+                .then(this.orderRepository.checkoutActiveCart(sessionId));
+
+        StepVerifier.create(orderIdMono.flatMapMany(orderId -> this.orderRepository.findOrderLinesBySessionId(sessionId)).collectList())
+                .assertNext(orderLines -> {
+                    assertThat(orderLines)
+                            .extracting(OrderLineRow::totalMinor)
+                            .containsOnly(350L);
+                    assertThat(orderLines)
+                            .extracting(OrderLineRow::titleSnapshot, OrderLineRow::priceMinorSnapshot, OrderLineRow::quantity)
+                            .containsExactly(
+                                    tuple("Apple", 100L, 2),
+                                    tuple("Banana", 50L, 3)
+                            );
+                })
+                .verifyComplete();
+
+        Mono<Long> remainingCartItemsMono = this.databaseClient.sql("""
+                        select count(*) as count
+                        from shop.carts
+                        join shop.carts_items on carts_items.cart_id = carts.id
+                        where carts.session_id = 'session-checkout'
+                        """)
+                .map(row -> row.get("count", Long.class))
+                .one();
+
+        StepVerifier.create(remainingCartItemsMono)
+                .expectNext(0L)
+                .verifyComplete();
+
+        StepVerifier.create(this.orderRepository.checkoutActiveCart(sessionId))
+                .verifyComplete();
+    }
+
 }
@@ -0,0 +1,153 @@
+package com.amit.mymarket.it;
+
+import com.amit.mymarket.common.configuration.MinioStorageProperties;
+import com.amit.mymarket.common.service.exception.MediaStorageException;
+import com.amit.mymarket.common.service.minio.ReactiveMinioMediaStorageService;
+import com.amit.mymarket.common.service.minio.S3RequestSigner;
+import com.amit.mymarket.common.service.strategy.KeyNamingStrategyEnum;
+import com.amit.mymarket.common.service.type.MediaStorageClientMode;
+import com.amit.mymarket.common.service.util.PathSpecification;
+import com.amit.mymarket.it.config.MinioTestContainer;
+import io.minio.BucketExistsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Testcontainers
+class ReactiveMinioMediaStorageServiceIT {
+
+    private static final String BUCKET = "images";
+
+    @Container
+    static MinIOContainer minioContainer = MinioTestContainer.create();
+
+    private static MinioClient minioClient;
+
+    private ReactiveMinioMediaStorageService mediaStorageService;
+
+    @BeforeAll
+    static void createBucket() throws Exception {
+        minioClient = MinioClient.builder()
+                .endpoint(minioContainer.getS3URL())
+                .credentials(minioContainer.getUserName(), minioContainer.getPassword())
+                .build();
+        if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(BUCKET).build())) {
+            minioClient.makeBucket(MakeBucketArgs.builder().bucket(BUCKET).build());
+        }
+    }
+
+    @BeforeEach
+    void init() {
+        MinioStorageProperties minioStorageProperties = new MinioStorageProperties(
+                minioContainer.getS3URL(),
+                minioContainer.getUserName(),
+                minioContainer.getPassword(),
+                BUCKET,
+                false,
+                false,
+                5_000,
+                60_000,
+                60_000,
+                10 * 1024 * 1024,
+                List.of("image/png", "image/jpeg", "image/webp"),
+                MediaStorageClientMode.REACTIVE,
+                "us-east-1"
+        );
+        this.mediaStorageService = new ReactiveMinioMediaStorageService(
+                WebClient.create(),
+                new S3RequestSigner(minioStorageProperties.accessKey(), minioStorageProperties.secretKey(), minioStorageProperties.region()),
+                minioStorageProperties,
+                KeyNamingStrategyEnum.DEFAULT_STRATEGY
+        );
+    }
+
+    @Test
+    @DisplayName(value = "Should store small file with single request and delete it afterwards")
+    void saveMediaFile_shouldStoreSmallFileAndDeleteIt() throws Exception {
+        byte[] content = readTestFile("sample.png");
+
+        String key = this.mediaStorageService.saveMediaFile(filePart("sample.png", content), itemPath()).block();
+
+        assertNotNull(key);
+        StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder().bucket(BUCKET).object(key).build());
+        assertEquals(content.length, stat.size());
+        assertEquals("image/png", stat.contentType());
+
+        StepVerifier.create(this.mediaStorageService.deleteMediaFile(key)).verifyComplete();
+        assertThrows(Exception.class, () -> minioClient.statObject(StatObjectArgs.builder().bucket(BUCKET).object(key).build()));
+    }
+
+    @Test
+    @DisplayName(value = "Should store file larger than one part with multipart upload")
+    void saveMediaFile_shouldStoreLargeFileWithMultipartUpload() throws Exception {
+        byte[] sample = readTestFile("sample.png");
+        byte[] content = Arrays.copyOf(sample, 7 * 1024 * 1024);
+
+        String key = this.mediaStorageService.saveMediaFile(filePart("large.png", content), itemPath()).block();
+
+        assertNotNull(key);
+        StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder().bucket(BUCKET).object(key).build());
+        assertEquals(content.length, stat.size());
+    }
+
+    @Test
+    @DisplayName(value = "Should reject file exceeding size limit while it is streamed")
+    void saveMediaFile_shouldRejectFileExceedingSizeLimit() throws Exception {
+        byte[] sample = readTestFile("sample.png");
+        byte[] content = Arrays.copyOf(sample, 11 * 1024 * 1024);
+
+        StepVerifier.create(this.mediaStorageService.saveMediaFile(filePart("huge.png", content), itemPath()))
+                .expectErrorSatisfies(throwable -> {
+                    assertInstanceOf(MediaStorageException.class, throwable);
+                    assertTrue(throwable.getMessage().toLowerCase().contains("validation"));
+                })
+                .verify();
+    }
+
+    @Test
+    @DisplayName(value = "Should ignore delete of missing object")
+    void deleteMediaFile_shouldIgnoreMissingObject() {
+        StepVerifier.create(this.mediaStorageService.deleteMediaFile("items/1/missing/original.png"))
+                .verifyComplete();
+    }
+
+    private static byte[] readTestFile(String resourceName) throws Exception {
+        try (InputStream inputStream = ReactiveMinioMediaStorageServiceIT.class.getResourceAsStream("/test-files/" + resourceName)) {
+            assertNotNull(inputStream, "Resource not found: " + resourceName);
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private static FilePart filePart(String filename, byte[] content) {
+        FilePart filePart = mock(FilePart.class);
+        when(filePart.filename()).thenReturn(filename);
+        when(filePart.content()).thenReturn(DataBufferUtils.read(new ByteArrayResource(content), DefaultDataBufferFactory.sharedInstance, 64 * 1024));
+        return filePart;
+    }
+
+    private static PathSpecification itemPath() {
+        return PathSpecification.of("items", "1", "original");
+    }
+
+}
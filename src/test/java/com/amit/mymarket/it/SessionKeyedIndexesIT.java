@@ -0,0 +1,245 @@
+package com.amit.mymarket.it;
+
+import com.amit.mymarket.cart.domain.type.CartStatus;
+import com.amit.mymarket.cart.repository.CartRepository;
+import com.amit.mymarket.order.repository.OrderItemRepository;
+import com.amit.mymarket.order.repository.OrderRepository;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Explains the statements the repositories actually send: each repository method is called once while
+ * the connection factory records its SQL and bindings, and the recorded statement is then explained
+ * with the same bindings. Test tables are tiny, so sequential scans are disabled for the explained
+ * statement: a plan then still shows "Seq Scan" only when no index matches the predicate.
+ */
+class SessionKeyedIndexesIT extends AbstractRepositoryIT {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    @Test
+    @DisplayName(value = "Should use session and status index for CartRepository.findBySessionIdAndStatus")
+    void findBySessionIdAndStatus_shouldUseSessionIdStatusIndex() {
+        RecordedStatement statement = this.recordStatement(this.cartRepository.findBySessionIdAndStatus("session-123", CartStatus.ORDERED));
+
+        StepVerifier.create(this.explain(statement))
+                .assertNext(plan -> assertThat(plan)
+                        .contains("idx_carts_session_id_status")
+                        .doesNotContain("Seq Scan"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should use partial active cart index for the lookup in CartRepository.getOrCreateActiveCart")
+    void getOrCreateActiveCart_shouldUseActiveSessionUniqueIndex() {
+        RecordedStatement statement = this.recordStatement(this.cartRepository.getOrCreateActiveCart("session-123"));
+
+        StepVerifier.create(this.explain(statement))
+                .assertNext(plan -> assertThat(plan)
+                        .contains("uq_carts_active_session_id")
+                        .doesNotContain("Seq Scan"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should use session index for OrderRepository.findAllBySessionId")
+    void findAllBySessionId_shouldUseSessionIdIndex() {
+        RecordedStatement statement = this.recordStatement(this.orderRepository.findAllBySessionId("session-123"));
+
+        StepVerifier.create(this.explain(statement))
+                .assertNext(plan -> assertThat(plan)
+                        .contains("idx_orders_session_id_id")
+                        .doesNotContain("Seq Scan"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should use session index for OrderRepository.findOrderLinesPageBySessionId")
+    void findOrderLinesPageBySessionId_shouldUseSessionIdIndex() {
+        RecordedStatement statement = this.recordStatement(this.orderRepository.findOrderLinesPageBySessionId("session-123", Long.MAX_VALUE, 10));
+
+        StepVerifier.create(this.explain(statement))
+                .assertNext(plan -> assertThat(plan)
+                        .contains("idx_orders_session_id_id")
+                        .doesNotContain("Seq Scan"))
+                .verifyComplete();
+    }
+
+    /**
+     * The id alone is unique, so the primary key is the index that serves this query,
+     * with session_id checked as a filter on the single row.
+     */
+    @Test
+    @DisplayName(value = "Should use primary key for OrderRepository.findByIdAndSessionId")
+    void findByIdAndSessionId_shouldUsePrimaryKey() {
+        RecordedStatement statement = this.recordStatement(this.orderRepository.findByIdAndSessionId(1L, "session-123"));
+
+        StepVerifier.create(this.explain(statement))
+                .assertNext(plan -> assertThat(plan)
+                        .contains("orders_pkey")
+                        .doesNotContain("Seq Scan"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should use order and item unique index for OrderItemRepository.findAllByOrderId")
+    void findAllByOrderId_shouldUseOrderIdItemIdUniqueIndex() {
+        RecordedStatement statement = this.recordStatement(this.orderItemRepository.findAllByOrderId(1L));
+
+        StepVerifier.create(this.explain(statement))
+                .assertNext(plan -> assertThat(plan)
+                        .contains("uq_orders_items_cart_item")
+                        .doesNotContain("Seq Scan"))
+                .verifyComplete();
+    }
+
+    private RecordedStatement recordStatement(Publisher<?> repositoryCall) {
+        this.statementRecorder.clear();
+        Flux.from(repositoryCall).then().block();
+        List<RecordedStatement> statements = this.statementRecorder.statements();
+        assertThat(statements).hasSize(1);
+        return statements.getFirst();
+    }
+
+    private Mono<String> explain(RecordedStatement recordedStatement) {
+        return this.databaseClient.inConnection(connection -> {
+            Statement statement = connection.createStatement("explain " + recordedStatement.sql());
+            recordedStatement.bindings().forEach(binding -> binding.accept(statement));
+            return Flux.from(connection.createStatement("set enable_seqscan = off").execute())
+                    .flatMap(Result::getRowsUpdated)
+                    .thenMany(Flux.from(statement.execute()))
+                    .flatMap(result -> result.map((row, rowMetadata) -> row.get(0, String.class)))
+                    .collect(Collectors.joining("\n"))
+                    .flatMap(plan -> Flux.from(connection.createStatement("reset enable_seqscan").execute())
+                            .flatMap(Result::getRowsUpdated)
+                            .then(Mono.just(plan)));
+        });
+    }
+
+    private record RecordedStatement(String sql, List<Consumer<Statement>> bindings) {
+    }
+
+    /**
+     * Wraps the connection factory so that every statement created through it is recorded
+     * together with the bind calls made on it, which can then be replayed on another statement.
+     */
+    static class StatementRecorder implements BeanPostProcessor {
+
+        private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof ConnectionFactory connectionFactory) {
+                return proxy(connectionFactory, (method, args, result) -> method.getName().equals("create")
+                        ? Mono.from((Publisher<?>) result).map(connection -> this.recording((Connection) connection))
+                        : result);
+            }
+            return bean;
+        }
+
+        List<RecordedStatement> statements() {
+            return List.copyOf(this.statements);
+        }
+
+        void clear() {
+            this.statements.clear();
+        }
+
+        private Connection recording(Connection connection) {
+            return proxy(connection, (method, args, result) -> method.getName().equals("createStatement")
+                    ? this.recording((String) args[0], (Statement) result)
+                    : result);
+        }
+
+        private Statement recording(String sql, Statement statement) {
+            List<Consumer<Statement>> bindings = new CopyOnWriteArrayList<>();
+            this.statements.add(new RecordedStatement(sql, bindings));
+            Statement[] recordingStatement = new Statement[1];
+            recordingStatement[0] = proxy(statement, (method, args, result) -> {
+                if (method.getName().startsWith("bind")) {
+                    bindings.add(target -> invoke(target, method, args));
+                }
+                return result == statement ? recordingStatement[0] : result;
+            });
+            return recordingStatement[0];
+        }
+
+        @SuppressWarnings(value = "unchecked")
+        private static <T> T proxy(T target, Interceptor interceptor) {
+            return (T) Proxy.newProxyInstance(
+                    target.getClass().getClassLoader(),
+                    ClassUtils.getAllInterfaces(target),
+                    (proxy, method, args) -> interceptor.intercept(method, args, invoke(target, method, args))
+            );
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException exception) {
+                if (exception.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(exception.getCause());
+            } catch (IllegalAccessException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+
+        @FunctionalInterface
+        private interface Interceptor {
+
+            Object intercept(Method method, Object[] args, Object result);
+
+        }
+
+    }
+
+    @TestConfiguration
+    static class StatementRecorderConfiguration {
+
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+    }
+
+}
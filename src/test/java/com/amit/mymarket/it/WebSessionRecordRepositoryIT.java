@@ -0,0 +1,78 @@
+package com.amit.mymarket.it;
+
+import com.amit.mymarket.common.repository.WebSessionRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebSessionRecordRepositoryIT extends AbstractRepositoryIT {
+
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @Autowired
+    private WebSessionRecordRepository webSessionRecordRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @AfterEach
+    void cleanUpTestData() {
+        this.databaseClient.sql("delete from shop.web_sessions")
+                .fetch()
+                .rowsUpdated()
+                .block();
+    }
+
+    @Test
+    @DisplayName(value = "Should insert session and overwrite it on the next upsert keeping creation time")
+    void upsertSession_shouldInsertAndOverwriteSession() {
+        this.webSessionRecordRepository.upsertSession("session-1", NOW, NOW, 1800, NOW.plusSeconds(1800), new byte[]{1}).block();
+        this.webSessionRecordRepository.upsertSession("session-1", NOW.plusSeconds(60), NOW.plusSeconds(60), 1800, NOW.plusSeconds(1860), new byte[]{2}).block();
+
+        StepVerifier.create(this.webSessionRecordRepository.findActiveById("session-1", NOW))
+                .assertNext(webSessionRecord -> {
+                    assertThat(webSessionRecord.getCreationTime()).isEqualTo(NOW);
+                    assertThat(webSessionRecord.getLastAccessTime()).isEqualTo(NOW.plusSeconds(60));
+                    assertThat(webSessionRecord.getExpiresAt()).isEqualTo(NOW.plusSeconds(1860));
+                    assertThat(webSessionRecord.getAttributes()).containsExactly(2);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should not return expired session and remove it on cleanup")
+    void deleteExpired_shouldRemoveOnlyExpiredSessions() {
+        this.webSessionRecordRepository.upsertSession("expired", NOW, NOW, 60, NOW.plusSeconds(60), new byte[]{1}).block();
+        this.webSessionRecordRepository.upsertSession("active", NOW, NOW, 1800, NOW.plusSeconds(1800), new byte[]{1}).block();
+
+        Instant later = NOW.plusSeconds(120);
+        StepVerifier.create(this.webSessionRecordRepository.findActiveById("expired", later))
+                .verifyComplete();
+
+        this.webSessionRecordRepository.deleteExpired(later).block();
+
+        StepVerifier.create(this.webSessionRecordRepository.count())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should refresh expiry of session on touch")
+    void touchSession_shouldRefreshExpiry() {
+        this.webSessionRecordRepository.upsertSession("session-1", NOW, NOW, 60, NOW.plusSeconds(60), new byte[]{1}).block();
+        this.webSessionRecordRepository.touchSession("session-1", NOW.plusSeconds(50), 60, NOW.plusSeconds(110)).block();
+
+        StepVerifier.create(this.webSessionRecordRepository.findActiveById("session-1", NOW.plusSeconds(90)))
+                .assertNext(webSessionRecord -> assertThat(webSessionRecord.getAttributes()).containsExactly(1))
+                .verifyComplete();
+    }
+
+}
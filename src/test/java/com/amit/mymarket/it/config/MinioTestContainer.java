@@ -0,0 +1,18 @@
+package com.amit.mymarket.it.config;
+
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.utility.DockerImageName;
+
+public final class MinioTestContainer {
+
+    private static final DockerImageName IMAGE_NAME = DockerImageName.parse("minio/minio:RELEASE.2023-09-04T19-57-37Z");
+
+    public static MinIOContainer create() {
+        return new MinIOContainer(IMAGE_NAME);
+    }
+
+    private MinioTestContainer() {
+        throw new UnsupportedOperationException();
+    }
+
+}
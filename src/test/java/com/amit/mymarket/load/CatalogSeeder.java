@@ -0,0 +1,43 @@
+package com.amit.mymarket.load;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Fills the catalog with generated items inside Postgres, so that even a million rows take one
+ * statement instead of a million round trips. Titles combine a word from SEARCH_TERMS with the item
+ * number, so search requests match a realistic fraction of the catalog.
+ */
+final class CatalogSeeder {
+
+    static final List<String> SEARCH_TERMS = List.of(
+            "apple", "banana", "carrot", "coffee", "cheese", "bread", "honey", "tea", "olive", "pepper");
+
+    static void seed(DatabaseClient databaseClient, int catalogSize) {
+        databaseClient.sql("truncate table shop.orders_items, shop.orders, shop.carts_items, shop.carts, shop.items restart identity cascade")
+                .fetch()
+                .rowsUpdated()
+                .then(databaseClient.sql("""
+                                insert into shop.items (title, description, price_minor)
+                                select initcap((array['apple', 'banana', 'carrot', 'coffee', 'cheese', 'bread', 'honey', 'tea', 'olive', 'pepper'])[1 + n % 10])
+                                           || ' ' || n,
+                                       'Load test item ' || n || ' ' || md5(n::text),
+                                       100 + (n * 37) % 100000
+                                from generate_series(1, :catalogSize) as n
+                                """)
+                        .bind("catalogSize", catalogSize)
+                        .fetch()
+                        .rowsUpdated())
+                .then(databaseClient.sql("analyze shop.items")
+                        .fetch()
+                        .rowsUpdated())
+                .block(Duration.ofMinutes(30));
+    }
+
+    private CatalogSeeder() {
+        throw new UnsupportedOperationException();
+    }
+
+}
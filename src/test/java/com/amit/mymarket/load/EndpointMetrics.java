@@ -0,0 +1,70 @@
+package com.amit.mymarket.load;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side latency per endpoint, measured from sending the request until the whole body has been read.
+ * Percentiles cover the whole measurement window instead of Micrometer's default rolling two minutes.
+ */
+final class EndpointMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    Timer timer(String endpoint) {
+        return Timer.builder("load.request")
+                .tag("endpoint", endpoint)
+                .publishPercentiles(PERCENTILES)
+                .distributionStatisticExpiry(Duration.ofDays(1))
+                .distributionStatisticBufferLength(1)
+                .register(this.meterRegistry);
+    }
+
+    Counter errors(String endpoint) {
+        return Counter.builder("load.request.errors")
+                .tag("endpoint", endpoint)
+                .register(this.meterRegistry);
+    }
+
+    List<EndpointResult> results(Duration elapsed) {
+        List<EndpointResult> results = new ArrayList<>();
+        for (Timer timer : this.meterRegistry.find("load.request").timers()) {
+            String endpoint = timer.getId().getTag("endpoint");
+            ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+            results.add(new EndpointResult(
+                    endpoint,
+                    timer.count(),
+                    (long) this.errors(endpoint).count(),
+                    timer.count() / (elapsed.toMillis() / 1000.0),
+                    percentiles[0].value(TimeUnit.MILLISECONDS),
+                    percentiles[1].value(TimeUnit.MILLISECONDS),
+                    percentiles[2].value(TimeUnit.MILLISECONDS),
+                    timer.max(TimeUnit.MILLISECONDS)
+            ));
+        }
+        results.sort((left, right) -> left.endpoint().compareTo(right.endpoint()));
+        return results;
+    }
+
+    record EndpointResult(
+            String endpoint,
+            long requests,
+            long errors,
+            double throughput,
+            double p50Millis,
+            double p95Millis,
+            double p99Millis,
+            double maxMillis) {
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.amit.mymarket.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Logs the per-endpoint results and writes them as CSV. A CSV from an earlier run can be passed as
+ * the baseline; the table then also shows how throughput and p99 moved against it.
+ */
+final class LoadReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadReport.class);
+
+    private static final String HEADER = "endpoint,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms";
+
+    static Path write(LoadTestSettings settings, List<EndpointMetrics.EndpointResult> results) {
+        Map<String, EndpointMetrics.EndpointResult> baseline = settings.baseline() != null
+                ? readBaseline(settings.baseline())
+                : Map.of();
+
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        StringBuilder table = new StringBuilder()
+                .append(String.format(Locale.ROOT, "%nLoad test: catalog=%d users=%d duration=%s%n",
+                        settings.catalogSize(), settings.users(), settings.duration()))
+                .append(String.format(Locale.ROOT, "%-18s %9s %7s %10s %9s %9s %9s %9s %s%n",
+                        "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", baseline.isEmpty() ? "" : "vs baseline"));
+
+        for (EndpointMetrics.EndpointResult result : results) {
+            lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f",
+                    result.endpoint(), result.requests(), result.errors(), result.throughput(),
+                    result.p50Millis(), result.p95Millis(), result.p99Millis(), result.maxMillis()));
+            table.append(String.format(Locale.ROOT, "%-18s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %s%n",
+                    result.endpoint(), result.requests(), result.errors(), result.throughput(),
+                    result.p50Millis(), result.p95Millis(), result.p99Millis(), result.maxMillis(),
+                    compare(result, baseline.get(result.endpoint()))));
+        }
+
+        try {
+            Files.createDirectories(settings.reportDirectory());
+            Path report = settings.reportDirectory().resolve(
+                    "load-test-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+            Files.write(report, lines);
+            table.append("Report: ").append(report.toAbsolutePath());
+            LOGGER.info("{}", table);
+            return report;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static String compare(EndpointMetrics.EndpointResult result, EndpointMetrics.EndpointResult baseline) {
+        if (baseline == null) {
+            return "";
+        }
+        return String.format(Locale.ROOT, "req/s %+.1f%%, p99 %+.1f%%",
+                change(baseline.throughput(), result.throughput()),
+                change(baseline.p99Millis(), result.p99Millis()));
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+
+    private static Map<String, EndpointMetrics.EndpointResult> readBaseline(Path baseline) {
+        try {
+            Map<String, EndpointMetrics.EndpointResult> results = new HashMap<>();
+            for (String line : Files.readAllLines(baseline)) {
+                if (line.isBlank() || line.equals(HEADER)) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                results.put(columns[0], new EndpointMetrics.EndpointResult(
+                        columns[0],
+                        Long.parseLong(columns[1]),
+                        Long.parseLong(columns[2]),
+                        Double.parseDouble(columns[3]),
+                        Double.parseDouble(columns[4]),
+                        Double.parseDouble(columns[5]),
+                        Double.parseDouble(columns[6]),
+                        Double.parseDouble(columns[7])
+                ));
+            }
+            return results;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to read load test baseline: " + baseline, exception);
+        }
+    }
+
+    private LoadReport() {
+        throw new UnsupportedOperationException();
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.amit.mymarket.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test parameters, read from system properties so they can be passed straight to the Gradle task,
+ * e.g. {@code ./gradlew loadTest -Dload.catalog-size=1000000 -Dload.users=64 -Dload.duration=PT2M}.
+ */
+record LoadTestSettings(
+        int catalogSize,
+        int users,
+        Duration warmup,
+        Duration duration,
+        Path reportDirectory,
+        Path baseline) {
+
+    static LoadTestSettings fromSystemProperties() {
+        String baseline = System.getProperty("load.baseline");
+        return new LoadTestSettings(
+                Integer.getInteger("load.catalog-size", 10_000),
+                Integer.getInteger("load.users", 32),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Duration.parse(System.getProperty("load.duration", "PT30S")),
+                Path.of(System.getProperty("load.report-directory", "build/load-test")),
+                baseline != null && !baseline.isBlank() ? Path.of(baseline) : null
+        );
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.amit.mymarket.load;
+
+import com.amit.mymarket.it.config.MinioTestContainer;
+import com.amit.mymarket.it.config.PostgreSqlContainer;
+import com.amit.mymarket.item.service.cache.CatalogPageCache;
+import com.amit.mymarket.item.service.snapshot.ItemSnapshotStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.context.ImportTestcontainers;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the whole application against Postgres and MinIO containers, seeds the catalog and drives
+ * concurrent shoppers through it. The catalog is seeded after the application has started, so the item
+ * snapshot is reloaded and the page cache emptied before any request is sent. Excluded from the regular test task; run it with
+ * {@code ./gradlew loadTest}, see LoadTestSettings for the parameters. Application settings
+ * (search mode, snapshot, session store, ...) are changed through their environment variables.
+ */
+@Tag(value = "load")
+@Testcontainers
+@ImportTestcontainers(PostgreSqlContainer.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StorefrontLoadTest {
+
+    private static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    @Container
+    static MinIOContainer minioContainer = MinioTestContainer.create();
+
+    @DynamicPropertySource
+    static void minioProperties(DynamicPropertyRegistry registry) {
+        registry.add("storage.minio.base-url", minioContainer::getS3URL);
+        registry.add("storage.minio.access-key", minioContainer::getUserName);
+        registry.add("storage.minio.secret-key", minioContainer::getPassword);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ItemSnapshotStore itemSnapshotStore;
+
+    @Autowired
+    private CatalogPageCache catalogPageCache;
+
+    @Test
+    @DisplayName(value = "Should serve browse, search, cart, checkout and order history under concurrent load")
+    void storefront_shouldSustainConcurrentShoppers() {
+        CatalogSeeder.seed(this.databaseClient, SETTINGS.catalogSize());
+        this.itemSnapshotStore.reload()
+                .then(this.catalogPageCache.evictAll())
+                .block(Duration.ofMinutes(30));
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + this.port)
+                .build();
+
+        this.run(webClient, new EndpointMetrics(), SETTINGS.warmup());
+        EndpointMetrics endpointMetrics = new EndpointMetrics();
+        Duration elapsed = this.run(webClient, endpointMetrics, SETTINGS.duration());
+
+        List<EndpointMetrics.EndpointResult> results = endpointMetrics.results(elapsed);
+        LoadReport.write(SETTINGS, results);
+
+        assertThat(results)
+                .extracting(EndpointMetrics.EndpointResult::endpoint)
+                .contains("GET /items", "GET /items/{id}", "GET /cart/items");
+        long requests = results.stream().mapToLong(EndpointMetrics.EndpointResult::requests).sum();
+        long errors = results.stream().mapToLong(EndpointMetrics.EndpointResult::errors).sum();
+        assertThat((double) errors / requests).isLessThanOrEqualTo(MAX_ERROR_RATE);
+    }
+
+    private Duration run(WebClient webClient, EndpointMetrics endpointMetrics, Duration duration) {
+        Instant start = Instant.now();
+        Instant deadline = start.plus(duration);
+        Flux.range(0, SETTINGS.users())
+                .flatMap(user -> new VirtualUser(webClient, endpointMetrics, SETTINGS.catalogSize()).runUntil(deadline),
+                        SETTINGS.users())
+                .blockLast(duration.plusMinutes(5));
+        return Duration.between(start, Instant.now());
+    }
+
+}
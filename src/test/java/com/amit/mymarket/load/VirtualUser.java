@@ -0,0 +1,135 @@
+package com.amit.mymarket.load;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * One shopper with its own cookies. Each iteration browses a few catalog pages, searches, opens items,
+ * sometimes adds one to the cart, looks at the cart and checks out, and now and then opens the order
+ * history. Redirects are not followed: the redirect target is requested explicitly as its own endpoint,
+ * the way the next scenario step would load it.
+ */
+final class VirtualUser {
+
+    private final WebClient webClient;
+
+    private final EndpointMetrics endpointMetrics;
+
+    private final int catalogSize;
+
+    private final Map<String, String> cookies = new ConcurrentHashMap<>();
+
+    private boolean cartFilled;
+
+    VirtualUser(WebClient webClient, EndpointMetrics endpointMetrics, int catalogSize) {
+        this.webClient = webClient;
+        this.endpointMetrics = endpointMetrics;
+        this.catalogSize = catalogSize;
+    }
+
+    Mono<Void> runUntil(Instant deadline) {
+        return Mono.defer(this::iteration)
+                .repeat(() -> Instant.now().isBefore(deadline))
+                .then();
+    }
+
+    private Mono<Void> iteration() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String searchTerm = CatalogSeeder.SEARCH_TERMS.get(random.nextInt(CatalogSeeder.SEARCH_TERMS.size()));
+
+        Mono<Void> steps = this.get("GET /items", "/items?pageNumber=" + (1 + random.nextInt(5)) + "&pageSize=10")
+                .then(this.get("GET /items", "/items?pageNumber=" + (1 + random.nextInt(5)) + "&pageSize=10&sort=PRICE"))
+                .then(this.get("GET /items?search", "/items?search=" + searchTerm + "&pageSize=10"))
+                .then(this.get("GET /items/{id}", "/items/" + this.randomItemId()))
+                .then(this.get("GET /items/{id}", "/items/" + this.randomItemId()));
+
+        if (random.nextInt(100) < 50) {
+            steps = steps.then(this.addToCart(this.randomItemId()))
+                    .then(this.get("GET /cart/items", "/cart/items"));
+        }
+        if (this.cartFilled && random.nextInt(100) < 20) {
+            steps = steps.then(this.checkout());
+        }
+        if (random.nextInt(100) < 10) {
+            steps = steps.then(this.get("GET /orders", "/orders?pageSize=10"));
+        }
+        return steps;
+    }
+
+    private long randomItemId() {
+        return 1 + ThreadLocalRandom.current().nextLong(this.catalogSize);
+    }
+
+    private Mono<Void> addToCart(long itemId) {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("id", Long.toString(itemId));
+        form.add("action", "PLUS");
+        return this.post("POST /items", "/items", form)
+                .doOnNext(succeeded -> this.cartFilled |= succeeded)
+                .then();
+    }
+
+    private Mono<Void> checkout() {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("checkoutToken", UUID.randomUUID().toString());
+        return this.post("POST /orders", "/orders", form)
+                .doOnNext(succeeded -> this.cartFilled &= !succeeded)
+                .then();
+    }
+
+    private Mono<Void> get(String endpoint, String uri) {
+        return this.measure(endpoint, webClient -> webClient.get().uri(uri)).then();
+    }
+
+    private Mono<Boolean> post(String endpoint, String uri, MultiValueMap<String, String> form) {
+        return this.measure(endpoint, webClient -> webClient.post().uri(uri).body(BodyInserters.fromFormData(form)));
+    }
+
+    private Mono<Boolean> measure(String endpoint, Function<WebClient, WebClient.RequestHeadersSpec<?>> request) {
+        Timer timer = this.endpointMetrics.timer(endpoint);
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return request.apply(this.webClient)
+                    .cookies(requestCookies -> this.cookies.forEach(requestCookies::add))
+                    .exchangeToMono(response -> {
+                        this.storeCookies(response);
+                        return response.releaseBody().thenReturn(!response.statusCode().isError());
+                    })
+                    .onErrorReturn(false)
+                    .doOnNext(succeeded -> {
+                        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                        if (!succeeded) {
+                            this.endpointMetrics.errors(endpoint).increment();
+                        }
+                    });
+        });
+    }
+
+    private void storeCookies(ClientResponse response) {
+        for (Map.Entry<String, List<ResponseCookie>> entry : response.cookies().entrySet()) {
+            for (ResponseCookie cookie : entry.getValue()) {
+                if (cookie.getMaxAge().isZero()) {
+                    this.cookies.remove(cookie.getName());
+                } else {
+                    this.cookies.put(cookie.getName(), cookie.getValue());
+                }
+            }
+        }
+    }
+
+}
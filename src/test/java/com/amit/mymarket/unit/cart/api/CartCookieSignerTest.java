@@ -0,0 +1,52 @@
+package com.amit.mymarket.unit.cart.api;
+
+import com.amit.mymarket.cart.api.identity.CartCookieSigner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CartCookieSignerTest {
+
+    private final CartCookieSigner cartCookieSigner =
+            new CartCookieSigner("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    @DisplayName(value = "Should verify owner id of value signed with the same secret")
+    void verify_shouldReturnOwnerIdOfSignedValue() {
+        String signedValue = this.cartCookieSigner.sign(42L);
+
+        assertThat(signedValue).startsWith("42.");
+        assertThat(this.cartCookieSigner.verify(signedValue)).hasValue(42L);
+    }
+
+    @Test
+    @DisplayName(value = "Should reject value whose owner id was changed")
+    void verify_shouldRejectTamperedOwnerId() {
+        String signature = this.cartCookieSigner.sign(42L).substring(3);
+
+        assertThat(this.cartCookieSigner.verify("43." + signature)).isEmpty();
+    }
+
+    @Test
+    @DisplayName(value = "Should reject value signed with another secret")
+    void verify_shouldRejectValueSignedWithAnotherSecret() {
+        CartCookieSigner otherSigner = new CartCookieSigner("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(this.cartCookieSigner.verify(otherSigner.sign(42L))).isEmpty();
+    }
+
+    @Test
+    @DisplayName(value = "Should reject malformed values")
+    void verify_shouldRejectMalformedValues() {
+        assertThat(this.cartCookieSigner.verify(null)).isEmpty();
+        assertThat(this.cartCookieSigner.verify("")).isEmpty();
+        assertThat(this.cartCookieSigner.verify("42")).isEmpty();
+        assertThat(this.cartCookieSigner.verify("42.")).isEmpty();
+        assertThat(this.cartCookieSigner.verify("abc.def")).isEmpty();
+        assertThat(this.cartCookieSigner.verify("42.***")).isEmpty();
+    }
+
+}
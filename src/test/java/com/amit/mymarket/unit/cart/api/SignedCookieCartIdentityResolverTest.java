@@ -0,0 +1,111 @@
+package com.amit.mymarket.unit.cart.api;
+
+import com.amit.mymarket.cart.api.identity.CartCookieSigner;
+import com.amit.mymarket.cart.api.identity.CartIdentity;
+import com.amit.mymarket.cart.api.identity.SignedCartCookieWebFilter;
+import com.amit.mymarket.cart.api.identity.SignedCookieCartIdentityResolver;
+import com.amit.mymarket.cart.repository.CartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(value = MockitoExtension.class)
+class SignedCookieCartIdentityResolverTest {
+
+    private static final String COOKIE_NAME = "CART";
+
+    private final CartCookieSigner cartCookieSigner =
+            new CartCookieSigner("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+    @Mock
+    private CartRepository cartRepository;
+
+    private SignedCartCookieWebFilter webFilter;
+
+    private SignedCookieCartIdentityResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        this.webFilter = new SignedCartCookieWebFilter(this.cartCookieSigner, true, COOKIE_NAME);
+        this.resolver = new SignedCookieCartIdentityResolver(
+                this.cartRepository, this.cartCookieSigner, COOKIE_NAME, Duration.ofDays(365), false);
+    }
+
+    @Test
+    @DisplayName(value = "Should resolve owner id from valid signed cookie without touching the database")
+    void resolve_shouldReturnOwnerIdFromSignedCookie() {
+        MockServerWebExchange exchange = this.filter(MockServerHttpRequest.get("/items")
+                .cookie(new HttpCookie(COOKIE_NAME, this.cartCookieSigner.sign(7L))));
+
+        StepVerifier.create(this.resolver.resolve(exchange))
+                .expectNext(CartIdentity.ofOwnerId(7L))
+                .verifyComplete();
+
+        verifyNoInteractions(this.cartRepository);
+    }
+
+    @Test
+    @DisplayName(value = "Should resolve anonymous identity when cookie is forged")
+    void resolve_shouldReturnAnonymousWhenCookieIsForged() {
+        MockServerWebExchange exchange = this.filter(MockServerHttpRequest.get("/items")
+                .cookie(new HttpCookie(COOKIE_NAME, "7.forged")));
+
+        StepVerifier.create(this.resolver.resolve(exchange))
+                .assertNext(cartIdentity -> assertThat(cartIdentity.isAnonymous()).isTrue())
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getCookies()).isEmpty();
+    }
+
+    @Test
+    @DisplayName(value = "Should allocate owner id and issue signed cookie on first cart write")
+    void establish_shouldIssueSignedCookieForNewVisitor() {
+        when(this.cartRepository.nextCartOwnerId()).thenReturn(Mono.just(11L));
+        MockServerWebExchange exchange = this.filter(MockServerHttpRequest.post("/cart/items"));
+
+        StepVerifier.create(this.resolver.establish(exchange))
+                .expectNext(CartIdentity.ofOwnerId(11L))
+                .verifyComplete();
+
+        ResponseCookie cookie = exchange.getResponse().getCookies().getFirst(COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.isHttpOnly()).isTrue();
+        assertThat(this.cartCookieSigner.verify(cookie.getValue())).hasValue(11L);
+    }
+
+    @Test
+    @DisplayName(value = "Should keep existing owner id on cart write")
+    void establish_shouldReuseOwnerIdFromCookie() {
+        MockServerWebExchange exchange = this.filter(MockServerHttpRequest.post("/cart/items")
+                .cookie(new HttpCookie(COOKIE_NAME, this.cartCookieSigner.sign(7L))));
+
+        StepVerifier.create(this.resolver.establish(exchange))
+                .expectNext(CartIdentity.ofOwnerId(7L))
+                .verifyComplete();
+
+        verifyNoInteractions(this.cartRepository);
+        assertThat(exchange.getResponse().getCookies()).isEmpty();
+    }
+
+    private MockServerWebExchange filter(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        this.webFilter.filter(exchange, filteredExchange -> Mono.empty()).block();
+        return exchange;
+    }
+
+}
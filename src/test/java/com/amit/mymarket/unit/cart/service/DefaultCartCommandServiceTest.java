@@ -44,20 +44,20 @@ class DefaultCartCommandServiceTest {
         activeCart.setSessionId(sessionId);
         activeCart.setStatus(CartStatus.ACTIVE);
 
-        when(this.cartRepository.findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE)).thenReturn(Mono.just(activeCart));
+        when(this.cartRepository.getOrCreateActiveCart(sessionId)).thenReturn(Mono.just(activeCart));
         when(this.cartItemRepository.incrementItemQuantity(activeCart.getId(), itemId)).thenReturn(Mono.just(1));
 
         Mono<Void> result = this.cartCommandService.incrementCartItemQuantity(sessionId, itemId);
 
         StepVerifier.create(result).verifyComplete();
 
-        verify(this.cartRepository, times(1)).findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE);
+        verify(this.cartRepository, times(1)).getOrCreateActiveCart(sessionId);
         verify(this.cartItemRepository, times(1)).incrementItemQuantity(eq(5L), eq(10L));
     }
 
     @Test
-    @DisplayName(value = "Should create active cart and increment item quantity when no active cart exists")
-    void incrementCartItemQuantity_shouldCreateCartWhenNoActiveCartExists() {
+    @DisplayName(value = "Should repeat get or create once when active cart was concurrently created by another transaction")
+    void incrementCartItemQuantity_shouldRepeatGetOrCreateWhenCartWasConcurrentlyCreated() {
         String sessionId = "session-123";
         long itemId = 10L;
 
@@ -66,16 +66,15 @@ class DefaultCartCommandServiceTest {
         createdCart.setSessionId(sessionId);
         createdCart.setStatus(CartStatus.ACTIVE);
 
-        when(this.cartRepository.findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE)).thenReturn(Mono.empty());
-        when(this.cartRepository.save(any(Cart.class))).thenReturn(Mono.just(createdCart));
+        when(this.cartRepository.getOrCreateActiveCart(sessionId)).thenReturn(Mono.empty(), Mono.just(createdCart));
         when(this.cartItemRepository.incrementItemQuantity(createdCart.getId(), itemId)).thenReturn(Mono.just(1));
 
         Mono<Void> result = this.cartCommandService.incrementCartItemQuantity(sessionId, itemId);
 
         StepVerifier.create(result).verifyComplete();
 
-        verify(this.cartRepository, times(1)).findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE);
-        verify(this.cartRepository, times(1)).save(any(Cart.class));
+        verify(this.cartRepository, times(2)).getOrCreateActiveCart(sessionId);
+        verify(this.cartRepository, never()).save(any(Cart.class));
         verify(this.cartItemRepository, times(1)).incrementItemQuantity(eq(7L), eq(10L));
     }
 
@@ -99,31 +98,24 @@ class DefaultCartCommandServiceTest {
     }
 
     @Test
-    @DisplayName(value = "Should delete cart item when quantity is one and not decrement further")
-    void decrementCartItemQuantityOrDelete_shouldDeleteWhenQuantityIsOne() {
+    @DisplayName(value = "Should decrement or delete cart item with single statement when item is in active cart")
+    void decrementCartItemQuantityOrDelete_shouldUseSingleStatementWhenItemIsInActiveCart() {
         String sessionId = "session-123";
         long itemId = 10L;
 
-        Cart activeCart = new Cart();
-        activeCart.setId(5L);
-        activeCart.setSessionId(sessionId);
-        activeCart.setStatus(CartStatus.ACTIVE);
-
-        when(cartRepository.findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE)).thenReturn(Mono.just(activeCart));
-        when(cartItemRepository.deleteWhenItemQuantityIsOne(activeCart.getId(), itemId)).thenReturn(Mono.just(1));
+        when(this.cartItemRepository.decrementItemQuantityOrDelete(sessionId, itemId)).thenReturn(Mono.just(0));
 
         Mono<Void> result = this.cartCommandService.decrementCartItemQuantityOrDelete(sessionId, itemId);
 
         StepVerifier.create(result).verifyComplete();
 
-        verify(this.cartRepository, times(1)).findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE);
-        verify(this.cartItemRepository, times(1)).deleteWhenItemQuantityIsOne(eq(5L), eq(10L));
-        verify(this.cartItemRepository, never()).decrementWhenItemQuantityGreaterThanOne(anyLong(), anyLong());
+        verify(this.cartItemRepository, times(1)).decrementItemQuantityOrDelete(sessionId, itemId);
+        verifyNoInteractions(this.cartRepository);
     }
 
     @Test
-    @DisplayName(value = "Should decrement cart item quantity when quantity is greater than one")
-    void decrementCartItemQuantityOrDelete_shouldDecrementWhenQuantityIsGreaterThanOne() {
+    @DisplayName(value = "Should complete without changes when item is not in existing active cart")
+    void decrementCartItemQuantityOrDelete_shouldCompleteWhenItemIsNotInActiveCart() {
         String sessionId = "session-123";
         long itemId = 10L;
 
@@ -132,17 +124,14 @@ class DefaultCartCommandServiceTest {
         activeCart.setSessionId(sessionId);
         activeCart.setStatus(CartStatus.ACTIVE);
 
+        when(this.cartItemRepository.decrementItemQuantityOrDelete(sessionId, itemId)).thenReturn(Mono.empty());
         when(this.cartRepository.findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE)).thenReturn(Mono.just(activeCart));
-        when(this.cartItemRepository.deleteWhenItemQuantityIsOne(activeCart.getId(), itemId)).thenReturn(Mono.just(0));
-        when(this.cartItemRepository.decrementWhenItemQuantityGreaterThanOne(activeCart.getId(), itemId)).thenReturn(Mono.just(1));
 
         Mono<Void> result = this.cartCommandService.decrementCartItemQuantityOrDelete(sessionId, itemId);
 
         StepVerifier.create(result).verifyComplete();
 
         verify(this.cartRepository, times(1)).findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE);
-        verify(this.cartItemRepository, times(1)).deleteWhenItemQuantityIsOne(eq(5L), eq(10L));
-        verify(this.cartItemRepository, times(1)).decrementWhenItemQuantityGreaterThanOne(eq(5L), eq(10L));
     }
 
     @Test
@@ -170,6 +159,7 @@ class DefaultCartCommandServiceTest {
         String sessionId = "session-123";
         long itemId = 10L;
 
+        when(this.cartItemRepository.decrementItemQuantityOrDelete(sessionId, itemId)).thenReturn(Mono.empty());
         when(this.cartRepository.findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE)).thenReturn(Mono.empty());
 
         Mono<Void> result = this.cartCommandService.decrementCartItemQuantityOrDelete(sessionId, itemId);
@@ -182,7 +172,6 @@ class DefaultCartCommandServiceTest {
                 .verify();
 
         verify(this.cartRepository, times(1)).findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE);
-        verifyNoInteractions(this.cartItemRepository);
     }
 
     @Test
@@ -42,8 +42,8 @@ class DefaultCartQueryServiceTest {
         cart.setSessionId(sessionId);
         cart.setStatus(CartStatus.ACTIVE);
 
-        CartItemRow firstCartItemRow = new CartItemRow(1L, "Apple", "Green", "/a.png", 100L, 2);
-        CartItemRow secondCartItemRow = new CartItemRow(2L, "Banana", "Yellow", "/b.png", 50L, 1);
+        CartItemRow firstCartItemRow = new CartItemRow(1L, "Apple", "Green", "/a.png", null, 100L, 2);
+        CartItemRow secondCartItemRow = new CartItemRow(2L, "Banana", "Yellow", "/b.png", null, 50L, 1);
 
         when(this.cartRepository.findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE)).thenReturn(Mono.just(cart));
 
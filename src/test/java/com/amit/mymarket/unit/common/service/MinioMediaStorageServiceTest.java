@@ -4,8 +4,16 @@ import com.amit.mymarket.common.configuration.MinioStorageProperties;
 import com.amit.mymarket.common.service.exception.MediaStorageException;
 import com.amit.mymarket.common.service.minio.MinioMediaStorageService;
 import com.amit.mymarket.common.service.strategy.KeyNamingStrategy;
+import com.amit.mymarket.common.service.strategy.KeyNamingStrategyEnum;
+import com.amit.mymarket.common.service.type.MediaStorageClientMode;
+import com.amit.mymarket.common.service.util.ContentHash;
 import com.amit.mymarket.common.service.util.PathSpecification;
 import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.ErrorResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -83,6 +91,31 @@ class MinioMediaStorageServiceTest {
         verifyNoInteractions(this.minioClient);
     }
 
+    @Test
+    @DisplayName(value = "Should throw validation error when size limit is exceeded while content is streamed")
+    void saveMediaFile_shouldThrowWhenLimitIsExceededWhileStreaming() throws Exception {
+        MinioMediaStorageService smallLimitService = buildNewMinioMediaStorageService(this.minioStoragePropertiesWithMaxSize(10_000));
+
+        FilePart filePart = loadFileAsFilePart("sample.png", "sample.png");
+        PathSpecification pathSpecification = itemPath("1", "original");
+
+        when(this.keyNamingStrategy.buildKey(pathSpecification, "image/png")).thenReturn("items/1/uuid/original.png");
+        when(this.minioClient.putObject(any(PutObjectArgs.class))).thenAnswer(invocation -> {
+            PutObjectArgs args = invocation.getArgument(0);
+            args.stream().readAllBytes();
+            return null;
+        });
+
+        Mono<String> result = smallLimitService.saveMediaFile(filePart, pathSpecification);
+
+        StepVerifier.create(result)
+                .expectErrorSatisfies(throwable -> {
+                    assertInstanceOf(MediaStorageException.class, throwable);
+                    assertTrue(throwable.getMessage().toLowerCase().contains("validation"));
+                })
+                .verify();
+    }
+
     @Test
     @DisplayName(value = "Should throw when MIME is not allowed")
     void saveMediaFile_shouldThrowWhenMimeNotAllowed() throws Exception {
@@ -116,6 +149,48 @@ class MinioMediaStorageServiceTest {
         verifyNoInteractions(this.minioClient);
     }
 
+    @Test
+    @DisplayName(value = "Should skip the PUT when content-addressed object already exists")
+    void saveMediaFile_shouldSkipPutWhenContentAddressedObjectExists() throws Exception {
+        MinioMediaStorageService contentAddressedService = new MinioMediaStorageService(
+                this.minioClient, this.defaultMinioStorageProperties(), KeyNamingStrategyEnum.CONTENT_HASH_STRATEGY);
+        String expectedKey = "items/" + ContentHash.sha256Hex(readTestFile("sample.png")) + ".png";
+
+        when(this.minioClient.statObject(any(StatObjectArgs.class))).thenReturn(mock(StatObjectResponse.class));
+
+        StepVerifier.create(contentAddressedService.saveMediaFile(loadFileAsFilePart("sample.png", "sample.png"), itemPath("42", "original")))
+                .assertNext(key -> assertEquals(expectedKey, key))
+                .verifyComplete();
+
+        verify(this.minioClient).statObject(argThat(args -> expectedKey.equals(args.object())));
+        verify(this.minioClient, never()).putObject(any(PutObjectArgs.class));
+    }
+
+    @Test
+    @DisplayName(value = "Should store content-addressed object under its hash when it does not exist yet")
+    void saveMediaFile_shouldStoreContentAddressedObjectWhenMissing() throws Exception {
+        MinioMediaStorageService contentAddressedService = new MinioMediaStorageService(
+                this.minioClient, this.defaultMinioStorageProperties(), KeyNamingStrategyEnum.CONTENT_HASH_STRATEGY);
+        byte[] content = readTestFile("sample.png");
+        String expectedKey = "items/" + ContentHash.sha256Hex(content) + ".png";
+
+        ErrorResponse errorResponse = mock(ErrorResponse.class);
+        when(errorResponse.code()).thenReturn("NoSuchKey");
+        ErrorResponseException missingObject = mock(ErrorResponseException.class);
+        when(missingObject.errorResponse()).thenReturn(errorResponse);
+        when(this.minioClient.statObject(any(StatObjectArgs.class))).thenThrow(missingObject);
+
+        StepVerifier.create(contentAddressedService.saveMediaFile(loadFileAsFilePart("sample.png", "sample.png"), itemPath("7", "original")))
+                .assertNext(key -> assertEquals(expectedKey, key))
+                .verifyComplete();
+
+        verify(this.minioClient).putObject(argThat(args -> {
+            assertEquals(expectedKey, args.object());
+            assertEquals(content.length, args.objectSize());
+            return true;
+        }));
+    }
+
     private MinioStorageProperties defaultMinioStorageProperties() {
         return new MinioStorageProperties(
                 "http://localhost:9000",
@@ -128,7 +203,9 @@ class MinioMediaStorageServiceTest {
                 60_000,
                 60_000,
                 10 * 1024 * 1024,
-                List.of("image/png", "image/jpeg", "image/webp")
+                List.of("image/png", "image/jpeg", "image/webp"),
+                MediaStorageClientMode.BLOCKING,
+                "us-east-1"
         );
     }
 
@@ -145,7 +222,9 @@ class MinioMediaStorageServiceTest {
                 properties.writeTimeoutMs(),
                 properties.readTimeoutMs(),
                 maxBytes,
-                properties.allowedMimeTypes()
+                properties.allowedMimeTypes(),
+                properties.clientMode(),
+                properties.region()
         );
     }
 
@@ -162,7 +241,9 @@ class MinioMediaStorageServiceTest {
                 properties.writeTimeoutMs(),
                 properties.readTimeoutMs(),
                 properties.maxFileSizeBytes(),
-                allowedMimeTypes
+                allowedMimeTypes,
+                properties.clientMode(),
+                properties.region()
         );
     }
 
@@ -186,6 +267,13 @@ class MinioMediaStorageServiceTest {
         }
     }
 
+    private byte[] readTestFile(String resourceName) throws Exception {
+        try (InputStream inputStream = getClass().getResourceAsStream("/test-files/" + resourceName)) {
+            assertNotNull(inputStream, "Resource not found: " + resourceName);
+            return inputStream.readAllBytes();
+        }
+    }
+
     private PathSpecification itemPath(String itemId, String variant) {
         return PathSpecification.of("items", itemId, variant);
     }
@@ -2,6 +2,7 @@ package com.amit.mymarket.unit.common.service;
 
 import com.amit.mymarket.common.configuration.MinioStorageProperties;
 import com.amit.mymarket.common.service.minio.MinioMediaUrlResolver;
+import com.amit.mymarket.common.service.type.MediaStorageClientMode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -44,7 +45,9 @@ class MinioMediaUrlResolverTest {
                 this.minioStorageProperties.writeTimeoutMs(),
                 this.minioStorageProperties.readTimeoutMs(),
                 this.minioStorageProperties.maxFileSizeBytes(),
-                this.minioStorageProperties.allowedMimeTypes()
+                this.minioStorageProperties.allowedMimeTypes(),
+                this.minioStorageProperties.clientMode(),
+                this.minioStorageProperties.region()
         );
         MinioMediaUrlResolver mediaUrlResolver = buildNewMinioMediaUrlResolver(trailing);
 
@@ -72,7 +75,9 @@ class MinioMediaUrlResolverTest {
                 this.minioStorageProperties.writeTimeoutMs(),
                 this.minioStorageProperties.readTimeoutMs(),
                 this.minioStorageProperties.maxFileSizeBytes(),
-                this.minioStorageProperties.allowedMimeTypes()
+                this.minioStorageProperties.allowedMimeTypes(),
+                this.minioStorageProperties.clientMode(),
+                this.minioStorageProperties.region()
         );
         MinioMediaUrlResolver mediaUrlResolver = this.buildNewMinioMediaUrlResolver(minioStoragePropertiesWithBlankBaseUrl);
 
@@ -91,7 +96,9 @@ class MinioMediaUrlResolverTest {
                 60_000,
                 60_000,
                 10 * 1024 * 1024,
-                List.of("image/png", "image/jpeg", "image/webp")
+                List.of("image/png", "image/jpeg", "image/webp"),
+                MediaStorageClientMode.BLOCKING,
+                "us-east-1"
         );
     }
 
@@ -0,0 +1,176 @@
+package com.amit.mymarket.unit.common.service.cache;
+
+import com.amit.mymarket.common.exception.ResourceNotFoundException;
+import com.amit.mymarket.common.service.MediaStorageService;
+import com.amit.mymarket.common.service.cache.CachedMediaFile;
+import com.amit.mymarket.common.service.cache.MediaFileCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(value = MockitoExtension.class)
+class MediaFileCacheTest {
+
+    private static final Duration MISSING_TTL = Duration.ofSeconds(30);
+
+    @Mock
+    private MediaStorageService mediaStorageService;
+
+    @Mock
+    private Clock clock;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName(value = "Should download object once and serve next lookups from disk")
+    void get_shouldDownloadOnceAndServeNextLookupsFromDisk() throws IOException, NoSuchAlgorithmException {
+        MediaFileCache mediaFileCache = new MediaFileCache(this.mediaStorageService, true, this.directory, 1024, MISSING_TTL, 16);
+        when(this.mediaStorageService.readMediaFile("items/1/uuid/original.png")).thenReturn(content("image-bytes"));
+
+        CachedMediaFile first = mediaFileCache.get("items/1/uuid/original.png").block();
+        CachedMediaFile second = mediaFileCache.get("items/1/uuid/original.png").block();
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals("image-bytes", Files.readString(first.path()));
+        assertEquals(11, first.size());
+        assertEquals(MediaType.IMAGE_PNG, first.mediaType());
+        assertEquals("\"" + sha256Hex("image-bytes") + "\"", first.etag());
+        verify(this.mediaStorageService, times(1)).readMediaFile("items/1/uuid/original.png");
+    }
+
+    @Test
+    @DisplayName(value = "Should coalesce concurrent misses for the same key into one download")
+    void get_shouldCoalesceConcurrentMisses() {
+        MediaFileCache mediaFileCache = new MediaFileCache(this.mediaStorageService, true, this.directory, 1024, MISSING_TTL, 16);
+        Sinks.One<String> release = Sinks.one();
+        when(this.mediaStorageService.readMediaFile("items/1/uuid/card.jpg"))
+                .thenReturn(release.asMono().flatMapMany(MediaFileCacheTest::content));
+
+        Mono<CachedMediaFile> first = mediaFileCache.get("items/1/uuid/card.jpg");
+        Mono<CachedMediaFile> second = mediaFileCache.get("items/1/uuid/card.jpg");
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> release.tryEmitValue("card"))
+                .assertNext(files -> assertSame(files.getT1(), files.getT2()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        verify(this.mediaStorageService, times(1)).readMediaFile("items/1/uuid/card.jpg");
+    }
+
+    @Test
+    @DisplayName(value = "Should evict least recently used files when size bound is exceeded")
+    void get_shouldEvictLeastRecentlyUsedFiles() {
+        MediaFileCache mediaFileCache = new MediaFileCache(this.mediaStorageService, true, this.directory, 10, MISSING_TTL, 16);
+        when(this.mediaStorageService.readMediaFile("a.png")).thenReturn(content("aaaaaa"));
+        when(this.mediaStorageService.readMediaFile("b.png")).thenReturn(content("bbbbbb"));
+
+        CachedMediaFile first = mediaFileCache.get("a.png").block();
+        mediaFileCache.get("b.png").block();
+
+        assertNotNull(first);
+        assertFalse(mediaFileCache.contains("a.png"));
+        assertTrue(mediaFileCache.contains("b.png"));
+        assertFalse(Files.exists(first.path()));
+        assertEquals(6, mediaFileCache.size());
+    }
+
+    @Test
+    @DisplayName(value = "Should keep an acquired file on disk after eviction until it is released")
+    void acquire_shouldKeepEvictedFileUntilReleased() {
+        MediaFileCache mediaFileCache = new MediaFileCache(this.mediaStorageService, true, this.directory, 10, MISSING_TTL, 16);
+        when(this.mediaStorageService.readMediaFile("a.png")).thenReturn(content("aaaaaa"));
+        when(this.mediaStorageService.readMediaFile("b.png")).thenReturn(content("bbbbbb"));
+
+        CachedMediaFile first = mediaFileCache.acquire("a.png").block();
+        mediaFileCache.get("b.png").block();
+
+        assertNotNull(first);
+        assertFalse(mediaFileCache.contains("a.png"));
+        assertTrue(Files.exists(first.path()));
+
+        mediaFileCache.release(first);
+
+        assertFalse(Files.exists(first.path()));
+    }
+
+    @Test
+    @DisplayName(value = "Should remember missing object and look it up again once the negative entry expires")
+    void get_shouldRememberMissingObjectUntilTtlExpires() throws IOException {
+        MediaFileCache mediaFileCache = new MediaFileCache(this.mediaStorageService, true, this.directory, 1024, MISSING_TTL, 16, this.clock);
+        when(this.clock.millis()).thenReturn(0L, 10_000L, 30_000L, 30_000L);
+        when(this.mediaStorageService.readMediaFile("missing.png"))
+                .thenReturn(Flux.error(new ResourceNotFoundException("Object not found: missing.png")));
+
+        StepVerifier.create(mediaFileCache.get("missing.png"))
+                .expectError(ResourceNotFoundException.class)
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(mediaFileCache.get("missing.png"))
+                .expectError(ResourceNotFoundException.class)
+                .verify(Duration.ofSeconds(5));
+
+        verify(this.mediaStorageService, times(1)).readMediaFile("missing.png");
+
+        StepVerifier.create(mediaFileCache.get("missing.png"))
+                .expectError(ResourceNotFoundException.class)
+                .verify(Duration.ofSeconds(5));
+
+        verify(this.mediaStorageService, times(2)).readMediaFile("missing.png");
+        try (Stream<Path> files = Files.list(this.directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName(value = "Should not remember objects that failed for reasons other than being missing")
+    void get_shouldNotRememberOtherStorageErrors() {
+        MediaFileCache mediaFileCache = new MediaFileCache(this.mediaStorageService, true, this.directory, 1024, MISSING_TTL, 16, this.clock);
+        when(this.mediaStorageService.readMediaFile("broken.png"))
+                .thenReturn(Flux.error(new IllegalStateException("Storage unavailable")));
+
+        StepVerifier.create(mediaFileCache.get("broken.png"))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(mediaFileCache.get("broken.png"))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+
+        verify(this.mediaStorageService, times(2)).readMediaFile("broken.png");
+        verifyNoInteractions(this.clock);
+    }
+
+    private static Flux<DataBuffer> content(String value) {
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String sha256Hex(String value) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.amit.mymarket.unit.common.service.metrics;
+
+import com.amit.mymarket.common.service.metrics.ReactiveTimedBeanPostProcessor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveTimedBeanPostProcessorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReactiveTimedBeanPostProcessor beanPostProcessor;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", this.meterRegistry);
+        this.beanPostProcessor = new ReactiveTimedBeanPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    @DisplayName(value = "Should time mono from subscription and tag it with interface, method and outcome")
+    void postProcessAfterInitialization_shouldTimeMonoOnSubscription() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        SampleService service = (SampleService) this.beanPostProcessor.postProcessAfterInitialization(
+                new DefaultSampleService(subscriptions), "sampleService");
+
+        Mono<String> result = service.find("apple");
+        assertThat(this.meterRegistry.find("test.service").timers()).isEmpty();
+
+        StepVerifier.create(result)
+                .expectNext("apple")
+                .verifyComplete();
+
+        Timer timer = this.meterRegistry.get("test.service")
+                .tag("class", "SampleService")
+                .tag("method", "find")
+                .tag("outcome", "SUCCESS")
+                .tag("exception", "none")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(subscriptions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName(value = "Should record error outcome and exception of failed flux")
+    void postProcessAfterInitialization_shouldRecordErrorOutcome() {
+        SampleService service = (SampleService) this.beanPostProcessor.postProcessAfterInitialization(
+                new DefaultSampleService(new AtomicInteger()), "sampleService");
+
+        StepVerifier.create(service.findAll(true))
+                .expectNext("apple")
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+
+        Timer timer = this.meterRegistry.get("test.service")
+                .tag("method", "findAll")
+                .tag("outcome", "ERROR")
+                .tag("exception", "IllegalStateException")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName(value = "Should leave beans without timed interface untouched")
+    void postProcessAfterInitialization_shouldSkipBeansWithoutTimedInterface() {
+        Object bean = new Object();
+
+        assertThat(this.beanPostProcessor.postProcessAfterInitialization(bean, "plainBean")).isSameAs(bean);
+    }
+
+    @Timed(value = "test.service", histogram = true)
+    interface SampleService {
+
+        Mono<String> find(String name);
+
+        Flux<String> findAll(boolean fail);
+
+    }
+
+    static class DefaultSampleService implements SampleService {
+
+        private final AtomicInteger subscriptions;
+
+        DefaultSampleService(AtomicInteger subscriptions) {
+            this.subscriptions = subscriptions;
+        }
+
+        @Override
+        public Mono<String> find(String name) {
+            return Mono.fromSupplier(() -> {
+                this.subscriptions.incrementAndGet();
+                return name;
+            });
+        }
+
+        @Override
+        public Flux<String> findAll(boolean fail) {
+            Flux<String> items = Flux.just("apple");
+            return fail ? items.concatWith(Mono.error(new IllegalStateException("boom"))) : items;
+        }
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.amit.mymarket.unit.common.service.metrics;
+
+import com.amit.mymarket.common.service.metrics.SchedulerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchedulerMetricsTest {
+
+    private final Scheduler scheduler = Schedulers.newBoundedElastic(1, 10, "scheduler-metrics-test");
+
+    @AfterEach
+    void tearDown() {
+        this.scheduler.dispose();
+    }
+
+    @Test
+    @DisplayName(value = "Should report busy workers and tasks queued behind them")
+    void bindTo_shouldReportWorkersAndQueuedTasks() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new SchedulerMetrics("test", this.scheduler).bindTo(meterRegistry);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        this.scheduler.schedule(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        this.scheduler.schedule(() -> {
+        });
+        this.scheduler.schedule(() -> {
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThat(meterRegistry.get("reactor.scheduler.workers.max").tag("scheduler", "test").gauge().value()).isEqualTo(1);
+            assertThat(meterRegistry.get("reactor.scheduler.workers.active").tag("scheduler", "test").gauge().value()).isEqualTo(1);
+            assertThat(meterRegistry.get("reactor.scheduler.tasks.queued").tag("scheduler", "test").gauge().value()).isEqualTo(2);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.amit.mymarket.unit.common.service.session;
+
+import com.amit.mymarket.common.domain.entity.WebSessionRecord;
+import com.amit.mymarket.common.repository.WebSessionRecordRepository;
+import com.amit.mymarket.common.service.session.PostgresReactiveSessionRepository;
+import com.amit.mymarket.common.service.session.PostgresSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.serializer.support.SerializingConverter;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(value = MockitoExtension.class)
+class PostgresReactiveSessionRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    private static final Duration TOUCH_INTERVAL = Duration.ofSeconds(60);
+
+    @Mock
+    private WebSessionRecordRepository webSessionRecordRepository;
+
+    private PostgresReactiveSessionRepository sessionRepository;
+
+    @BeforeEach
+    void setUp() {
+        this.sessionRepository = new PostgresReactiveSessionRepository(
+                this.webSessionRecordRepository,
+                TIMEOUT,
+                TOUCH_INTERVAL,
+                Clock.fixed(NOW, ZoneOffset.UTC)
+        );
+    }
+
+    @Test
+    @DisplayName(value = "Should insert new session once and skip saving it again while nothing changed")
+    void save_shouldInsertNewSessionOnce() {
+        when(this.webSessionRecordRepository.upsertSession(anyString(), any(), any(), anyInt(), any(), any()))
+                .thenReturn(Mono.empty());
+
+        PostgresSession session = this.sessionRepository.createSession().block();
+
+        StepVerifier.create(this.sessionRepository.save(session))
+                .verifyComplete();
+        StepVerifier.create(this.sessionRepository.save(session))
+                .verifyComplete();
+
+        verify(this.webSessionRecordRepository, times(1)).upsertSession(
+                eq(session.getId()), eq(NOW), eq(NOW), eq((int) TIMEOUT.toSeconds()), eq(NOW.plus(TIMEOUT)), any());
+        verifyNoMoreInteractions(this.webSessionRecordRepository);
+    }
+
+    @Test
+    @DisplayName(value = "Should only touch stored session when access time advanced by touch interval")
+    void save_shouldTouchSessionWhenAttributesAreUnchanged() {
+        when(this.webSessionRecordRepository.findActiveById("session-1", NOW))
+                .thenReturn(Mono.just(buildRecord("session-1", Map.of("cart", "active"))));
+        when(this.webSessionRecordRepository.touchSession(anyString(), any(), anyInt(), any()))
+                .thenReturn(Mono.empty());
+
+        PostgresSession session = this.sessionRepository.findById("session-1").block();
+        assertThat(session).isNotNull();
+
+        session.setLastAccessedTime(NOW.plusSeconds(10));
+        StepVerifier.create(this.sessionRepository.save(session))
+                .verifyComplete();
+        verify(this.webSessionRecordRepository, never()).touchSession(anyString(), any(), anyInt(), any());
+
+        Instant lastAccessedTime = NOW.plus(TOUCH_INTERVAL);
+        session.setLastAccessedTime(lastAccessedTime);
+        StepVerifier.create(this.sessionRepository.save(session))
+                .verifyComplete();
+
+        verify(this.webSessionRecordRepository).touchSession("session-1", lastAccessedTime, (int) TIMEOUT.toSeconds(), lastAccessedTime.plus(TIMEOUT));
+        verify(this.webSessionRecordRepository, never()).upsertSession(anyString(), any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName(value = "Should rewrite stored session when an attribute changed")
+    void save_shouldUpsertSessionWhenAttributeChanged() {
+        when(this.webSessionRecordRepository.findActiveById("session-1", NOW))
+                .thenReturn(Mono.just(buildRecord("session-1", Map.of())));
+        when(this.webSessionRecordRepository.upsertSession(anyString(), any(), any(), anyInt(), any(), any()))
+                .thenReturn(Mono.empty());
+
+        PostgresSession session = this.sessionRepository.findById("session-1").block();
+        assertThat(session).isNotNull();
+        session.setAttribute("cart", "active");
+
+        StepVerifier.create(this.sessionRepository.save(session))
+                .verifyComplete();
+
+        verify(this.webSessionRecordRepository).upsertSession(eq("session-1"), any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName(value = "Should restore attributes of stored session")
+    void findById_shouldRestoreAttributes() {
+        when(this.webSessionRecordRepository.findActiveById("session-1", NOW))
+                .thenReturn(Mono.just(buildRecord("session-1", Map.of("cart", "active"))));
+
+        StepVerifier.create(this.sessionRepository.findById("session-1"))
+                .assertNext(session -> {
+                    assertThat(session.getId()).isEqualTo("session-1");
+                    assertThat(session.isNew()).isFalse();
+                    assertThat(session.<String>getAttribute("cart")).isEqualTo("active");
+                    assertThat(session.getMaxInactiveInterval()).isEqualTo(TIMEOUT);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should treat session with unreadable attributes as missing")
+    void findById_shouldReturnEmptyWhenAttributesCannotBeRead() {
+        WebSessionRecord webSessionRecord = buildRecord("session-1", Map.of());
+        webSessionRecord.setAttributes(new byte[]{1, 2, 3});
+        when(this.webSessionRecordRepository.findActiveById("session-1", NOW)).thenReturn(Mono.just(webSessionRecord));
+
+        StepVerifier.create(this.sessionRepository.findById("session-1"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should move stored session to its new identifier after id change")
+    void save_shouldDeletePreviousRowWhenSessionIdChanged() {
+        when(this.webSessionRecordRepository.findActiveById("session-1", NOW))
+                .thenReturn(Mono.just(buildRecord("session-1", Map.of())));
+        when(this.webSessionRecordRepository.deleteById("session-1")).thenReturn(Mono.empty());
+        when(this.webSessionRecordRepository.upsertSession(anyString(), any(), any(), anyInt(), any(), any()))
+                .thenReturn(Mono.empty());
+
+        PostgresSession session = this.sessionRepository.findById("session-1").block();
+        assertThat(session).isNotNull();
+        String newId = session.changeSessionId();
+
+        StepVerifier.create(this.sessionRepository.save(session))
+                .verifyComplete();
+
+        verify(this.webSessionRecordRepository).deleteById("session-1");
+        verify(this.webSessionRecordRepository).upsertSession(eq(newId), any(), any(), anyInt(), any(), any());
+    }
+
+    private static WebSessionRecord buildRecord(String id, Map<String, Object> attributes) {
+        WebSessionRecord webSessionRecord = new WebSessionRecord();
+        webSessionRecord.setId(id);
+        webSessionRecord.setCreationTime(NOW.minusSeconds(300));
+        webSessionRecord.setLastAccessTime(NOW);
+        webSessionRecord.setMaxInactiveSeconds((int) TIMEOUT.toSeconds());
+        webSessionRecord.setExpiresAt(NOW.plus(TIMEOUT));
+        webSessionRecord.setAttributes(new SerializingConverter().convert(new HashMap<>(attributes)));
+        return webSessionRecord;
+    }
+
+}
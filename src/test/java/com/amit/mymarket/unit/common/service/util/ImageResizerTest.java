@@ -0,0 +1,83 @@
+package com.amit.mymarket.unit.common.service.util;
+
+import com.amit.mymarket.common.service.util.ImageResizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageResizerTest {
+
+    @Test
+    @DisplayName(value = "Should scale opaque image down to max dimension as JPEG keeping aspect ratio")
+    void resize_shouldScaleOpaqueImageToJpeg() throws IOException {
+        BufferedImage source = ImageResizer.decode(readTestFile("sample.jpg"));
+
+        Optional<ImageResizer.ResizedImage> resizedImage = ImageResizer.resize(source, 200);
+
+        assertTrue(resizedImage.isPresent());
+        assertEquals("image/jpeg", resizedImage.get().mimeType());
+        BufferedImage decoded = ImageResizer.decode(resizedImage.get().content());
+        assertEquals(200, Math.max(decoded.getWidth(), decoded.getHeight()));
+        assertEquals((double) source.getWidth() / source.getHeight(), (double) decoded.getWidth() / decoded.getHeight(), 0.02);
+    }
+
+    @Test
+    @DisplayName(value = "Should keep transparency by writing PNG")
+    void resize_shouldKeepTransparencyAsPng() throws IOException {
+        BufferedImage source = new BufferedImage(400, 100, BufferedImage.TYPE_INT_ARGB);
+
+        Optional<ImageResizer.ResizedImage> resizedImage = ImageResizer.resize(source, 200);
+
+        assertTrue(resizedImage.isPresent());
+        assertEquals("image/png", resizedImage.get().mimeType());
+        assertEquals(200, resizedImage.get().width());
+        assertEquals(50, resizedImage.get().height());
+    }
+
+    @Test
+    @DisplayName(value = "Should return empty when image already fits max dimension")
+    void resize_shouldReturnEmptyWhenImageFits() throws IOException {
+        BufferedImage source = new BufferedImage(120, 80, BufferedImage.TYPE_INT_RGB);
+
+        assertTrue(ImageResizer.resize(source, 200).isEmpty());
+    }
+
+    @Test
+    @DisplayName(value = "Should reject content that is not a decodable image")
+    void decode_shouldRejectUnsupportedContent() {
+        assertThrows(IllegalArgumentException.class, () -> ImageResizer.decode("not an image".getBytes()));
+    }
+
+    @Test
+    @DisplayName(value = "Should reject image whose header declares more pixels than allowed before decoding it")
+    void decode_shouldRejectImageExceedingMaxPixels() throws IOException {
+        byte[] content = readTestFile("sample.jpg");
+        BufferedImage source = ImageResizer.decode(content);
+        long pixels = (long) source.getWidth() * source.getHeight();
+
+        assertThrows(IllegalArgumentException.class, () -> ImageResizer.decode(content, pixels - 1));
+        assertEquals(source.getWidth(), ImageResizer.decode(content, pixels).getWidth());
+    }
+
+    @Test
+    @DisplayName(value = "Should recognise WebP content by its RIFF header")
+    void isWebp_shouldRecogniseRiffWebpHeader() throws IOException {
+        assertTrue(ImageResizer.isWebp("RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII)));
+        assertFalse(ImageResizer.isWebp(readTestFile("sample.jpg")));
+    }
+
+    private static byte[] readTestFile(String name) throws IOException {
+        try (InputStream inputStream = ImageResizerTest.class.getResourceAsStream("/test-files/" + name)) {
+            return Objects.requireNonNull(inputStream).readAllBytes();
+        }
+    }
+
+}
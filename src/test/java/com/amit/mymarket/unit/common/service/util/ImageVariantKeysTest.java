@@ -0,0 +1,49 @@
+package com.amit.mymarket.unit.common.service.util;
+
+import com.amit.mymarket.common.service.type.ImageVariant;
+import com.amit.mymarket.common.service.util.ImageVariantKeys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageVariantKeysTest {
+
+    @Test
+    @DisplayName(value = "Should format variant keys in variant order and parse them back")
+    void format_shouldRoundTripThroughParse() {
+        Map<ImageVariant, String> variantKeys = new LinkedHashMap<>();
+        variantKeys.put(ImageVariant.CARD, "items/1/uuid/card.jpg");
+        variantKeys.put(ImageVariant.THUMB, "items/1/uuid/thumb.jpg");
+
+        String encoded = ImageVariantKeys.format(variantKeys);
+
+        assertEquals("thumb=items/1/uuid/thumb.jpg,card=items/1/uuid/card.jpg", encoded);
+        assertEquals(variantKeys, ImageVariantKeys.parse(encoded));
+    }
+
+    @Test
+    @DisplayName(value = "Should skip malformed and unknown entries while parsing")
+    void parse_shouldSkipMalformedAndUnknownEntries() {
+        Map<ImageVariant, String> variantKeys = ImageVariantKeys.parse("thumb=a.jpg,huge=b.jpg,card=,broken");
+
+        assertEquals(Map.of(ImageVariant.THUMB, "a.jpg"), variantKeys);
+        assertTrue(ImageVariantKeys.parse(null).isEmpty());
+        assertNull(ImageVariantKeys.format(Map.of()));
+    }
+
+    @Test
+    @DisplayName(value = "Should fall back to the original key when requested variant is missing")
+    void resolve_shouldFallBackToOriginalKey() {
+        String imageVariants = "thumb=items/1/uuid/thumb.jpg";
+
+        assertEquals("items/1/uuid/thumb.jpg", ImageVariantKeys.resolve("items/1/uuid/original.png", imageVariants, ImageVariant.THUMB));
+        assertEquals("items/1/uuid/original.png", ImageVariantKeys.resolve("items/1/uuid/original.png", imageVariants, ImageVariant.CARD));
+        assertEquals("items/1/uuid/original.png", ImageVariantKeys.resolve("items/1/uuid/original.png", imageVariants, ImageVariant.ORIGINAL));
+        assertNull(ImageVariantKeys.resolve(null, imageVariants, ImageVariant.THUMB));
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.amit.mymarket.unit.common.service.util;
+
+import com.amit.mymarket.common.service.util.SizeLimitedInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SizeLimitedInputStreamTest {
+
+    @Test
+    @DisplayName(value = "Should read whole content when it fits the limit")
+    void read_shouldReadWholeContentWhenItFitsTheLimit() throws IOException {
+        SizeLimitedInputStream inputStream = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[10]), 10);
+
+        assertEquals(10, inputStream.readAllBytes().length);
+        assertEquals(10, inputStream.getBytesRead());
+        assertFalse(inputStream.isLimitExceeded());
+    }
+
+    @Test
+    @DisplayName(value = "Should fail the read that goes past the limit")
+    void read_shouldFailWhenContentExceedsTheLimit() {
+        SizeLimitedInputStream inputStream = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[11]), 10);
+
+        IOException exception = assertThrows(IOException.class, inputStream::readAllBytes);
+
+        assertTrue(exception.getMessage().toLowerCase().contains("size"));
+        assertTrue(inputStream.isLimitExceeded());
+    }
+
+    @Test
+    @DisplayName(value = "Should not limit content when limit is not positive")
+    void read_shouldNotLimitWhenLimitIsNotPositive() throws IOException {
+        SizeLimitedInputStream inputStream = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[100]), 0);
+
+        assertEquals(100, inputStream.readAllBytes().length);
+        assertFalse(inputStream.isLimitExceeded());
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.amit.mymarket.unit.item.service;
+
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import com.amit.mymarket.item.service.cache.CatalogPageCache;
+import com.amit.mymarket.item.service.cache.CatalogPageCacheMetrics;
+import com.amit.mymarket.item.service.type.SortType;
+import com.amit.mymarket.item.service.util.CatalogPageRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogPageCacheMetricsTest {
+
+    @Test
+    @DisplayName(value = "Should report hits, misses, evictions and size of the cache")
+    void bindTo_shouldReportCacheCounters() {
+        CatalogPageCache catalogPageCache = new CatalogPageCache(true, 1, Duration.ofMinutes(1));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new CatalogPageCacheMetrics(catalogPageCache).bindTo(meterRegistry);
+        CatalogPageRequest firstPageRequest = CatalogPageRequest.of(null, SortType.NO, 1, 10);
+        CatalogPageRequest secondPageRequest = CatalogPageRequest.of(null, SortType.NO, 2, 10);
+
+        catalogPageCache.getOrLoad(firstPageRequest, request -> Mono.just(pageOf(request, 1L))).block();
+        catalogPageCache.getOrLoad(firstPageRequest, request -> Mono.just(pageOf(request, 1L))).block();
+        catalogPageCache.getOrLoad(secondPageRequest, request -> Mono.just(pageOf(request, 11L))).block();
+
+        assertThat(meterRegistry.get("market.catalog.page.cache.requests").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("market.catalog.page.cache.requests").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("market.catalog.page.cache.evictions").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("market.catalog.page.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    private static Page<ItemWithQuantity> pageOf(CatalogPageRequest catalogPageRequest, long itemId) {
+        ItemWithQuantity itemWithQuantity = new ItemWithQuantity(itemId, "Item " + itemId, "Description", null, null, 100L, null);
+        return new PageImpl<>(List.of(itemWithQuantity), catalogPageRequest.pageable(), 1);
+    }
+
+}
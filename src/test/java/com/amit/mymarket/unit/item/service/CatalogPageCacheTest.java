@@ -0,0 +1,84 @@
+package com.amit.mymarket.unit.item.service;
+
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import com.amit.mymarket.item.service.cache.CatalogPageCache;
+import com.amit.mymarket.item.service.cache.CatalogPageCacheStats;
+import com.amit.mymarket.item.service.type.SortType;
+import com.amit.mymarket.item.service.util.CatalogPageRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CatalogPageCacheTest {
+
+    @Test
+    @DisplayName(value = "Should load page once and serve next lookups from cache")
+    void getOrLoad_shouldLoadOnceAndServeNextLookupsFromCache() {
+        CatalogPageCache catalogPageCache = new CatalogPageCache(true, 8, Duration.ofMinutes(1));
+        CatalogPageRequest catalogPageRequest = CatalogPageRequest.of("apple", SortType.ALPHA, 1, 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            StepVerifier.create(catalogPageCache.getOrLoad(catalogPageRequest, request -> {
+                        loads.incrementAndGet();
+                        return Mono.just(pageOf(catalogPageRequest, 1L));
+                    }))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+
+        CatalogPageCacheStats stats = catalogPageCache.stats();
+        assertEquals(1, loads.get());
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    @DisplayName(value = "Should evict least recently used page when max entries is exceeded")
+    void getOrLoad_shouldEvictLeastRecentlyUsedPageWhenFull() {
+        CatalogPageCache catalogPageCache = new CatalogPageCache(true, 1, Duration.ofMinutes(1));
+        CatalogPageRequest firstPageRequest = CatalogPageRequest.of(null, SortType.NO, 1, 10);
+        CatalogPageRequest secondPageRequest = CatalogPageRequest.of(null, SortType.NO, 2, 10);
+
+        catalogPageCache.getOrLoad(firstPageRequest, request -> Mono.just(pageOf(request, 1L))).block();
+        catalogPageCache.getOrLoad(secondPageRequest, request -> Mono.just(pageOf(request, 11L))).block();
+
+        CatalogPageCacheStats stats = catalogPageCache.stats();
+        assertEquals(1, stats.evictions());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    @DisplayName(value = "Should drop only pages containing item when item is evicted outside of transaction")
+    void evictItem_shouldDropOnlyPagesContainingItem() {
+        CatalogPageCache catalogPageCache = new CatalogPageCache(true, 8, Duration.ofMinutes(1));
+        CatalogPageRequest firstPageRequest = CatalogPageRequest.of(null, SortType.NO, 1, 10);
+        CatalogPageRequest secondPageRequest = CatalogPageRequest.of(null, SortType.NO, 2, 10);
+
+        catalogPageCache.getOrLoad(firstPageRequest, request -> Mono.just(pageOf(request, 1L))).block();
+        catalogPageCache.getOrLoad(secondPageRequest, request -> Mono.just(pageOf(request, 11L))).block();
+
+        StepVerifier.create(catalogPageCache.evictItem(11L))
+                .verifyComplete();
+
+        CatalogPageCacheStats stats = catalogPageCache.stats();
+        assertEquals(1, stats.evictions());
+        assertEquals(1, stats.size());
+    }
+
+    private static Page<ItemWithQuantity> pageOf(CatalogPageRequest catalogPageRequest, long itemId) {
+        ItemWithQuantity itemWithQuantity = new ItemWithQuantity(itemId, "Item " + itemId, "Description", null, null, 100L, null);
+        return new PageImpl<>(List.of(itemWithQuantity), catalogPageRequest.pageable(), 1);
+    }
+
+}
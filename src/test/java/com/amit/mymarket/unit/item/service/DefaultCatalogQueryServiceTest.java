@@ -2,13 +2,21 @@ package com.amit.mymarket.unit.item.service;
 
 
 import com.amit.mymarket.cart.repository.CartItemRepository;
-import com.amit.mymarket.cart.repository.projection.CartItemRow;
+import com.amit.mymarket.cart.repository.projection.CartItemQuantityRow;
 import com.amit.mymarket.common.exception.ResourceNotFoundException;
+import com.amit.mymarket.common.exception.ServiceException;
 import com.amit.mymarket.item.entity.Item;
 import com.amit.mymarket.item.repository.ItemRepository;
 import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import com.amit.mymarket.item.service.cache.CatalogPageCache;
 import com.amit.mymarket.item.service.impl.DefaultCatalogQueryService;
+import com.amit.mymarket.item.service.snapshot.ItemSnapshot;
+import com.amit.mymarket.item.service.snapshot.ItemSnapshotStore;
+import com.amit.mymarket.item.service.strategy.CatalogSearchStrategy;
 import com.amit.mymarket.item.service.type.SortType;
+import com.amit.mymarket.item.service.util.CatalogCursor;
+import com.amit.mymarket.item.service.util.CatalogPageRequest;
+import com.amit.mymarket.item.service.util.CatalogSlice;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,12 +24,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,12 +48,22 @@ class DefaultCatalogQueryServiceTest {
     @Mock
     private CartItemRepository cartItemRepository;
 
+    @Mock
+    private CatalogSearchStrategy catalogSearchStrategy;
+
+    @Mock
+    private CatalogPageCache catalogPageCache;
+
+    @Mock
+    private ItemSnapshotStore itemSnapshotStore;
+
     @InjectMocks
     private DefaultCatalogQueryService catalogQueryService;
 
     @Test
-    @DisplayName(value = "Should return non empty page with items when repository returns results")
+    @DisplayName(value = "Should return non empty page with joined cart quantities without reloading items by identifiers")
     void getCatalogPage_shouldReturnNonEmptyPageWhenRepositoryReturnsResults() {
+        String sessionId = "session-123";
         String searchQuery = "apple";
         SortType sortType = SortType.ALPHA;
         int pageNumber = 0;
@@ -53,41 +74,31 @@ class DefaultCatalogQueryServiceTest {
                 "Apple",
                 "Fresh green apple",
                 "/images/apple.png",
+                null,
                 100L,
                 2
         );
 
-        Item item = new Item();
-        item.setId(1L);
-        item.setTitle("Apple");
-        item.setDescription("Fresh green apple");
-        item.setImagePath("/images/apple.png");
-        item.setPriceMinor(100L);
-
-        when(this.itemRepository.searchItemsWithQuantity(isNull(), anyString(), anyString(), anyLong(), anyLong()))
+        when(this.catalogSearchStrategy.searchItems(eq(sessionId), any(CatalogPageRequest.class)))
                 .thenReturn(Flux.just(itemWithQuantity));
 
-        when(this.itemRepository.countItemsBySearchQuery(anyString()))
-                .thenReturn(Mono.just(1L));
-
-        when(this.itemRepository.findAllById(anyIterable()))
-                .thenReturn(Flux.just(item));
-
-        Mono<Page<Item>> catalogPage = this.catalogQueryService.getCatalogPage(searchQuery, sortType, pageNumber, pageSize);
+        Mono<Page<ItemWithQuantity>> catalogPage = this.catalogQueryService.getCatalogPage(sessionId, searchQuery, sortType, pageNumber, pageSize);
 
         StepVerifier.create(catalogPage)
                 .assertNext(page -> {
                     assertEquals(1, page.getTotalElements());
                     assertEquals(1, page.getContent().size());
-                    Item firstItem = page.getContent().getFirst();
-                    assertEquals(1L, firstItem.getId());
-                    assertEquals("Apple", firstItem.getTitle());
+                    ItemWithQuantity firstItem = page.getContent().getFirst();
+                    assertEquals(1L, firstItem.id());
+                    assertEquals("Apple", firstItem.title());
+                    assertEquals(2, firstItem.quantity());
                 })
                 .verifyComplete();
 
-        verify(this.itemRepository, times(1)).searchItemsWithQuantity(isNull(), anyString(), anyString(), anyLong(), anyLong());
-        verify(this.itemRepository, times(1)).countItemsBySearchQuery(anyString());
-        verify(this.itemRepository, times(1)).findAllById(anyIterable());
+        verify(this.catalogSearchStrategy, times(1)).searchItems(eq(sessionId), any(CatalogPageRequest.class));
+        verify(this.itemRepository, never()).findAllById(anyIterable());
+        verify(this.itemRepository, never()).countItemsBySearchQuery(any());
+        verifyNoInteractions(this.cartItemRepository);
     }
 
     @Test
@@ -98,11 +109,9 @@ class DefaultCatalogQueryServiceTest {
         int pageNumber = 0;
         int pageSize = 10;
 
-        when(this.itemRepository.searchItemsWithQuantity(isNull(), anyString(), anyString(), anyLong(), anyLong())).thenReturn(Flux.empty());
+        when(this.catalogSearchStrategy.searchItems(isNull(), any(CatalogPageRequest.class))).thenReturn(Flux.empty());
 
-        when(this.itemRepository.countItemsBySearchQuery(anyString())).thenReturn(Mono.just(0L));
-
-        Mono<Page<Item>> catalogPage = this.catalogQueryService.getCatalogPage(searchQuery, sortType, pageNumber, pageSize);
+        Mono<Page<ItemWithQuantity>> catalogPage = this.catalogQueryService.getCatalogPage(null, searchQuery, sortType, pageNumber, pageSize);
 
         StepVerifier.create(catalogPage)
                 .assertNext(page -> {
@@ -111,11 +120,142 @@ class DefaultCatalogQueryServiceTest {
                 })
                 .verifyComplete();
 
-        verify(this.itemRepository, times(1)).searchItemsWithQuantity(isNull(), anyString(), anyString(), anyLong(), anyLong());
-        verify(this.itemRepository, times(1)).countItemsBySearchQuery(anyString());
+        verify(this.catalogSearchStrategy, times(1)).searchItems(isNull(), any(CatalogPageRequest.class));
+        verify(this.itemRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    @DisplayName(value = "Should detect next page by probe row without counting items")
+    void getCatalogPage_shouldDetectNextPageByProbeRowWithoutCounting() {
+        int pageNumber = 1;
+        int pageSize = 2;
+
+        ItemWithQuantity firstRow = new ItemWithQuantity(1L, "Apple", "Fresh green apple", "/images/apple.png", null, 100L, 0);
+        ItemWithQuantity secondRow = new ItemWithQuantity(2L, "Banana", "Yellow banana", "/images/banana.png", null, 50L, 0);
+        ItemWithQuantity probeRow = new ItemWithQuantity(3L, "Carrot", "Orange carrot", "/images/carrot.png", null, 75L, 0);
+
+        when(this.catalogSearchStrategy.searchItems(isNull(), any(CatalogPageRequest.class)))
+                .thenReturn(Flux.just(firstRow, secondRow, probeRow));
+
+        Mono<Page<ItemWithQuantity>> catalogPage = this.catalogQueryService.getCatalogPage(null, null, SortType.NO, pageNumber, pageSize);
+
+        StepVerifier.create(catalogPage)
+                .assertNext(page -> {
+                    assertEquals(2, page.getContent().size());
+                    assertEquals(2L, page.getContent().getLast().id());
+                    assertTrue(page.hasNext());
+                    assertFalse(page.hasPrevious());
+                })
+                .verifyComplete();
+
+        verify(this.itemRepository, never()).countItemsBySearchQuery(any());
+    }
+
+    @Test
+    @DisplayName(value = "Should overlay session cart quantities on cached session independent page")
+    void getCatalogPage_shouldOverlayCartQuantitiesOnCachedPage() {
+        String sessionId = "session-123";
+
+        ItemWithQuantity cachedApple = new ItemWithQuantity(1L, "Apple", "Fresh green apple", "/images/apple.png", null, 100L, null);
+        ItemWithQuantity cachedBanana = new ItemWithQuantity(2L, "Banana", "Yellow banana", "/images/banana.png", null, 50L, null);
+        Page<ItemWithQuantity> cachedPage = new PageImpl<>(List.of(cachedApple, cachedBanana), PageRequest.of(0, 10), 2);
+
+        CartItemQuantityRow cartItemQuantityRow = new CartItemQuantityRow(2L, 3);
+
+        when(this.catalogPageCache.isEnabled()).thenReturn(true);
+        when(this.catalogPageCache.getOrLoad(any(CatalogPageRequest.class), any())).thenReturn(Mono.just(cachedPage));
+        when(this.cartItemRepository.findItemQuantities(eq(sessionId), any(Long[].class))).thenReturn(Flux.just(cartItemQuantityRow));
+
+        Mono<Page<ItemWithQuantity>> catalogPage = this.catalogQueryService.getCatalogPage(sessionId, null, SortType.NO, 1, 10);
+
+        StepVerifier.create(catalogPage)
+                .assertNext(page -> {
+                    assertEquals(2, page.getTotalElements());
+                    assertEquals(0, page.getContent().get(0).quantity());
+                    assertEquals(3, page.getContent().get(1).quantity());
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(this.catalogSearchStrategy);
+    }
+
+    @Test
+    @DisplayName(value = "Should serve catalog page from item snapshot and query database only for cart quantities")
+    void getCatalogPage_shouldServePageFromSnapshotWhenSnapshotIsReady() {
+        String sessionId = "session-123";
+
+        Item apple = new Item("Apple", "Fresh green apple", 100L);
+        apple.setId(1L);
+        Item banana = new Item("Banana", "Yellow banana", 50L);
+        banana.setId(2L);
+
+        CartItemQuantityRow cartItemQuantityRow = new CartItemQuantityRow(1L, 4);
+
+        when(this.itemSnapshotStore.isReady()).thenReturn(true);
+        when(this.itemSnapshotStore.current()).thenReturn(ItemSnapshot.of(List.of(apple, banana), 4, Locale.forLanguageTag("ru-RU")));
+        when(this.cartItemRepository.findItemQuantities(eq(sessionId), any(Long[].class))).thenReturn(Flux.just(cartItemQuantityRow));
+
+        Mono<Page<ItemWithQuantity>> catalogPage = this.catalogQueryService.getCatalogPage(sessionId, null, SortType.PRICE, 1, 10);
+
+        StepVerifier.create(catalogPage)
+                .assertNext(page -> {
+                    assertEquals(2, page.getTotalElements());
+                    assertEquals(2L, page.getContent().get(0).id());
+                    assertEquals(0, page.getContent().get(0).quantity());
+                    assertEquals(1L, page.getContent().get(1).id());
+                    assertEquals(4, page.getContent().get(1).quantity());
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(this.itemRepository, this.catalogSearchStrategy, this.catalogPageCache);
+    }
+
+    @Test
+    @DisplayName(value = "Should seek by cursor and emit next cursor when repository returns one more row than page size")
+    void getCatalogSlice_shouldSeekByCursorAndEmitNextCursorWhenMoreRowsExist() {
+        String searchQuery = null;
+        SortType sortType = SortType.PRICE;
+        int pageNumber = 2;
+        int pageSize = 1;
+
+        ItemWithQuantity boundaryItem = new ItemWithQuantity(2L, "Banana", "Yellow banana", "/images/banana.png", null, 50L, 0);
+        String cursor = CatalogCursor.next(sortType, boundaryItem).encode();
+
+        ItemWithQuantity firstRow = new ItemWithQuantity(3L, "Carrot", "Orange carrot", "/images/carrot.png", null, 75L, 0);
+        ItemWithQuantity probeRow = new ItemWithQuantity(1L, "Apple", "Fresh green apple", "/images/apple.png", null, 100L, 0);
+
+        when(this.itemRepository.searchItemsWithQuantityAfterPrice(isNull(), isNull(), eq(50L), eq(2L), eq(2L)))
+                .thenReturn(Flux.just(firstRow, probeRow));
+
+        Mono<CatalogSlice> catalogSlice = this.catalogQueryService.getCatalogSlice(null, searchQuery, sortType, cursor, pageNumber, pageSize);
+
+        StepVerifier.create(catalogSlice)
+                .assertNext(slice -> {
+                    assertEquals(1, slice.items().size());
+                    assertEquals(3L, slice.items().getFirst().id());
+                    assertTrue(slice.hasPrevious());
+                    assertTrue(slice.hasNext());
+                    assertEquals(3L, CatalogCursor.decode(slice.nextCursor()).id());
+                    assertEquals(75L, CatalogCursor.decode(slice.nextCursor()).priceMinorKey());
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(this.catalogSearchStrategy);
         verify(this.itemRepository, never()).findAllById(anyIterable());
     }
 
+    @Test
+    @DisplayName(value = "Should return ServiceException when cursor is malformed")
+    void getCatalogSlice_shouldReturnServiceExceptionWhenCursorIsMalformed() {
+        Mono<CatalogSlice> catalogSlice = this.catalogQueryService.getCatalogSlice(null, null, SortType.NO, "%%%", 2, 5);
+
+        StepVerifier.create(catalogSlice)
+                .expectError(ServiceException.class)
+                .verify();
+
+        verifyNoInteractions(this.itemRepository);
+    }
+
     @Test
     @DisplayName(value = "Should return quantity when item with quantity exists in cart")
     void getCartQuantityForItem_shouldReturnQuantityWhenItemWithQuantityExists() {
@@ -127,6 +267,7 @@ class DefaultCatalogQueryServiceTest {
                 "Apple",
                 "Fresh green apple",
                 "/images/apple.png",
+                null,
                 100L,
                 5
         );
@@ -151,6 +292,7 @@ class DefaultCatalogQueryServiceTest {
                 "Apple",
                 "Fresh green apple",
                 "/images/apple.png",
+                null,
                 100L,
                 null
         );
@@ -200,25 +342,12 @@ class DefaultCatalogQueryServiceTest {
         String sessionId = "session-123";
         List<Long> itemId = List.of(1L, 2L, 3L);
 
-        CartItemRow firstCartItemRow = new CartItemRow(
-                1L,
-                "Apple",
-                "Green apple",
-                "/images/apple.png",
-                100L,
-                5
-        );
+        CartItemQuantityRow firstCartItemQuantityRow = new CartItemQuantityRow(1L, 5);
 
-        CartItemRow thirdCartItemRow = new CartItemRow(
-                3L,
-                "Carrot",
-                "Orange carrot",
-                "/images/carrot.png",
-                75L,
-                null
-        );
+        CartItemQuantityRow thirdCartItemQuantityRow = new CartItemQuantityRow(3L, null);
 
-        when(this.cartItemRepository.findCartItems(sessionId)).thenReturn(Flux.just(firstCartItemRow, thirdCartItemRow));
+        when(this.cartItemRepository.findItemQuantities(sessionId, new Long[]{1L, 2L, 3L}))
+                .thenReturn(Flux.just(firstCartItemQuantityRow, thirdCartItemQuantityRow));
 
         Mono<Map<Long, Integer>> quantities = this.catalogQueryService.getCartQuantitiesForItems(sessionId, itemId);
 
@@ -230,6 +359,8 @@ class DefaultCatalogQueryServiceTest {
                     assertEquals(0, resultMap.get(3L));
                 })
                 .verifyComplete();
+
+        verify(this.cartItemRepository, never()).findCartItems(anyString());
     }
 
     @Test
@@ -0,0 +1,78 @@
+package com.amit.mymarket.unit.item.service;
+
+import com.amit.mymarket.common.exception.ServiceException;
+import com.amit.mymarket.common.service.MediaStorageService;
+import com.amit.mymarket.item.repository.ItemRepository;
+import com.amit.mymarket.item.service.image.ItemImageCleaner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(value = MockitoExtension.class)
+class ItemImageCleanerTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private MediaStorageService mediaStorageService;
+
+    private ItemImageCleaner itemImageCleaner;
+
+    @BeforeEach
+    void setUp() {
+        this.itemImageCleaner = new ItemImageCleaner(this.itemRepository, this.mediaStorageService);
+    }
+
+    @Test
+    @DisplayName(value = "Should lock each key before counting references and delete only unreferenced objects")
+    void deleteUnreferenced_shouldLockKeyBeforeCountingAndDelete() {
+        when(this.itemRepository.lockImageKey(anyString())).thenReturn(Mono.just(1));
+        when(this.itemRepository.countImageReferences("items/a.jpg")).thenReturn(Mono.just(0L));
+        when(this.itemRepository.countImageReferences("items/b.jpg")).thenReturn(Mono.just(1L));
+        when(this.mediaStorageService.deleteMediaFile("items/a.jpg")).thenReturn(Mono.empty());
+
+        StepVerifier.create(this.itemImageCleaner.deleteUnreferenced(List.of("items/b.jpg", "items/a.jpg", "")))
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(this.itemRepository, this.mediaStorageService);
+        inOrder.verify(this.itemRepository).lockImageKey("items/a.jpg");
+        inOrder.verify(this.itemRepository).countImageReferences("items/a.jpg");
+        inOrder.verify(this.mediaStorageService).deleteMediaFile("items/a.jpg");
+        inOrder.verify(this.itemRepository).lockImageKey("items/b.jpg");
+        inOrder.verify(this.itemRepository).countImageReferences("items/b.jpg");
+        verify(this.mediaStorageService, never()).deleteMediaFile("items/b.jpg");
+    }
+
+    @Test
+    @DisplayName(value = "Should fail when a locked key is no longer stored")
+    void lockStored_shouldFailWhenObjectWasDeleted() {
+        when(this.itemRepository.lockImageKey("items/a.jpg")).thenReturn(Mono.just(1));
+        when(this.mediaStorageService.mediaFileExists("items/a.jpg")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(this.itemImageCleaner.lockStored(List.of("items/a.jpg")))
+                .expectError(ServiceException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName(value = "Should complete when every locked key is still stored")
+    void lockStored_shouldCompleteWhenObjectsAreStored() {
+        when(this.itemRepository.lockImageKey("items/a.jpg")).thenReturn(Mono.just(1));
+        when(this.mediaStorageService.mediaFileExists("items/a.jpg")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(this.itemImageCleaner.lockStored(List.of("items/a.jpg")))
+                .verifyComplete();
+    }
+
+}
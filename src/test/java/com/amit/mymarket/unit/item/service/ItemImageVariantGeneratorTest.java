@@ -0,0 +1,153 @@
+package com.amit.mymarket.unit.item.service;
+
+import com.amit.mymarket.common.service.MediaStorageService;
+import com.amit.mymarket.common.service.util.PathSpecification;
+import com.amit.mymarket.item.entity.Item;
+import com.amit.mymarket.item.repository.ItemRepository;
+import com.amit.mymarket.item.service.cache.CatalogPageCache;
+import com.amit.mymarket.item.service.image.ItemImageCleaner;
+import com.amit.mymarket.item.service.image.ItemImageVariantGenerator;
+import com.amit.mymarket.item.service.snapshot.ItemSnapshotStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(value = MockitoExtension.class)
+class ItemImageVariantGeneratorTest {
+
+    private static final String IMAGE_PATH = "items/1/uuid/original.jpg";
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private MediaStorageService mediaStorageService;
+
+    @Mock
+    private CatalogPageCache catalogPageCache;
+
+    @Mock
+    private ItemSnapshotStore itemSnapshotStore;
+
+    @Mock
+    private ItemImageCleaner itemImageCleaner;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private ItemImageVariantGenerator itemImageVariantGenerator;
+
+    @BeforeEach
+    void setUp() {
+        this.itemImageVariantGenerator = new ItemImageVariantGenerator(
+                this.itemRepository,
+                this.mediaStorageService,
+                this.catalogPageCache,
+                this.itemSnapshotStore,
+                this.itemImageCleaner,
+                this.transactionalOperator,
+                true,
+                10 * 1024 * 1024,
+                25_000_000L,
+                Schedulers.immediate()
+        );
+    }
+
+    @Test
+    @DisplayName(value = "Should store resized variants and attach their keys to the item")
+    void generateVariants_shouldStoreVariantsAndAttachKeys() throws IOException {
+        Item item = new Item("Apple", "Green", 100L);
+
+        when(this.mediaStorageService.readMediaFile(IMAGE_PATH))
+                .thenReturn(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(readTestFile("sample.jpg"))));
+        when(this.mediaStorageService.saveMediaContent(any(byte[].class), eq("image/jpeg"), any(PathSpecification.class)))
+                .thenAnswer(invocation -> Mono.just("items/1/uuid/" + invocation.<PathSpecification>getArgument(2).variant() + ".jpg"));
+        when(this.itemImageCleaner.lockStored(anyCollection())).thenReturn(Mono.empty());
+        when(this.transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(this.itemRepository.updateImageVariants(1L, IMAGE_PATH, "thumb=items/1/uuid/thumb.jpg,card=items/1/uuid/card.jpg"))
+                .thenReturn(Mono.just(1));
+        when(this.itemRepository.findById(1L)).thenReturn(Mono.just(item));
+        when(this.itemSnapshotStore.putItem(item)).thenReturn(Mono.empty());
+        when(this.catalogPageCache.evictItem(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(this.itemImageVariantGenerator.generateVariants(1L, IMAGE_PATH))
+                .verifyComplete();
+
+        verify(this.mediaStorageService, times(2)).saveMediaContent(any(byte[].class), eq("image/jpeg"), any(PathSpecification.class));
+        verify(this.catalogPageCache).evictItem(1L);
+        verify(this.itemImageCleaner).lockStored(argThat(keys -> keys.containsAll(List.of("items/1/uuid/thumb.jpg", "items/1/uuid/card.jpg"))));
+        verify(this.itemImageCleaner, never()).deleteUnreferenced(anyCollection());
+    }
+
+    @Test
+    @DisplayName(value = "Should delete generated variants when the item image was replaced meanwhile")
+    void generateVariants_shouldDeleteVariantsWhenImageWasReplaced() throws IOException {
+        when(this.mediaStorageService.readMediaFile(IMAGE_PATH))
+                .thenReturn(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(readTestFile("sample.jpg"))));
+        when(this.mediaStorageService.saveMediaContent(any(byte[].class), anyString(), any(PathSpecification.class)))
+                .thenAnswer(invocation -> Mono.just("items/1/uuid/" + invocation.<PathSpecification>getArgument(2).variant() + ".jpg"));
+        when(this.itemImageCleaner.lockStored(anyCollection())).thenReturn(Mono.empty());
+        when(this.transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(this.itemRepository.updateImageVariants(eq(1L), eq(IMAGE_PATH), anyString())).thenReturn(Mono.just(0));
+        when(this.itemImageCleaner.deleteUnreferenced(anyCollection())).thenReturn(Mono.empty());
+
+        StepVerifier.create(this.itemImageVariantGenerator.generateVariants(1L, IMAGE_PATH))
+                .verifyComplete();
+
+        verify(this.itemImageCleaner).deleteUnreferenced(List.of("items/1/uuid/thumb.jpg", "items/1/uuid/card.jpg"));
+        verifyNoInteractions(this.catalogPageCache, this.itemSnapshotStore);
+    }
+
+    @Test
+    @DisplayName(value = "Should fail without storing anything when the original is not a decodable image")
+    void generateVariants_shouldFailWhenOriginalIsNotAnImage() {
+        when(this.mediaStorageService.readMediaFile(IMAGE_PATH))
+                .thenReturn(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap("not an image".getBytes())));
+
+        StepVerifier.create(this.itemImageVariantGenerator.generateVariants(1L, IMAGE_PATH))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verify(this.mediaStorageService, never()).saveMediaContent(any(), anyString(), any());
+        verifyNoInteractions(this.itemRepository);
+    }
+
+    @Test
+    @DisplayName(value = "Should skip WebP originals without storing or attaching anything")
+    void generateVariants_shouldSkipWebpOriginal() {
+        byte[] webpHeader = "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII);
+        when(this.mediaStorageService.readMediaFile(IMAGE_PATH))
+                .thenReturn(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(webpHeader)));
+
+        StepVerifier.create(this.itemImageVariantGenerator.generateVariants(1L, IMAGE_PATH))
+                .verifyComplete();
+
+        verify(this.mediaStorageService, never()).saveMediaContent(any(), anyString(), any());
+        verifyNoInteractions(this.itemRepository, this.itemSnapshotStore, this.catalogPageCache);
+    }
+
+    private static byte[] readTestFile(String name) throws IOException {
+        try (InputStream inputStream = ItemImageVariantGeneratorTest.class.getResourceAsStream("/test-files/" + name)) {
+            return Objects.requireNonNull(inputStream).readAllBytes();
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.amit.mymarket.unit.item.service;
+
+import com.amit.mymarket.item.entity.Item;
+import com.amit.mymarket.item.repository.ItemRepository;
+import com.amit.mymarket.item.service.snapshot.ItemSnapshotStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(value = MockitoExtension.class)
+class ItemSnapshotStoreTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSnapshotStore itemSnapshotStore;
+
+    @BeforeEach
+    void setUp() {
+        this.itemSnapshotStore = new ItemSnapshotStore(this.itemRepository, true, 4, Locale.forLanguageTag("ru-RU"));
+    }
+
+    @Test
+    @DisplayName(value = "Should keep image variants of the item put into the snapshot")
+    void putItem_shouldKeepImageVariants() {
+        Item item = item(1L, "items/1/uuid/original.jpg");
+        when(this.itemRepository.findAll()).thenReturn(Flux.just(item));
+        StepVerifier.create(this.itemSnapshotStore.reload()).verifyComplete();
+
+        Item updatedItem = item(1L, "items/1/uuid/original.jpg");
+        updatedItem.setImageVariants("thumb=items/1/uuid/thumb.jpg,card=items/1/uuid/card.jpg");
+
+        StepVerifier.create(this.itemSnapshotStore.putItem(updatedItem))
+                .verifyComplete();
+
+        Item snapshotItem = this.itemSnapshotStore.current().findItem(1L);
+        assertEquals("items/1/uuid/original.jpg", snapshotItem.getImagePath());
+        assertEquals("thumb=items/1/uuid/thumb.jpg,card=items/1/uuid/card.jpg", snapshotItem.getImageVariants());
+    }
+
+    @Test
+    @DisplayName(value = "Should keep image variants of items loaded from the repository")
+    void reload_shouldKeepImageVariants() {
+        Item item = item(1L, "items/1/uuid/original.jpg");
+        item.setImageVariants("thumb=items/1/uuid/thumb.jpg");
+        when(this.itemRepository.findAll()).thenReturn(Flux.just(item));
+
+        StepVerifier.create(this.itemSnapshotStore.reload()).verifyComplete();
+
+        assertEquals("thumb=items/1/uuid/thumb.jpg", this.itemSnapshotStore.current().findItem(1L).getImageVariants());
+    }
+
+    private static Item item(long id, String imagePath) {
+        Item item = new Item("Apple", "Green fruit", 100L);
+        item.setId(id);
+        item.setImagePath(imagePath);
+        return item;
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.amit.mymarket.unit.item.service;
+
+import com.amit.mymarket.item.entity.Item;
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import com.amit.mymarket.item.service.snapshot.ItemSnapshot;
+import com.amit.mymarket.item.service.type.SortType;
+import com.amit.mymarket.item.service.util.CatalogCursor;
+import com.amit.mymarket.item.service.util.CatalogPageRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSnapshotTest {
+
+    private static final Locale COLLATION_LOCALE = Locale.forLanguageTag("ru-RU");
+
+    @Test
+    @DisplayName(value = "Should page matching items in alphabetical order and probe for next page")
+    void findPage_shouldPageMatchingItemsInAlphabeticalOrder() {
+        ItemSnapshot itemSnapshot = ItemSnapshot.of(List.of(
+                item(1L, "banana", "Yellow fruit", 50L),
+                item(2L, "Apple", "Green fruit", 100L),
+                item(3L, "Carrot", "Orange vegetable", 75L)
+        ), 4, COLLATION_LOCALE);
+
+        Page<Item> page = itemSnapshot.findPage(CatalogPageRequest.of("FRUIT", SortType.ALPHA, 1, 1));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(1, page.getContent().size());
+        assertEquals(2L, page.getContent().getFirst().getId());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    @DisplayName(value = "Should skip earlier matches and report no next page on last search page")
+    void findPage_shouldSkipEarlierMatchesOnLastSearchPage() {
+        ItemSnapshot itemSnapshot = ItemSnapshot.of(List.of(
+                item(1L, "Apple", "Green fruit", 100L),
+                item(2L, "Banana", "Yellow fruit", 50L),
+                item(3L, "Carrot", "Orange vegetable", 75L),
+                item(4L, "Date", "Sweet fruit", 120L)
+        ), 4, COLLATION_LOCALE);
+
+        Page<Item> middlePage = itemSnapshot.findPage(CatalogPageRequest.of("fruit", SortType.NO, 2, 1));
+        Page<Item> lastPage = itemSnapshot.findPage(CatalogPageRequest.of("fruit", SortType.NO, 2, 2));
+
+        assertEquals(List.of(2L), middlePage.getContent().stream().map(Item::getId).toList());
+        assertTrue(middlePage.hasNext());
+        assertEquals(List.of(4L), lastPage.getContent().stream().map(Item::getId).toList());
+        assertFalse(lastPage.hasNext());
+        assertEquals(3, lastPage.getTotalElements());
+    }
+
+    @Test
+    @DisplayName(value = "Should seek past cursor boundary in both directions by price")
+    void findSlice_shouldSeekPastCursorBoundaryByPrice() {
+        ItemSnapshot itemSnapshot = ItemSnapshot.of(List.of(
+                item(1L, "Apple", "Green fruit", 100L),
+                item(2L, "Banana", "Yellow fruit", 50L),
+                item(3L, "Carrot", "Orange vegetable", 75L)
+        ), 4, COLLATION_LOCALE);
+        ItemWithQuantity boundary = new ItemWithQuantity(3L, "Carrot", "Orange vegetable", null, null, 75L, 0);
+
+        List<Item> nextItems = itemSnapshot.findSlice(null, CatalogCursor.next(SortType.PRICE, boundary), 5);
+        List<Item> previousItems = itemSnapshot.findSlice(null, CatalogCursor.previous(SortType.PRICE, boundary), 5);
+
+        assertEquals(List.of(1L), nextItems.stream().map(Item::getId).toList());
+        assertEquals(List.of(2L), previousItems.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    @DisplayName(value = "Should reorder updated item and forget removed item without touching original snapshot")
+    void withItem_shouldReorderUpdatedItemAndWithoutItemShouldForgetRemovedItem() {
+        ItemSnapshot itemSnapshot = ItemSnapshot.of(List.of(
+                item(1L, "Apple", "Green fruit", 100L),
+                item(2L, "Banana", "Yellow fruit", 50L)
+        ), 2);
+
+        ItemSnapshot updatedSnapshot = itemSnapshot
+                .withItem(item(1L, "Apple", "Green fruit", 10L))
+                .withItem(item(3L, "Carrot", "Orange vegetable", 75L))
+                .withoutItem(2L);
+
+        Page<Item> page = updatedSnapshot.findPage(CatalogPageRequest.of(null, SortType.PRICE, 1, 10));
+
+        assertEquals(List.of(1L, 3L), page.getContent().stream().map(Item::getId).toList());
+        assertNull(updatedSnapshot.findItem(2L));
+        assertEquals(10L, updatedSnapshot.findItem(1L).getPriceMinor());
+        assertEquals(100L, itemSnapshot.findItem(1L).getPriceMinor());
+        assertEquals(2, itemSnapshot.size());
+    }
+
+    @Test
+    @DisplayName(value = "Should order titles by Russian collation with ё next to е instead of after я")
+    void findPage_shouldOrderTitlesByCollation() {
+        ItemSnapshot itemSnapshot = ItemSnapshot.of(List.of(
+                item(1L, "Яблоко", "", 10L),
+                item(2L, "ёлка", "", 10L),
+                item(3L, "Ель", "", 10L),
+                item(4L, "арбуз", "", 10L),
+                item(5L, "Apple", "", 10L),
+                item(6L, "Ёж", "", 10L)
+        ), 4, COLLATION_LOCALE);
+
+        Page<Item> page = itemSnapshot.findPage(CatalogPageRequest.of(null, SortType.ALPHA, 1, 10));
+
+        assertEquals(List.of(5L, 4L, 6L, 2L, 3L, 1L), page.getContent().stream().map(Item::getId).toList());
+    }
+
+    @Test
+    @DisplayName(value = "Should seek past title cursor boundary using the same collation")
+    void findSlice_shouldSeekPastTitleBoundaryByCollation() {
+        ItemSnapshot itemSnapshot = ItemSnapshot.of(List.of(
+                item(1L, "Яблоко", "", 10L),
+                item(2L, "ёлка", "", 10L),
+                item(3L, "Ель", "", 10L),
+                item(4L, "арбуз", "", 10L)
+        ), 4, COLLATION_LOCALE);
+        ItemWithQuantity boundary = new ItemWithQuantity(2L, "ёлка", "", null, null, 10L, 0);
+
+        List<Item> nextItems = itemSnapshot.findSlice(null, CatalogCursor.next(SortType.ALPHA, boundary), 5);
+        List<Item> previousItems = itemSnapshot.findSlice(null, CatalogCursor.previous(SortType.ALPHA, boundary), 5);
+
+        assertEquals(List.of(3L, 1L), nextItems.stream().map(Item::getId).toList());
+        assertEquals(List.of(4L), previousItems.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    @DisplayName(value = "Should match search against title and description regardless of case")
+    void findSlice_shouldMatchSearchIgnoringCase() {
+        ItemSnapshot itemSnapshot = ItemSnapshot.of(List.of(
+                item(1L, "Apple", "Green FRUIT", 100L),
+                item(2L, "Banana", "Yellow", 50L),
+                item(3L, "FRUIT basket", "Mixed", 75L)
+        ), 4, COLLATION_LOCALE);
+        ItemWithQuantity boundary = new ItemWithQuantity(0L, "", "", null, null, 0L, 0);
+
+        List<Item> items = itemSnapshot.findSlice("fruit", CatalogCursor.next(SortType.NO, boundary), 5);
+
+        assertEquals(List.of(1L, 3L), items.stream().map(Item::getId).toList());
+    }
+
+    private static Item item(long id, String title, String description, long priceMinor) {
+        Item item = new Item(title, description, priceMinor);
+        item.setId(id);
+        return item;
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.amit.mymarket.unit.item.service;
+
+import com.amit.mymarket.common.exception.ServiceException;
+import com.amit.mymarket.item.repository.ItemRepository;
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import com.amit.mymarket.item.service.strategy.TrigramCatalogSearchStrategy;
+import com.amit.mymarket.item.service.type.SortType;
+import com.amit.mymarket.item.service.util.CatalogPageRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(value = MockitoExtension.class)
+class TrigramCatalogSearchStrategyTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private TrigramCatalogSearchStrategy catalogSearchStrategy;
+
+    @Test
+    @DisplayName(value = "Should rank items by similarity when sort type is RELEVANCE and search query is present")
+    void searchItems_shouldRankBySimilarityWhenSortTypeIsRelevance() {
+        CatalogPageRequest catalogPageRequest = CatalogPageRequest.of("aple", SortType.RELEVANCE, 1, 10);
+
+        ItemWithQuantity itemWithQuantity = new ItemWithQuantity(1L, "Apple", "Fresh green apple", null, null, 100L, 0);
+
+        when(this.itemRepository.isTrigramExtensionInstalled()).thenReturn(Mono.just(true));
+        when(this.itemRepository.searchItemsWithQuantityByRelevance(isNull(), eq("aple"), eq(11L), eq(0L)))
+                .thenReturn(Flux.just(itemWithQuantity));
+
+        StepVerifier.create(this.catalogSearchStrategy.searchItems(null, catalogPageRequest))
+                .expectNext(itemWithQuantity)
+                .verifyComplete();
+
+        verify(this.itemRepository, never()).searchItemsWithQuantity(any(), any(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName(value = "Should fall back to catalog order when sort type is RELEVANCE but search query is absent")
+    void searchItems_shouldFallBackToCatalogOrderWhenSearchQueryIsAbsent() {
+        CatalogPageRequest catalogPageRequest = CatalogPageRequest.of(null, SortType.RELEVANCE, 1, 10);
+
+        when(this.itemRepository.searchItemsWithQuantity(isNull(), isNull(), eq("RELEVANCE"), eq(11L), eq(0L)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(this.catalogSearchStrategy.searchItems(null, catalogPageRequest))
+                .verifyComplete();
+
+        verify(this.itemRepository, never()).searchItemsWithQuantityByRelevance(any(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName(value = "Should fail RELEVANCE search clearly when pg_trgm extension is not installed")
+    void searchItems_shouldFailRelevanceSearchWhenTrigramExtensionIsMissing() {
+        CatalogPageRequest catalogPageRequest = CatalogPageRequest.of("aple", SortType.RELEVANCE, 1, 10);
+
+        when(this.itemRepository.isTrigramExtensionInstalled()).thenReturn(Mono.just(false));
+
+        StepVerifier.create(this.catalogSearchStrategy.searchItems(null, catalogPageRequest))
+                .expectError(ServiceException.class)
+                .verify();
+
+        verify(this.itemRepository, never()).searchItemsWithQuantityByRelevance(any(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName(value = "Should search without pg_trgm when sort type is not RELEVANCE")
+    void searchItems_shouldNotCheckTrigramExtensionWhenSortTypeIsNotRelevance() {
+        CatalogPageRequest catalogPageRequest = CatalogPageRequest.of("aple", SortType.PRICE, 1, 10);
+
+        when(this.itemRepository.searchItemsWithQuantity(isNull(), eq("aple"), eq("PRICE"), eq(11L), eq(0L)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(this.catalogSearchStrategy.searchItems(null, catalogPageRequest))
+                .verifyComplete();
+
+        verify(this.itemRepository, never()).isTrigramExtensionInstalled();
+    }
+
+}
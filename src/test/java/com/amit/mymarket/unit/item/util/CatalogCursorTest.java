@@ -0,0 +1,63 @@
+package com.amit.mymarket.unit.item.util;
+
+import com.amit.mymarket.item.repository.projection.ItemWithQuantity;
+import com.amit.mymarket.item.service.type.CursorDirection;
+import com.amit.mymarket.item.service.type.SortType;
+import com.amit.mymarket.item.service.util.CatalogCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogCursorTest {
+
+    @Test
+    @DisplayName(value = "Should restore the same cursor after encode and decode for title sort key")
+    void decode_shouldRestoreCursorEncodedWithTitleSortKey() {
+        ItemWithQuantity item = new ItemWithQuantity(42L, "Apple: green", "Fresh green apple", null, null, 100L, 0);
+
+        CatalogCursor catalogCursor = CatalogCursor.next(SortType.ALPHA, item);
+
+        CatalogCursor decodedCatalogCursor = CatalogCursor.decode(catalogCursor.encode());
+
+        assertEquals(CursorDirection.NEXT, decodedCatalogCursor.direction());
+        assertEquals(SortType.ALPHA, decodedCatalogCursor.sortType());
+        assertEquals(42L, decodedCatalogCursor.id());
+        assertEquals("Apple: green", decodedCatalogCursor.sortKey());
+    }
+
+    @Test
+    @DisplayName(value = "Should restore price sort key when cursor is built for PRICE sort type")
+    void decode_shouldRestorePriceSortKeyForPriceSortType() {
+        ItemWithQuantity item = new ItemWithQuantity(7L, "Banana", "Yellow banana", null, null, 50L, 0);
+
+        String token = CatalogCursor.previous(SortType.PRICE, item).encode();
+
+        CatalogCursor decodedCatalogCursor = CatalogCursor.decode(token);
+
+        assertEquals(CursorDirection.PREVIOUS, decodedCatalogCursor.direction());
+        assertFalse(decodedCatalogCursor.isForward());
+        assertEquals(50L, decodedCatalogCursor.priceMinorKey());
+        assertEquals(7L, decodedCatalogCursor.id());
+    }
+
+    @Test
+    @DisplayName(value = "Should not carry sort key when sort type is NO")
+    void next_shouldNotCarrySortKeyWhenSortTypeIsNo() {
+        ItemWithQuantity item = new ItemWithQuantity(3L, "Carrot", "Orange carrot", null, null, 75L, 0);
+
+        CatalogCursor decodedCatalogCursor = CatalogCursor.decode(CatalogCursor.next(null, item).encode());
+
+        assertEquals(SortType.NO, decodedCatalogCursor.sortType());
+        assertNull(decodedCatalogCursor.sortKey());
+    }
+
+    @Test
+    @DisplayName(value = "Should throw IllegalArgumentException when token is malformed")
+    void decode_shouldThrowIllegalArgumentExceptionWhenTokenIsMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> CatalogCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogCursor.decode(" "));
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.amit.mymarket.unit.order.service;
+
+import com.amit.mymarket.common.exception.ResourceNotFoundException;
+import com.amit.mymarket.common.exception.ServiceException;
+import com.amit.mymarket.order.repository.CheckoutRequestRepository;
+import com.amit.mymarket.order.service.CheckoutService;
+import com.amit.mymarket.order.service.impl.DefaultCheckoutRequestService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(value = MockitoExtension.class)
+class DefaultCheckoutRequestServiceTest {
+
+    @Mock
+    private CheckoutService checkoutService;
+
+    @Mock
+    private CheckoutRequestRepository checkoutRequestRepository;
+
+    @InjectMocks
+    private DefaultCheckoutRequestService checkoutRequestService;
+
+    @Test
+    @DisplayName(value = "Should create order and record it when checkout token is claimed")
+    void createOrderOnce_shouldCreateOrderWhenTokenIsClaimed() {
+        String sessionId = "session-123";
+        String checkoutToken = "token-1";
+
+        when(this.checkoutRequestRepository.claimToken(checkoutToken, sessionId)).thenReturn(Mono.just(checkoutToken));
+        when(this.checkoutService.createOrderFromActiveCartAndClear(sessionId)).thenReturn(Mono.just(42L));
+        when(this.checkoutRequestRepository.completeToken(checkoutToken, 42L)).thenReturn(Mono.just(1));
+
+        StepVerifier.create(this.checkoutRequestService.createOrderOnce(sessionId, checkoutToken))
+                .expectNext(42L)
+                .verifyComplete();
+
+        verify(this.checkoutRequestRepository, never()).findOrderIdByTokenAndSessionId(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName(value = "Should return recorded order identifier without checking out again when token is already used")
+    void createOrderOnce_shouldReturnRecordedOrderWhenTokenIsAlreadyUsed() {
+        String sessionId = "session-123";
+        String checkoutToken = "token-1";
+
+        when(this.checkoutRequestRepository.claimToken(checkoutToken, sessionId)).thenReturn(Mono.empty());
+        when(this.checkoutRequestRepository.findOrderIdByTokenAndSessionId(checkoutToken, sessionId)).thenReturn(Mono.just(42L));
+
+        StepVerifier.create(this.checkoutRequestService.createOrderOnce(sessionId, checkoutToken))
+                .expectNext(42L)
+                .verifyComplete();
+
+        verifyNoInteractions(this.checkoutService);
+    }
+
+    @Test
+    @DisplayName(value = "Should return error when used token belongs to another session")
+    void createOrderOnce_shouldReturnErrorWhenTokenBelongsToAnotherSession() {
+        String sessionId = "session-123";
+        String checkoutToken = "token-1";
+
+        when(this.checkoutRequestRepository.claimToken(checkoutToken, sessionId)).thenReturn(Mono.empty());
+        when(this.checkoutRequestRepository.findOrderIdByTokenAndSessionId(checkoutToken, sessionId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(this.checkoutRequestService.createOrderOnce(sessionId, checkoutToken))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(this.checkoutService);
+    }
+
+    @Test
+    @DisplayName(value = "Should return error when checkout token is blank")
+    void createOrderOnce_shouldReturnErrorWhenTokenIsBlank() {
+        StepVerifier.create(this.checkoutRequestService.createOrderOnce("session-123", "  "))
+                .expectError(ServiceException.class)
+                .verify();
+
+        verifyNoInteractions(this.checkoutService);
+        verifyNoInteractions(this.checkoutRequestRepository);
+    }
+
+}
@@ -7,8 +7,6 @@ import com.amit.mymarket.cart.repository.CartRepository;
 import com.amit.mymarket.cart.repository.projection.CartItemRow;
 import com.amit.mymarket.common.exception.ResourceNotFoundException;
 import com.amit.mymarket.common.exception.ServiceException;
-import com.amit.mymarket.order.domain.entity.Order;
-import com.amit.mymarket.order.repository.OrderItemRepository;
 import com.amit.mymarket.order.repository.OrderRepository;
 import com.amit.mymarket.order.service.impl.DefaultCheckoutService;
 import com.amit.mymarket.order.service.util.OrderUtils;
@@ -39,9 +37,6 @@ class DefaultCheckoutServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
-    @Mock
-    private OrderItemRepository orderItemRepository;
-
     @InjectMocks
     private DefaultCheckoutService checkoutService;
 
@@ -56,19 +51,22 @@ class DefaultCheckoutServiceTest {
         activeCart.setSessionId(sessionId);
         activeCart.setStatus(CartStatus.ACTIVE);
 
-        CartItemRow firstCartItemRow = new CartItemRow(1L, "Apple", "Green", "/a.png", 100L, 2);
-        CartItemRow secondCartItemRow = new CartItemRow(2L, "Banana", "Yellow", "/b.png", 50L, 1);
+        CartItemRow firstCartItemRow = new CartItemRow(1L, "Apple", "Green", "/a.png", null, 100L, 2);
+        CartItemRow secondCartItemRow = new CartItemRow(2L, "Banana", "Yellow", "/b.png", null, 50L, 1);
 
         List<CartItemRow> cartItemList = List.of(firstCartItemRow, secondCartItemRow);
         long expectedTotalMinor = OrderUtils.calculateTotalMinor(cartItemList);
 
-        Order savedOrder = new Order(sessionId, expectedTotalMinor);
-        savedOrder.setId(expectedOrderId);
-
         when(this.cartRepository.findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE)).thenReturn(Mono.just(activeCart));
         when(this.cartItemRepository.findCartItems(sessionId)).thenReturn(Flux.fromIterable(cartItemList));
-        when(this.orderRepository.save(any(Order.class))).thenReturn(Mono.just(savedOrder));
-        when(this.orderItemRepository.saveAll(anyList())).thenReturn(Flux.empty());
+        when(this.orderRepository.insertOrderWithItems(
+                sessionId,
+                expectedTotalMinor,
+                new Long[]{1L, 2L},
+                new String[]{"Apple", "Banana"},
+                new Long[]{100L, 50L},
+                new Integer[]{2, 1}
+        )).thenReturn(Mono.just(expectedOrderId));
         when(this.cartItemRepository.deleteByCartId(activeCart.getId())).thenReturn(Mono.empty());
         when(this.cartRepository.save(any(Cart.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
@@ -80,8 +78,8 @@ class DefaultCheckoutServiceTest {
 
         verify(this.cartRepository).findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE);
         verify(this.cartItemRepository).findCartItems(sessionId);
-        verify(this.orderRepository).save(any(Order.class));
-        verify(this.orderItemRepository).saveAll(anyList());
+        verify(this.orderRepository, times(1)).insertOrderWithItems(anyString(), anyLong(), any(), any(), any(), any());
+        verify(this.orderRepository, never()).save(any());
         verify(this.cartItemRepository).deleteByCartId(activeCart.getId());
         verify(this.cartRepository).save(any(Cart.class));
     }
@@ -103,7 +101,6 @@ class DefaultCheckoutServiceTest {
         verifyNoInteractions(this.cartRepository);
         verifyNoInteractions(this.cartItemRepository);
         verifyNoInteractions(this.orderRepository);
-        verifyNoInteractions(this.orderItemRepository);
     }
 
     @Test
@@ -125,7 +122,6 @@ class DefaultCheckoutServiceTest {
         verify(this.cartRepository, times(1)).findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE);
         verifyNoInteractions(this.cartItemRepository);
         verifyNoInteractions(this.orderRepository);
-        verifyNoInteractions(this.orderItemRepository);
     }
 
     @Test
@@ -154,6 +150,5 @@ class DefaultCheckoutServiceTest {
         verify(this.cartRepository, times(1)).findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE);
         verify(this.cartItemRepository, times(1)).findCartItems(sessionId);
         verifyNoInteractions(this.orderRepository);
-        verifyNoInteractions(this.orderItemRepository);
     }
 }
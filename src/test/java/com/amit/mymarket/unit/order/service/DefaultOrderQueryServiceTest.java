@@ -4,6 +4,7 @@ import com.amit.mymarket.common.exception.ResourceNotFoundException;
 import com.amit.mymarket.common.exception.ServiceException;
 import com.amit.mymarket.order.domain.entity.Order;
 import com.amit.mymarket.order.repository.OrderRepository;
+import com.amit.mymarket.order.repository.projection.OrderLineRow;
 import com.amit.mymarket.order.service.impl.DefaultOrderQueryService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -55,6 +56,65 @@ class DefaultOrderQueryServiceTest {
         verify(this.orderRepository, times(1)).findAllBySessionId(sessionId);
     }
 
+    @Test
+    @DisplayName(value = "Should return joined order lines for given session identifier from single repository call")
+    void getOrderLinesBySession_shouldReturnJoinedOrderLinesForGivenSessionIdentifier() {
+        String sessionId = "session-123";
+
+        OrderLineRow firstOrderLine = new OrderLineRow(2L, 750L, 21L, "Apple", 100L, 5);
+        OrderLineRow secondOrderLine = new OrderLineRow(2L, 750L, 22L, "Banana", 50L, 5);
+
+        when(this.orderRepository.findOrderLinesBySessionId(sessionId)).thenReturn(Flux.just(firstOrderLine, secondOrderLine));
+
+        Flux<OrderLineRow> orderLines = this.orderQueryService.getOrderLinesBySession(sessionId);
+
+        StepVerifier.create(orderLines)
+                .expectNext(firstOrderLine, secondOrderLine)
+                .verifyComplete();
+
+        verify(this.orderRepository, times(1)).findOrderLinesBySessionId(sessionId);
+        verify(this.orderRepository, never()).findAllBySessionId(anyString());
+    }
+
+    @Test
+    @DisplayName(value = "Should start order page from newest order when before identifier is absent")
+    void getOrderLinesPageBySession_shouldStartFromNewestOrderWhenBeforeIdentifierIsAbsent() {
+        String sessionId = "session-123";
+
+        OrderLineRow orderLine = new OrderLineRow(7L, 750L, 21L, "Apple", 100L, 5);
+
+        when(this.orderRepository.findOrderLinesPageBySessionId(sessionId, Long.MAX_VALUE, 11L)).thenReturn(Flux.just(orderLine));
+
+        StepVerifier.create(this.orderQueryService.getOrderLinesPageBySession(sessionId, null, 11))
+                .expectNext(orderLine)
+                .verifyComplete();
+
+        verify(this.orderRepository, never()).findOrderLinesBySessionId(anyString());
+    }
+
+    @Test
+    @DisplayName(value = "Should continue order page below given before identifier")
+    void getOrderLinesPageBySession_shouldContinueBelowGivenBeforeIdentifier() {
+        String sessionId = "session-123";
+
+        when(this.orderRepository.findOrderLinesPageBySessionId(sessionId, 7L, 11L)).thenReturn(Flux.empty());
+
+        StepVerifier.create(this.orderQueryService.getOrderLinesPageBySession(sessionId, 7L, 11))
+                .verifyComplete();
+
+        verify(this.orderRepository, times(1)).findOrderLinesPageBySessionId(sessionId, 7L, 11L);
+    }
+
+    @Test
+    @DisplayName(value = "Should return error when order page limit is not positive")
+    void getOrderLinesPageBySession_shouldReturnErrorWhenLimitIsNotPositive() {
+        StepVerifier.create(this.orderQueryService.getOrderLinesPageBySession("session-123", null, 0))
+                .expectError(ServiceException.class)
+                .verify();
+
+        verifyNoInteractions(this.orderRepository);
+    }
+
     @Test
     @DisplayName(value = "Should return error when session identifier is empty for getOrdersBySession")
     void getOrdersBySession_shouldReturnErrorWhenSessionIdentifierIsEmpty() {
@@ -0,0 +1,96 @@
+package com.amit.mymarket.unit.order.service;
+
+import com.amit.mymarket.cart.domain.entity.Cart;
+import com.amit.mymarket.cart.domain.type.CartStatus;
+import com.amit.mymarket.cart.repository.CartRepository;
+import com.amit.mymarket.common.exception.ResourceNotFoundException;
+import com.amit.mymarket.common.exception.ServiceException;
+import com.amit.mymarket.order.repository.OrderRepository;
+import com.amit.mymarket.order.service.impl.SetBasedCheckoutService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(value = MockitoExtension.class)
+class SetBasedCheckoutServiceTest {
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private SetBasedCheckoutService checkoutService;
+
+    @Test
+    @DisplayName(value = "Should return order identifier produced by single checkout statement")
+    void createOrderFromActiveCartAndClear_shouldReturnOrderIdentifierFromCheckoutStatement() {
+        String sessionId = "session-123";
+
+        when(this.orderRepository.checkoutActiveCart(sessionId)).thenReturn(Mono.just(42L));
+
+        StepVerifier.create(this.checkoutService.createOrderFromActiveCartAndClear(sessionId))
+                .expectNext(42L)
+                .verifyComplete();
+
+        verifyNoInteractions(this.cartRepository);
+    }
+
+    @Test
+    @DisplayName(value = "Should return error when active cart does not exist for session identifier")
+    void createOrderFromActiveCartAndClear_shouldReturnErrorWhenActiveCartDoesNotExist() {
+        String sessionId = "session-123";
+
+        when(this.orderRepository.checkoutActiveCart(sessionId)).thenReturn(Mono.empty());
+        when(this.cartRepository.findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE)).thenReturn(Mono.empty());
+
+        StepVerifier.create(this.checkoutService.createOrderFromActiveCartAndClear(sessionId))
+                .expectErrorSatisfies(throwable -> {
+                    assertInstanceOf(ResourceNotFoundException.class, throwable);
+                    assertTrue(throwable.getMessage().contains("Active cart not found for sessionId=" + sessionId));
+                })
+                .verify();
+    }
+
+    @Test
+    @DisplayName(value = "Should return error when active cart is empty for session identifier")
+    void createOrderFromActiveCartAndClear_shouldReturnErrorWhenActiveCartIsEmpty() {
+        String sessionId = "session-123";
+
+        Cart activeCart = new Cart();
+        activeCart.setId(5L);
+        activeCart.setSessionId(sessionId);
+        activeCart.setStatus(CartStatus.ACTIVE);
+
+        when(this.orderRepository.checkoutActiveCart(sessionId)).thenReturn(Mono.empty());
+        when(this.cartRepository.findBySessionIdAndStatus(sessionId, CartStatus.ACTIVE)).thenReturn(Mono.just(activeCart));
+
+        StepVerifier.create(this.checkoutService.createOrderFromActiveCartAndClear(sessionId))
+                .expectErrorSatisfies(throwable -> {
+                    assertInstanceOf(ResourceNotFoundException.class, throwable);
+                    assertTrue(throwable.getMessage().contains("Active cart is empty for sessionId=" + sessionId));
+                })
+                .verify();
+    }
+
+    @Test
+    @DisplayName(value = "Should return error when session identifier is empty")
+    void createOrderFromActiveCartAndClear_shouldReturnErrorWhenSessionIdentifierIsEmpty() {
+        StepVerifier.create(this.checkoutService.createOrderFromActiveCartAndClear("   "))
+                .expectError(ServiceException.class)
+                .verify();
+
+        verifyNoInteractions(this.orderRepository);
+        verifyNoInteractions(this.cartRepository);
+    }
+
+}
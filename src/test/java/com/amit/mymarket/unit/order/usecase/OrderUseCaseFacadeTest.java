@@ -0,0 +1,148 @@
+package com.amit.mymarket.unit.order.usecase;
+
+import com.amit.mymarket.order.api.dto.OrderDto;
+import com.amit.mymarket.order.repository.projection.OrderLineRow;
+import com.amit.mymarket.order.service.CheckoutRequestService;
+import com.amit.mymarket.order.service.OrderQueryService;
+import com.amit.mymarket.order.usecase.impl.OrderUseCaseFacade;
+import com.amit.mymarket.order.usecase.mapper.DefaultOrderMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(value = MockitoExtension.class)
+class OrderUseCaseFacadeTest {
+
+    private static final String SESSION_ID = "session-123";
+
+    @Mock
+    private OrderQueryService orderQueryService;
+
+    @Mock
+    private CheckoutRequestService checkoutRequestService;
+
+    private OrderUseCaseFacade orderUseCase;
+
+    @BeforeEach
+    void setUp() {
+        this.orderUseCase = new OrderUseCaseFacade(this.orderQueryService, this.checkoutRequestService, new DefaultOrderMapper());
+    }
+
+    @Test
+    @DisplayName(value = "Should return empty first page without next or previous cursor when there are no orders")
+    void getOrderPageBySession_shouldReturnEmptyFirstPageWhenThereAreNoOrders() {
+        when(this.orderQueryService.getOrderLinesPageBySession(SESSION_ID, null, 3))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(this.orderUseCase.getOrderPageBySession(SESSION_ID, null, 2))
+                .assertNext(page -> {
+                    assertTrue(page.orders().isEmpty());
+                    assertFalse(page.hasNext());
+                    assertNull(page.nextBeforeId());
+                    assertFalse(page.hasPrevious());
+                    assertEquals(2, page.pageSize());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should not expose next cursor when exactly page size orders are left")
+    void getOrderPageBySession_shouldNotExposeNextCursorWhenExactlyPageSizeOrdersAreLeft() {
+        when(this.orderQueryService.getOrderLinesPageBySession(SESSION_ID, 10L, 3))
+                .thenReturn(Flux.just(
+                        orderLine(9L, 901L),
+                        orderLine(9L, 902L),
+                        orderLine(8L, 801L)
+                ));
+
+        StepVerifier.create(this.orderUseCase.getOrderPageBySession(SESSION_ID, 10L, 2))
+                .assertNext(page -> {
+                    assertEquals(List.of(9L, 8L), orderIds(page.orders()));
+                    assertEquals(2, page.orders().getFirst().items().size());
+                    assertFalse(page.hasNext());
+                    assertNull(page.nextBeforeId());
+                    assertTrue(page.hasPrevious());
+                    assertEquals(10L, page.beforeId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should drop extra order and point next cursor at last shown order when more orders exist")
+    void getOrderPageBySession_shouldPointNextCursorAtLastShownOrderWhenMoreOrdersExist() {
+        when(this.orderQueryService.getOrderLinesPageBySession(SESSION_ID, null, 3))
+                .thenReturn(Flux.just(
+                        orderLine(9L, 901L),
+                        orderLine(8L, 801L),
+                        orderLine(8L, 802L),
+                        orderLine(7L, 701L)
+                ));
+
+        StepVerifier.create(this.orderUseCase.getOrderPageBySession(SESSION_ID, null, 2))
+                .assertNext(page -> {
+                    assertEquals(List.of(9L, 8L), orderIds(page.orders()));
+                    assertEquals(2, page.orders().getLast().items().size());
+                    assertTrue(page.hasNext());
+                    assertEquals(8L, page.nextBeforeId());
+                    assertFalse(page.hasPrevious());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should keep order without items as a single page entry")
+    void getOrderPageBySession_shouldKeepOrderWithoutItemsAsSinglePageEntry() {
+        when(this.orderQueryService.getOrderLinesPageBySession(SESSION_ID, 5L, 2))
+                .thenReturn(Flux.just(
+                        new OrderLineRow(4L, 0L, null, null, null, null),
+                        orderLine(3L, 301L)
+                ));
+
+        StepVerifier.create(this.orderUseCase.getOrderPageBySession(SESSION_ID, 5L, 1))
+                .assertNext(page -> {
+                    assertEquals(List.of(4L), orderIds(page.orders()));
+                    assertTrue(page.orders().getFirst().items().isEmpty());
+                    assertEquals(4L, page.nextBeforeId());
+                    assertTrue(page.hasPrevious());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName(value = "Should clamp page size before fetching one extra order")
+    void getOrderPageBySession_shouldClampPageSizeBeforeFetchingOneExtraOrder() {
+        when(this.orderQueryService.getOrderLinesPageBySession(eq(SESSION_ID), isNull(), anyInt()))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(this.orderUseCase.getOrderPageBySession(SESSION_ID, null, 500))
+                .assertNext(page -> assertEquals(50, page.pageSize()))
+                .verifyComplete();
+        StepVerifier.create(this.orderUseCase.getOrderPageBySession(SESSION_ID, null, 0))
+                .assertNext(page -> assertEquals(1, page.pageSize()))
+                .verifyComplete();
+
+        verify(this.orderQueryService).getOrderLinesPageBySession(SESSION_ID, null, 51);
+        verify(this.orderQueryService).getOrderLinesPageBySession(SESSION_ID, null, 2);
+    }
+
+    private static OrderLineRow orderLine(long orderId, long orderItemId) {
+        return new OrderLineRow(orderId, 1000L, orderItemId, "Item " + orderItemId, 500L, 1);
+    }
+
+    private static List<Long> orderIds(List<OrderDto> orders) {
+        return orders.stream()
+                .map(OrderDto::id)
+                .toList();
+    }
+
+}